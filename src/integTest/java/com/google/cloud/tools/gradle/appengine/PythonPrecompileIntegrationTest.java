@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine;
+
+import com.google.cloud.tools.gradle.appengine.core.CloudSdkPythonCompiler;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVerificationException;
+import com.google.cloud.tools.managedcloudsdk.ManagedSdkVersionMismatchException;
+import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandRunner;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.Timeout;
+
+/**
+ * Precompiles a copy of the managed Cloud SDK without bytecode, as on a fresh build agent, and
+ * checks gcloud still runs from it. The shared managed Cloud SDK itself is left untouched.
+ */
+public class PythonPrecompileIntegrationTest {
+
+  @Rule public Timeout globalTimeout = Timeout.seconds(900);
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Path sdkHome;
+  private Path gcloud;
+
+  @Before
+  public void setUp()
+      throws UnsupportedOsException, ManagedSdkVerificationException,
+          ManagedSdkVersionMismatchException, IOException {
+    ManagedCloudSdk managedCloudSdk = ManagedCloudSdk.newManagedSdk();
+    // the sdk is installed by the plugin's other integration tests
+    Assume.assumeTrue(managedCloudSdk.isInstalled());
+
+    sdkHome = tmpDir.getRoot().toPath().resolve("google-cloud-sdk");
+    copy(managedCloudSdk.getSdkHome(), sdkHome);
+    gcloud =
+        sdkHome.resolve(
+            managedCloudSdk.getSdkHome().relativize(managedCloudSdk.getGcloudPath()).toString());
+    for (Path cache : find(sdkHome.resolve("lib"), "__pycache__")) {
+      FileUtils.deleteDirectory(cache.toFile());
+    }
+  }
+
+  @Test
+  public void testPrecompile()
+      throws IOException, InterruptedException, CommandExitException, CommandExecutionException {
+    Assert.assertTrue(findBytecode().isEmpty());
+
+    new CloudSdkPythonCompiler(sdkHome, CommandRunner.newRunner()).precompile(line -> {});
+
+    Assert.assertFalse(findBytecode().isEmpty());
+    Process process =
+        new ProcessBuilder(gcloud.toString(), "version")
+            .redirectErrorStream(true)
+            .redirectOutput(tmpDir.newFile("gcloud.log"))
+            .start();
+    Assert.assertEquals(0, process.waitFor());
+  }
+
+  private List<Path> findBytecode() throws IOException {
+    try (Stream<Path> walk = Files.walk(sdkHome.resolve("lib/googlecloudsdk"))) {
+      return walk.filter(path -> path.toString().endsWith(".pyc")).collect(Collectors.toList());
+    }
+  }
+
+  // keeps file permissions and links, so gcloud and python stay executable
+  private static void copy(Path source, Path target) throws IOException {
+    try (Stream<Path> walk = Files.walk(source)) {
+      for (Path path : (Iterable<Path>) walk::iterator) {
+        Files.copy(
+            path,
+            target.resolve(source.relativize(path).toString()),
+            StandardCopyOption.COPY_ATTRIBUTES,
+            LinkOption.NOFOLLOW_LINKS);
+      }
+    }
+  }
+
+  private static List<Path> find(Path root, String fileName) throws IOException {
+    try (Stream<Path> walk = Files.walk(root)) {
+      return walk.filter(path -> path.getFileName().toString().equals(fileName))
+          .collect(Collectors.toList());
+    }
+  }
+}
@@ -17,13 +17,11 @@
 
 package com.google.cloud.tools.gradle.appengine.appyaml;
 
-import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.gradle.appengine.core.AppEngineCorePluginConfiguration;
-import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
 import com.google.cloud.tools.gradle.appengine.core.DeployAllTask;
 import com.google.cloud.tools.gradle.appengine.core.DeployExtension;
+import com.google.cloud.tools.gradle.appengine.core.DeployPlanTask;
 import com.google.cloud.tools.gradle.appengine.core.DeployTask;
-import com.google.cloud.tools.gradle.appengine.core.ToolsExtension;
 import java.io.File;
 import org.gradle.api.GradleException;
 import org.gradle.api.Plugin;
@@ -31,6 +29,7 @@ import org.gradle.api.Project;
 import org.gradle.api.plugins.BasePlugin;
 import org.gradle.api.plugins.JavaPlugin;
 import org.gradle.api.plugins.WarPlugin;
+import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.Jar;
 import org.gradle.api.tasks.bundling.War;
 
@@ -65,69 +64,77 @@ public class AppEngineAppYamlPlugin implements Plugin<Project> {
 
     // create the app.yaml staging extension and set defaults.
     stageExtension = appengineExtension.getStage();
-    File defaultStagedAppDir = new File(project.getBuildDir(), STAGED_APP_DIR_NAME);
-    stageExtension.setStagingDirectory(defaultStagedAppDir);
+    stageExtension
+        .getStagingDirectoryProperty()
+        .set(project.getLayout().getBuildDirectory().dir(STAGED_APP_DIR_NAME));
     stageExtension.setAppEngineDirectory(new File(project.getProjectDir(), "src/main/appengine"));
     File dockerOptionalDir = new File(project.getProjectDir(), "src/main/docker");
-    if (dockerOptionalDir.exists()) {
-      // only set the docker directory if we find it.
-      stageExtension.setDockerDirectory(dockerOptionalDir);
-    }
-
-    // tools extension required to initialize cloudSdkOperations
-    final ToolsExtension tools = appengineExtension.getTools();
-    project.afterEvaluate(
-        project -> {
-          // create the sdk builder factory after we know the location of the sdk
-          try {
-            new CloudSdkOperations(tools.getCloudSdkHome(), null);
-          } catch (CloudSdkNotFoundException ex) {
-            // this should be caught in AppEngineCorePluginConfig before it can ever reach here.
-            throw new GradleException("Could not find CloudSDK: ", ex);
-          }
-
-          // we can only set the default location of "archive" after project evaluation (callback)
-          if (stageExtension.getArtifact() == null) {
-            if (project.getPlugins().hasPlugin(WarPlugin.class)) {
-              War war = (War) project.getProperties().get("war");
-              stageExtension.setArtifact(war.getArchivePath());
-            } else if (project.getPlugins().hasPlugin(JavaPlugin.class)) {
-              Jar jar = (Jar) project.getProperties().get("jar");
-              stageExtension.setArtifact(jar.getArchivePath());
-            } else {
-              throw new GradleException("Could not find JAR or WAR configuration");
-            }
-          }
-
-          // obtain deploy extension set defaults
-          DeployExtension deploy = appengineExtension.getDeploy();
-
-          // grab default project configuration from staging default
-          if (deploy.getAppEngineDirectory() == null) {
-            deploy.setAppEngineDirectory(stageExtension.getAppEngineDirectory());
-          }
-
-          DeployAllTask deployAllTask =
-              (DeployAllTask)
-                  project
-                      .getTasks()
-                      .getByName(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME);
-          deployAllTask.setStageDirectory(stageExtension.getStagingDirectory());
-          deployAllTask.setDeployExtension(deploy);
-
-          DeployTask deployTask =
-              (DeployTask)
-                  project.getTasks().getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME);
-          deployTask.setDeployConfig(deploy);
-          deployTask.setAppYaml(stageExtension.getStagingDirectory().toPath().resolve("app.yaml"));
-        });
+    // only default the docker directory if we find it.
+    stageExtension
+        .getDockerDirectoryProperty()
+        .set(
+            project.provider(
+                () ->
+                    dockerOptionalDir.exists()
+                        ? project.getLayout().getProjectDirectory().dir("src/main/docker")
+                        : null));
+
+    // the default "artifact" depends on which packaging plugin is applied, resolved on first use
+    stageExtension
+        .getArtifactProperty()
+        .set(
+            project
+                .getLayout()
+                .file(
+                    project.provider(
+                        () -> {
+                          if (project.getPlugins().hasPlugin(WarPlugin.class)) {
+                            War war = (War) project.getProperties().get("war");
+                            return war.getArchivePath();
+                          } else if (project.getPlugins().hasPlugin(JavaPlugin.class)) {
+                            Jar jar = (Jar) project.getProperties().get("jar");
+                            return jar.getArchivePath();
+                          }
+                          throw new GradleException("Could not find JAR or WAR configuration");
+                        })));
+
+    // obtain deploy extension set defaults
+    DeployExtension deploy = appengineExtension.getDeploy();
+
+    // grab default project configuration from staging default
+    deploy.getAppEngineDirectoryProperty().set(stageExtension.getAppEngineDirectoryProperty());
+
+    project
+        .getTasks()
+        .withType(DeployAllTask.class)
+        .named(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
+        .configure(
+            deployAllTask ->
+                deployAllTask.setStageDirectory(stageExtension.getStagingDirectoryProperty()));
+
+    project
+        .getTasks()
+        .withType(DeployPlanTask.class)
+        .named(AppEngineCorePluginConfiguration.DEPLOY_PLAN_TASK_NAME)
+        .configure(
+            deployPlanTask ->
+                deployPlanTask.setStageDirectory(stageExtension.getStagingDirectoryProperty()));
+
+    project
+        .getTasks()
+        .withType(DeployTask.class)
+        .named(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
+        .configure(
+            deployTask ->
+                deployTask.setAppYaml(
+                    stageExtension.getStagingDirectoryProperty().file("app.yaml")));
   }
 
   private void createStageTask() {
-    StageAppYamlTask stageTask =
+    TaskProvider<StageAppYamlTask> stageTask =
         project
             .getTasks()
-            .create(
+            .register(
                 STAGE_TASK_NAME,
                 StageAppYamlTask.class,
                 stageTask1 -> {
@@ -135,16 +142,19 @@ public class AppEngineAppYamlPlugin implements Plugin<Project> {
                   stageTask1.setDescription(
                       "Stage an App Engine app.yaml based project for deployment");
                   stageTask1.dependsOn(BasePlugin.ASSEMBLE_TASK_NAME);
-
-                  project.afterEvaluate(project -> stageTask1.setStagingConfig(stageExtension));
+                  stageTask1.setStagingConfig(stageExtension);
                 });
     project
         .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
-        .dependsOn(stageTask);
+        .named(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
+        .configure(deployTask -> deployTask.dependsOn(stageTask));
+    project
+        .getTasks()
+        .named(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
+        .configure(deployAllTask -> deployAllTask.dependsOn(stageTask));
     project
         .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
-        .dependsOn(stageTask);
+        .named(AppEngineCorePluginConfiguration.DEPLOY_PLAN_TASK_NAME)
+        .configure(deployPlanTask -> deployPlanTask.dependsOn(stageTask));
   }
 }
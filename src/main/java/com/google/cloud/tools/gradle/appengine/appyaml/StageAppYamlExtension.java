@@ -18,12 +18,17 @@
 package com.google.cloud.tools.gradle.appengine.appyaml;
 
 import com.google.cloud.tools.appengine.configuration.AppYamlProjectStageConfiguration;
+import com.google.cloud.tools.gradle.appengine.core.InternalProperty;
 import com.google.cloud.tools.gradle.appengine.util.NullSafe;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
 import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
 import org.gradle.api.tasks.InputDirectory;
 import org.gradle.api.tasks.InputFile;
 import org.gradle.api.tasks.InputFiles;
@@ -34,83 +39,111 @@ import org.gradle.api.tasks.OutputDirectory;
 /** Extension element to define Stage configurations for app.yaml base projects. */
 public class StageAppYamlExtension {
 
-  private final Project project;
+  @InternalProperty private final ProjectLayout layout;
 
-  private File appEngineDirectory;
-  private File dockerDirectory;
-  private File artifact;
-  private File stagingDirectory;
-  private List<File> extraFilesDirectories;
+  private final DirectoryProperty appEngineDirectory;
+  private final DirectoryProperty dockerDirectory;
+  private final RegularFileProperty artifact;
+  private final DirectoryProperty stagingDirectory;
+  private final ListProperty<File> extraFilesDirectories;
 
+  /** Constructor. */
   public StageAppYamlExtension(Project project) {
-    this.project = project;
+    layout = project.getLayout();
+    appEngineDirectory = project.getLayout().directoryProperty();
+    dockerDirectory = project.getLayout().directoryProperty();
+    artifact = project.getLayout().fileProperty();
+    stagingDirectory = project.getLayout().directoryProperty();
+    extraFilesDirectories = project.getObjects().listProperty(File.class);
+    // staging treats an unset list differently from an empty one, so start with no value
+    extraFilesDirectories.set((List<File>) null);
   }
 
   @InputDirectory
   public File getAppEngineDirectory() {
-    return appEngineDirectory;
+    return appEngineDirectory.getAsFile().getOrNull();
   }
 
   public void setAppEngineDirectory(Object appEngineDirectory) {
-    this.appEngineDirectory = project.file(appEngineDirectory);
+    this.appEngineDirectory.set(layout.files(appEngineDirectory).getSingleFile());
+  }
+
+  @Internal("covered by getAppEngineDirectory")
+  public DirectoryProperty getAppEngineDirectoryProperty() {
+    return appEngineDirectory;
   }
 
   @Optional
   @InputDirectory
   public File getDockerDirectory() {
-    return dockerDirectory;
+    return dockerDirectory.getAsFile().getOrNull();
   }
 
   public void setDockerDirectory(Object dockerDirectory) {
-    this.dockerDirectory = project.file(dockerDirectory);
+    this.dockerDirectory.set(layout.files(dockerDirectory).getSingleFile());
+  }
+
+  @Internal("covered by getDockerDirectory")
+  public DirectoryProperty getDockerDirectoryProperty() {
+    return dockerDirectory;
   }
 
   @InputFile
   public File getArtifact() {
-    return artifact;
+    return artifact.getAsFile().getOrNull();
   }
 
   public void setArtifact(Object artifact) {
-    this.artifact = project.file(artifact);
+    this.artifact.set(layout.files(artifact).getSingleFile());
+  }
+
+  @Internal("covered by getArtifact")
+  public RegularFileProperty getArtifactProperty() {
+    return artifact;
   }
 
   @OutputDirectory
   public File getStagingDirectory() {
-    return stagingDirectory;
+    return stagingDirectory.getAsFile().getOrNull();
   }
 
   public void setStagingDirectory(Object stagingDirectory) {
-    this.stagingDirectory = project.file(stagingDirectory);
+    this.stagingDirectory.set(layout.files(stagingDirectory).getSingleFile());
+  }
+
+  @Internal("covered by getStagingDirectory")
+  public DirectoryProperty getStagingDirectoryProperty() {
+    return stagingDirectory;
   }
 
   /** This method is purely for incremental build calculations. */
   @Optional
   @InputFiles
   public FileCollection getExtraFilesDirectoriesAsInputFiles() {
-    if (extraFilesDirectories == null) {
+    List<File> directories = getExtraFilesDirectories();
+    if (directories == null) {
       return null;
     }
-    FileCollection files = project.files();
-    for (File directory : extraFilesDirectories) {
-      files = files.plus(project.fileTree(directory));
-    }
-    return files;
+    return layout.files(directories.toArray()).getAsFileTree();
   }
 
   @Internal("covered by getExtraFilesDirectoriesAsInputFiles")
   public List<File> getExtraFilesDirectories() {
-    return extraFilesDirectories;
+    return extraFilesDirectories.getOrNull();
   }
 
   public void setExtraFilesDirectories(Object extraFilesDirectories) {
-    this.extraFilesDirectories = new ArrayList<>(project.files(extraFilesDirectories).getFiles());
+    this.extraFilesDirectories.set(
+        new ArrayList<>(layout.files(extraFilesDirectories).getFiles()));
   }
 
   AppYamlProjectStageConfiguration toAppYamlProjectStageConfiguration() {
     return AppYamlProjectStageConfiguration.builder(
-            appEngineDirectory.toPath(), artifact.toPath(), stagingDirectory.toPath())
-        .dockerDirectory(NullSafe.convert(dockerDirectory, File::toPath))
-        .extraFilesDirectories(NullSafe.convert(extraFilesDirectories, File::toPath))
+            getAppEngineDirectory().toPath(),
+            getArtifact().toPath(),
+            getStagingDirectory().toPath())
+        .dockerDirectory(NullSafe.convert(getDockerDirectory(), File::toPath))
+        .extraFilesDirectories(NullSafe.convert(getExtraFilesDirectories(), File::toPath))
         .build();
   }
 }
@@ -19,6 +19,8 @@ package com.google.cloud.tools.gradle.appengine.appyaml;
 
 import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.operations.AppYamlProjectStaging;
+import com.google.cloud.tools.gradle.appengine.util.FileUtil;
+import java.io.IOException;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.TaskAction;
@@ -39,9 +41,8 @@ public class StageAppYamlTask extends DefaultTask {
 
   /** Task entrypoint : Stage the app.yaml based application. */
   @TaskAction
-  public void stageAction() throws AppEngineException {
-    getProject().delete(appYamlExtension.getStagingDirectory());
-    getProject().mkdir(appYamlExtension.getStagingDirectory().getAbsolutePath());
+  public void stageAction() throws AppEngineException, IOException {
+    FileUtil.recreateDirectory(appYamlExtension.getStagingDirectory());
 
     AppYamlProjectStaging staging = new AppYamlProjectStaging();
     staging.stageArchive(appYamlExtension.toAppYamlProjectStageConfiguration());
@@ -22,8 +22,15 @@ import com.google.cloud.tools.managedcloudsdk.BadCloudSdkVersionException;
 import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
 import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import com.google.common.base.Suppliers;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.tasks.TaskProvider;
 import org.gradle.util.GradleVersion;
 
 /**
@@ -32,7 +39,7 @@ import org.gradle.util.GradleVersion;
  */
 public class AppEngineCorePluginConfiguration {
 
-  public static final GradleVersion GRADLE_MIN_VERSION = GradleVersion.version("3.4.1");
+  public static final GradleVersion GRADLE_MIN_VERSION = GradleVersion.version("4.9");
 
   public static final String LOGIN_TASK_NAME = "appengineCloudSdkLogin";
   public static final String DEPLOY_TASK_NAME = "appengineDeploy";
@@ -42,17 +49,24 @@ public class AppEngineCorePluginConfiguration {
   public static final String DEPLOY_INDEX_TASK_NAME = "appengineDeployIndex";
   public static final String DEPLOY_QUEUE_TASK_NAME = "appengineDeployQueue";
   public static final String DEPLOY_ALL_TASK_NAME = "appengineDeployAll";
+  public static final String DEPLOY_SERVICES_TASK_NAME = "appengineDeployServices";
+  public static final String DEPLOY_PLAN_TASK_NAME = "appengineDeployPlan";
+  public static final String DEPLOY_WAIT_TASK_NAME = "appengineDeployWait";
   public static final String SHOW_CONFIG_TASK_NAME = "appengineShowConfiguration";
   public static final String DOWNLOAD_CLOUD_SDK_TASK_NAME = "downloadCloudSdk";
   public static final String CHECK_CLOUD_SDK_TASK_NAME = "checkCloudSdk";
+  public static final String CLEAN_CLOUD_SDK_CACHE_TASK_NAME = "cleanCloudSdkCache";
+  public static final String PACK_CLOUD_SDK_TASK_NAME = "appenginePackCloudSdk";
+  public static final String UNPACK_CLOUD_SDK_TASK_NAME = "appengineUnpackCloudSdk";
 
   public static final String APPENGINE_EXTENSION = "appengine";
 
   private Project project;
   private DeployExtension deployExtension;
   private ToolsExtension toolsExtension;
-  private CloudSdkOperations cloudSdkOperations;
-  private ManagedCloudSdk managedCloudSdk;
+  private SharedCloudSdk sharedCloudSdk;
+  private Supplier<CloudSdkOperations> cloudSdkOperations;
+  private Supplier<ManagedCloudSdk> managedCloudSdk;
   private boolean requiresAppEngineJava;
   private String taskGroup;
 
@@ -73,6 +87,8 @@ public class AppEngineCorePluginConfiguration {
 
     createDownloadCloudSdkTask();
     createCheckCloudSdkTask();
+    createCleanCloudSdkCacheTask();
+    createPackCloudSdkTasks();
     createLoginTask();
     createDeployTask();
     createDeployCronTask();
@@ -81,255 +97,414 @@ public class AppEngineCorePluginConfiguration {
     createDeployIndexTask();
     createDeployQueueTask();
     createDeployAllTask();
+    createDeployPlanTask();
+    applyRootPlugin();
+    batchConfigDeployTasks();
     createShowConfigurationTask();
+    injectGcloud();
   }
 
   private void configureFactories() {
+    sharedCloudSdk = SharedCloudSdk.get(project);
+
+    // nothing here touches the Cloud SDK, it is only resolved when a task that needs it runs.
+    // Tasks hold on to these suppliers, so they capture the extension but never the project.
+    ToolsExtension tools = toolsExtension;
+    SharedCloudSdk shared = sharedCloudSdk;
+    Supplier<ManagedCloudSdk> managed =
+        Suppliers.memoize(() -> newManagedCloudSdk(shared, tools.getCloudSdkVersion()));
+    managedCloudSdk = managed;
+    cloudSdkOperations = Suppliers.memoize(() -> newCloudSdkOperations(shared, tools, managed));
+
+    toolsExtension.setCloudSdkOperations(cloudSdkOperations);
+    deployExtension.setDeployTargetResolver(
+        new DeployTargetResolver(cloudSdkOperations, sharedCloudSdk.getGcloudConfig()));
+  }
+
+  // a managed Cloud SDK is used when the user hasn't configured a Cloud SDK home
+  private boolean useManagedCloudSdk() {
+    return toolsExtension.getCloudSdkHome() == null;
+  }
+
+  private static ManagedCloudSdk newManagedCloudSdk(
+      SharedCloudSdk sharedCloudSdk, String cloudSdkVersion) {
+    try {
+      return sharedCloudSdk.getManagedCloudSdk(cloudSdkVersion);
+    } catch (UnsupportedOsException ex) {
+      throw new RuntimeException(ex.getMessage(), ex);
+    } catch (BadCloudSdkVersionException ex) {
+      throw new RuntimeException(
+          "Failed to auto-configure Cloud Sdk at cloudSdkVersion = '"
+              + cloudSdkVersion
+              + "': "
+              + ex.getMessage(),
+          ex);
+    }
+  }
+
+  private static CloudSdkOperations newCloudSdkOperations(
+      SharedCloudSdk sharedCloudSdk,
+      ToolsExtension toolsExtension,
+      Supplier<ManagedCloudSdk> managedCloudSdk) {
+    File cloudSdkHome =
+        toolsExtension.getCloudSdkHome() == null
+            ? managedCloudSdk.get().getSdkHome().toFile()
+            : toolsExtension.getCloudSdkHome();
+    try {
+      return sharedCloudSdk.getCloudSdkOperations(
+          cloudSdkHome, toolsExtension.getServiceAccountKeyFile());
+    } catch (CloudSdkNotFoundException ex) {
+      // this should never happen, not found exception only occurs when auto-discovery fails,
+      // but we don't use that mechanism anymore.
+      throw new AssertionError("Failed when attempting to discover SDK: ", ex);
+    }
+  }
+
+  private void createDownloadCloudSdkTask() {
+    TaskProvider<DownloadCloudSdkTask> downloadCloudSdkTask =
+        project
+            .getTasks()
+            .register(
+                DOWNLOAD_CLOUD_SDK_TASK_NAME,
+                DownloadCloudSdkTask.class,
+                task -> {
+                  task.setGroup(taskGroup);
+                  task.setDescription("Download the Cloud SDK");
+                  task.setSharedCloudSdk(sharedCloudSdk);
+                });
+
     project.afterEvaluate(
-        projectAfterEvaluated -> {
-          try {
-            if (toolsExtension.getCloudSdkHome() == null) {
-              managedCloudSdk =
-                  new ManagedCloudSdkFactory(toolsExtension.getCloudSdkVersion()).newManagedSdk();
-              toolsExtension.setCloudSdkHome(managedCloudSdk.getSdkHome().toFile());
+        p -> {
+          if (useManagedCloudSdk()) {
+            downloadCloudSdkTask.configure(
+                task -> {
+                  task.setManagedCloudSdk(managedCloudSdk.get());
+                  // make sure we download our required components
+                  requiredComponents().forEach(task::requiresComponent);
+                  // a pinned version never changes, only LATEST needs a freshness window
+                  if (toolsExtension.getCloudSdkVersion() == null) {
+                    task.setLatestCheckInterval(toolsExtension.getLatestCheckInterval());
+                  }
+                  if (toolsExtension.getCloudSdkMirror() != null) {
+                    task.setMirror(
+                        new CloudSdkMirror(
+                            toolsExtension.getCloudSdkMirror(),
+                            new File(
+                                p.getGradle().getGradleUserHomeDir(),
+                                "caches/appengine-cloud-sdk")));
+                  }
+                  task.setArchive(new CloudSdkArchive(toolsExtension.getCloudSdkArchive()));
+                });
+            if (toolsExtension.getBatchComponentInstall()) {
+              sharedCloudSdk.enableBatchComponentInstall();
             }
-          } catch (UnsupportedOsException ex) {
-            throw new RuntimeException(ex.getMessage(), ex);
-          } catch (BadCloudSdkVersionException ex) {
-            throw new RuntimeException(
-                "Failed to auto-configure Cloud Sdk at cloudSdkVersion = '"
-                    + toolsExtension.getCloudSdkVersion()
-                    + "': "
-                    + ex.getMessage(),
-                ex);
+            // a mirror is local, so the sdk can still be provisioned offline
+            if (p.getGradle().getStartParameter().isOffline()
+                && toolsExtension.getCloudSdkMirror() == null) {
+              p.getLogger().debug("Skipping DownloadCloudSdk in --offline mode.");
+              return;
+            }
+            // withType and configureEach are lazy, only tasks that are realized get the dependency
+            p.getTasks()
+                .withType(CloudSdkTask.class)
+                .configureEach(task -> task.dependsOn(downloadCloudSdkTask));
           }
+        });
+  }
 
-          try {
-            cloudSdkOperations =
-                new CloudSdkOperations(
-                    toolsExtension.getCloudSdkHome(), toolsExtension.getServiceAccountKeyFile());
-          } catch (CloudSdkNotFoundException ex) {
-            // this should never happen, not found exception only occurs when auto-discovery fails,
-            // but we don't use that mechanism anymore.
-            throw new AssertionError("Failed when attempting to discover SDK: ", ex);
+  private void createCheckCloudSdkTask() {
+    TaskProvider<CheckCloudSdkTask> checkCloudSdkTask =
+        project
+            .getTasks()
+            .register(
+                CHECK_CLOUD_SDK_TASK_NAME,
+                CheckCloudSdkTask.class,
+                task -> {
+                  task.setGroup(taskGroup);
+                  task.setDescription("Validates the Cloud SDK");
+                });
+
+    project.afterEvaluate(
+        p -> {
+          if (!useManagedCloudSdk() && toolsExtension.getCloudSdkVersion() != null) {
+            checkCloudSdkTask.configure(
+                task -> {
+                  task.setVersion(toolsExtension.getCloudSdkVersion());
+                  task.setCloudSdkHome(toolsExtension.getCloudSdkHome());
+                  Supplier<CloudSdkOperations> operations = cloudSdkOperations;
+                  task.setCloudSdk(() -> operations.get().getCloudSdk());
+                  task.requiresAppEngineJava(
+                      requiredComponents().contains(SdkComponent.APP_ENGINE_JAVA));
+                });
+            p.getTasks()
+                .withType(CloudSdkTask.class)
+                .configureEach(task -> task.dependsOn(checkCloudSdkTask));
           }
+        });
+  }
 
-          deployExtension.setDeployTargetResolver(new DeployTargetResolver(cloudSdkOperations));
+  private void createCleanCloudSdkCacheTask() {
+    // only a managed Cloud SDK is cleaned, one the user installed is left alone
+    project.afterEvaluate(
+        p -> {
+          if (!useManagedCloudSdk()) {
+            return;
+          }
+          // the cleanup of any project in the build keeps this project's version
+          sharedCloudSdk.useManagedCloudSdk(toolsExtension.getCloudSdkVersion());
+
+          TaskProvider<CleanCloudSdkCacheTask> cleanCloudSdkCacheTask =
+              p.getTasks()
+                  .register(
+                      CLEAN_CLOUD_SDK_CACHE_TASK_NAME,
+                      CleanCloudSdkCacheTask.class,
+                      task -> {
+                        task.setGroup(taskGroup);
+                        task.setDescription(
+                            "Remove least recently used managed Cloud SDK versions");
+                        task.setManagedCloudSdk(managedCloudSdk);
+                        task.setSharedCloudSdk(sharedCloudSdk);
+                        task.getMaxVersions()
+                            .set(toolsExtension.getCloudSdkCacheMaxVersionsProperty());
+                        task.getMaxBytes().set(toolsExtension.getCloudSdkCacheMaxBytesProperty());
+                      });
+
+          // with a budget configured, every download is followed by a cleanup
+          if (toolsExtension.getCloudSdkCacheMaxVersions() != null
+              || toolsExtension.getCloudSdkCacheMaxBytes() != null) {
+            p.getTasks()
+                .named(DOWNLOAD_CLOUD_SDK_TASK_NAME)
+                .configure(task -> task.finalizedBy(cleanCloudSdkCacheTask));
+          }
         });
   }
 
-  private void createDownloadCloudSdkTask() {
-    project
-        .getTasks()
-        .create(
-            DOWNLOAD_CLOUD_SDK_TASK_NAME,
-            DownloadCloudSdkTask.class,
-            downloadCloudSdkTask -> {
-              downloadCloudSdkTask.setGroup(taskGroup);
-              downloadCloudSdkTask.setDescription("Download the Cloud SDK");
-
-              // make sure we download our required components
-              if (requiresAppEngineJava) {
-                downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
-              }
+  private void createPackCloudSdkTasks() {
+    TaskProvider<PackCloudSdkTask> packCloudSdkTask =
+        project
+            .getTasks()
+            .register(
+                PACK_CLOUD_SDK_TASK_NAME,
+                PackCloudSdkTask.class,
+                task -> {
+                  task.setGroup(taskGroup);
+                  task.setDescription("Pack the managed Cloud SDK into a single archive");
+                  task.setManagedCloudSdk(managedCloudSdk);
+                  task.getArchive().set(toolsExtension.getCloudSdkArchiveProperty());
+                  task.dependsOn(DOWNLOAD_CLOUD_SDK_TASK_NAME);
+                });
 
-              project.afterEvaluate(
-                  p -> {
-                    if (managedCloudSdk != null) {
-                      downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
-                      if (p.getGradle().getStartParameter().isOffline()) {
-                        p.getLogger().debug("Skipping DownloadCloudSdk in --offline mode.");
-                        return;
-                      }
-                      p.getTasks()
-                          .matching(task -> task.getName().startsWith("appengine"))
-                          .forEach(task -> task.dependsOn(downloadCloudSdkTask));
-                    }
-                  });
-            });
-  }
+    project.afterEvaluate(
+        p ->
+            packCloudSdkTask.configure(
+                task -> requiredComponents().forEach(task::includesComponent)));
 
-  private void createCheckCloudSdkTask() {
     project
         .getTasks()
-        .create(
-            CHECK_CLOUD_SDK_TASK_NAME,
-            CheckCloudSdkTask.class,
-            checkCloudSdkTask -> {
-              checkCloudSdkTask.setGroup(taskGroup);
-              checkCloudSdkTask.setDescription("Validates the Cloud SDK");
-
-              project.afterEvaluate(
-                  p -> {
-                    if (managedCloudSdk == null && toolsExtension.getCloudSdkVersion() != null) {
-                      checkCloudSdkTask.setVersion(toolsExtension.getCloudSdkVersion());
-                      checkCloudSdkTask.setCloudSdk(cloudSdkOperations.getCloudSdk());
-                      checkCloudSdkTask.requiresAppEngineJava(requiresAppEngineJava);
-                      p.getTasks()
-                          .matching(task -> task.getName().startsWith("appengine"))
-                          .forEach(task -> task.dependsOn(checkCloudSdkTask));
-                    }
-                  });
+        .register(
+            UNPACK_CLOUD_SDK_TASK_NAME,
+            UnpackCloudSdkTask.class,
+            task -> {
+              task.setGroup(taskGroup);
+              task.setDescription("Restore the managed Cloud SDK from a packed archive");
+              task.setManagedCloudSdk(managedCloudSdk);
+              task.getArchive().set(toolsExtension.getCloudSdkArchiveProperty());
             });
   }
 
+  // the components the configured install profile needs for this project's tasks
+  private List<SdkComponent> requiredComponents() {
+    return toolsExtension.getInstallProfile().getRequiredComponents(requiresAppEngineJava);
+  }
+
   private void createLoginTask() {
-    injectGcloud(CloudSdkLoginTask.class);
-    project
-        .getTasks()
-        .create(
-            LOGIN_TASK_NAME,
-            CloudSdkLoginTask.class,
-            loginTask -> {
-              loginTask.setGroup(taskGroup);
-              loginTask.setDescription("Login and set the Cloud SDK common configuration user");
-
-              project.afterEvaluate(
-                  project -> {
-                    if (toolsExtension.getServiceAccountKeyFile() != null) {
-                      loginTask.doLast(
-                          task ->
-                              project
-                                  .getLogger()
-                                  .warn(
-                                      "WARNING: ServiceAccountKeyFile is configured and will be"
-                                          + " used instead of Cloud SDK auth state"));
-                    }
-                  });
-            });
+    TaskProvider<CloudSdkLoginTask> loginTask =
+        project
+            .getTasks()
+            .register(
+                LOGIN_TASK_NAME,
+                CloudSdkLoginTask.class,
+                task -> {
+                  task.setGroup(taskGroup);
+                  task.setDescription("Login and set the Cloud SDK common configuration user");
+                });
+
+    project.afterEvaluate(
+        project -> {
+          if (toolsExtension.getServiceAccountKeyFile() != null) {
+            loginTask.configure(
+                task ->
+                    task.doLast(
+                        ignored ->
+                            project
+                                .getLogger()
+                                .warn(
+                                    "WARNING: ServiceAccountKeyFile is configured and will be"
+                                        + " used instead of Cloud SDK auth state")));
+          }
+        });
   }
 
   private void createDeployTask() {
-    injectGcloud(DeployTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_TASK_NAME,
             DeployTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy an App Engine application");
-              // deployConfig is set in AppEngineStandardPlugin and AppEngineAppYamlPlugin
+              deployTask.setDeployConfig(deployExtension);
+              deployTask.setDeployDispatchTaskPath(
+                  project.absoluteProjectPath(DEPLOY_DISPATCH_TASK_NAME));
+              // appYaml is set in AppEngineStandardPlugin and AppEngineAppYamlPlugin
             });
   }
 
   private void createDeployCronTask() {
-    injectGcloud(DeployCronTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_CRON_TASK_NAME,
             DeployCronTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Cron configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
   private void createDeployDispatchTask() {
-    injectGcloud(DeployDispatchTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_DISPATCH_TASK_NAME,
             DeployDispatchTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Dispatch configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
   private void createDeployDosTask() {
-    injectGcloud(DeployDosTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_DOS_TASK_NAME,
             DeployDosTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Dos configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
   private void createDeployIndexTask() {
-    injectGcloud(DeployIndexTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_INDEX_TASK_NAME,
             DeployIndexTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Index configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
   private void createDeployQueueTask() {
-    injectGcloud(DeployQueueTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_QUEUE_TASK_NAME,
             DeployQueueTask.class,
             deployTask -> {
               deployTask.setGroup(taskGroup);
               deployTask.setDescription("Deploy Queue configuration");
-
-              project.afterEvaluate(
-                  project -> {
-                    deployTask.setDeployExtension(deployExtension);
-                  });
+              deployTask.setDeployExtension(deployExtension);
             });
   }
 
   private void createDeployAllTask() {
-    injectGcloud(DeployAllTask.class);
     project
         .getTasks()
-        .create(
+        .register(
             DEPLOY_ALL_TASK_NAME,
             DeployAllTask.class,
             deployAllTask -> {
               deployAllTask.setGroup(taskGroup);
               deployAllTask.setDescription(
                   "Deploy an App Engine application and all of its config files");
+              deployAllTask.setDeployExtension(deployExtension);
 
-              // deployConfig is set in AppEngineStandardPlugin and AppEngineAppYamlPlugin
+              // stageDirectory is set in AppEngineStandardPlugin and AppEngineAppYamlPlugin
+            });
+  }
+
+  private void createDeployPlanTask() {
+    project
+        .getTasks()
+        .register(
+            DEPLOY_PLAN_TASK_NAME,
+            DeployPlanTask.class,
+            deployPlanTask -> {
+              deployPlanTask.setGroup(taskGroup);
+              deployPlanTask.setDescription(
+                  "Show the files an App Engine deployment would upload and their size");
+              deployPlanTask.setDeployExtension(deployExtension);
+
+              // stageDirectory is set in AppEngineStandardPlugin and AppEngineAppYamlPlugin
+            });
+  }
+
+  private void applyRootPlugin() {
+    // the root project deploys, and waits for, the services of all projects in the build
+    AppEngineRootPlugin rootPlugin =
+        project.getRootProject().getPlugins().apply(AppEngineRootPlugin.class);
+    if (project == project.getRootProject()) {
+      rootPlugin.setTaskGroup(taskGroup);
+    }
+  }
+
+  // configuration files deployed by the same build are deployed by a single gcloud invocation
+  private void batchConfigDeployTasks() {
+    project
+        .getGradle()
+        .getTaskGraph()
+        .whenReady(
+            taskGraph -> {
+              if (!deployExtension.getBatchConfigDeploy()) {
+                return;
+              }
+              List<DeployConfigTask> configTasks = new ArrayList<>();
+              for (Task task : taskGraph.getAllTasks()) {
+                if (task instanceof DeployConfigTask && task.getProject() == project) {
+                  configTasks.add((DeployConfigTask) task);
+                }
+              }
+              if (configTasks.size() < 2) {
+                return;
+              }
+              DeployConfigBatch batch = new DeployConfigBatch(deployExtension, configTasks);
+              for (DeployConfigTask configTask : configTasks) {
+                configTask.setBatch(batch);
+              }
             });
   }
 
   private void createShowConfigurationTask() {
     project
         .getTasks()
-        .create(
+        .register(
             SHOW_CONFIG_TASK_NAME,
             ShowConfigurationTask.class,
             showConfigurationTask -> {
               showConfigurationTask.setGroup(taskGroup);
               showConfigurationTask.setDescription("Show current App Engine plugin configuration");
 
-              showConfigurationTask.setExtensionId(APPENGINE_EXTENSION);
+              showConfigurationTask.setExtension(
+                  APPENGINE_EXTENSION, project.getExtensions().getByName(APPENGINE_EXTENSION));
             });
   }
 
@@ -344,12 +519,17 @@ public class AppEngineCorePluginConfiguration {
     }
   }
 
-  private void injectGcloud(Class<? extends GcloudTask> gcloudTask) {
+  // inject into all gcloud tasks (including user defined ones) as they are realized
+  private void injectGcloud() {
+    Supplier<CloudSdkOperations> operations = cloudSdkOperations;
     project
         .getTasks()
-        .withType(gcloudTask)
-        .whenTaskAdded(
-            task ->
-                project.afterEvaluate(project -> task.setGcloud(cloudSdkOperations.getGcloud())));
+        .withType(GcloudTask.class)
+        .configureEach(
+            task -> {
+              task.setGcloud(() -> operations.get().getGcloud());
+              task.setAsyncGcloud(() -> operations.get().getAsyncGcloud());
+              task.setGcloudLauncher(operations::get);
+            });
   }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.Task;
+
+/**
+ * Plugin for the root project of a build, adds the tasks that deploy the services of every App
+ * Engine project in the build and wait for them. The App Engine plugins apply it to the root
+ * project, the tasks only look for the App Engine projects once the task graph is built, and no
+ * other task is created unless they are part of it.
+ */
+public class AppEngineRootPlugin implements Plugin<Project> {
+
+  static final String TASK_GROUP = "App Engine";
+
+  private Project rootProject;
+  private String taskGroup = TASK_GROUP;
+
+  @Override
+  public void apply(Project rootProject) {
+    this.rootProject = rootProject;
+
+    createDeployServicesTask();
+    createDeployWaitTask();
+  }
+
+  private void createDeployServicesTask() {
+    rootProject
+        .getTasks()
+        .register(
+            AppEngineCorePluginConfiguration.DEPLOY_SERVICES_TASK_NAME,
+            DeployServicesTask.class,
+            task -> {
+              task.setGroup(taskGroup);
+              task.setDescription("Deploy the App Engine services of all projects");
+              task.setServices(this::getDeployTasks);
+            });
+  }
+
+  private void createDeployWaitTask() {
+    rootProject
+        .getTasks()
+        .register(
+            AppEngineCorePluginConfiguration.DEPLOY_WAIT_TASK_NAME,
+            DeployWaitTask.class,
+            task -> {
+              task.setGroup(taskGroup);
+              task.setDescription(
+                  "Wait for the asynchronous App Engine deployments of all projects");
+              task.setDeployTasks(this::getDeployTasks);
+              task.mustRunAfter((Callable<List<Task>>) this::getDeploymentTasks);
+              // the operations are waited for with the Cloud SDK of their project
+              task.dependsOn((Callable<List<Task>>) this::getCloudSdkTasks);
+            });
+  }
+
+  /** Sets the group of the tasks, when the root project is an App Engine project itself. */
+  void setTaskGroup(String taskGroup) {
+    this.taskGroup = taskGroup;
+  }
+
+  /** Returns the appengineDeploy task of every App Engine project in the build. */
+  private List<DeployTask> getDeployTasks() {
+    List<DeployTask> deployTasks = new ArrayList<>();
+    for (Project project : getAppEngineProjects()) {
+      Task deployTask =
+          project.getTasks().named(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME).get();
+      if (deployTask instanceof DeployTask) {
+        deployTasks.add((DeployTask) deployTask);
+      }
+    }
+    return deployTasks;
+  }
+
+  /** Returns the tasks that can start asynchronous deployments. */
+  private List<Task> getDeploymentTasks() {
+    List<Task> deploymentTasks = new ArrayList<>(getDeployTasks());
+    for (Project project : getAppEngineProjects()) {
+      String name = AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME;
+      if (project.getTasks().getNames().contains(name)) {
+        deploymentTasks.add(project.getTasks().named(name).get());
+      }
+    }
+    return deploymentTasks;
+  }
+
+  // the projects with an appengineDeploy task, found by name so no task is created to look
+  private List<Project> getAppEngineProjects() {
+    return rootProject
+        .getAllprojects()
+        .stream()
+        .filter(
+            project ->
+                project
+                    .getTasks()
+                    .getNames()
+                    .contains(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME))
+        .collect(Collectors.toList());
+  }
+
+  /** Returns the tasks that provide the Cloud SDK of every App Engine project. */
+  private List<Task> getCloudSdkTasks() {
+    return getDeployTasks()
+        .stream()
+        .flatMap(
+            deployTask ->
+                deployTask.getTaskDependencies().getDependencies(deployTask).stream())
+        .filter(task -> task instanceof DownloadCloudSdkTask || task instanceof CheckCloudSdkTask)
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
+import com.google.cloud.tools.appengine.operations.Gcloud;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.gradle.api.logging.Logger;
+
+/**
+ * Deploys with {@code gcloud app deploy --async}, which returns once the deployment is submitted,
+ * and records the operations it started so {@code appengineDeployWait} can wait for them. The
+ * deployment is run by the Cloud SDK library, with a gcloud that adds the async flag, see {@link
+ * CloudSdkOperations#getAsyncGcloud}.
+ */
+class AsyncDeployment {
+
+  private final Gcloud asyncGcloud;
+  private final DeployOperations deployOperations;
+  private final Logger logger;
+
+  AsyncDeployment(Gcloud asyncGcloud, DeployOperations deployOperations, Logger logger) {
+    this.asyncGcloud = asyncGcloud;
+    this.deployOperations = deployOperations;
+    this.logger = logger;
+  }
+
+  /** Submits {@code config} with {@code retrier}, and returns the operations it started. */
+  List<String> deploy(DeployRetrier retrier, DeployConfiguration config)
+      throws AppEngineException {
+    Set<String> operations = Collections.synchronizedSet(new LinkedHashSet<>());
+    retrier.addOutputLineListener(line -> operations.addAll(DeployOperations.parse(line)));
+    retrier.deploy(processHandler -> asyncGcloud.newDeployment(processHandler).deploy(config));
+
+    if (operations.isEmpty()) {
+      logger.warn(
+          "The deployment was submitted, but gcloud didn't report its operation,"
+              + " appengineDeployWait can't wait for it");
+      return Collections.emptyList();
+    }
+    List<String> submitted;
+    synchronized (operations) {
+      submitted = new ArrayList<>(operations);
+    }
+    for (String operation : submitted) {
+      deployOperations.record(operation);
+      logger.lifecycle(
+          "Deployment submitted as " + operation + ", run appengineDeployWait to wait for it");
+    }
+    return submitted;
+  }
+}
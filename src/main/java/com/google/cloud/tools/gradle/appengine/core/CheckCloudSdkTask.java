@@ -23,21 +23,99 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundExce
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkOutOfDateException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
 import com.google.common.base.Strings;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.function.Supplier;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 
+/**
+ * Validates a user configured Cloud SDK. The result is recorded in a marker file, so the task is
+ * up-to-date until the SDK location, its VERSION file or the required components change.
+ */
 public class CheckCloudSdkTask extends DefaultTask {
 
-  private CloudSdk cloudSdk;
+  private Supplier<CloudSdk> cloudSdk;
+  private File cloudSdkHome;
   private String version;
   private boolean requiresAppEngineJava;
+  private final RegularFileProperty markerFile = getProject().getLayout().fileProperty();
+  private final Provider<String> validatedVersion;
+
+  /** Constructor. */
+  public CheckCloudSdkTask() {
+    markerFile.set(
+        getProject().getLayout().getBuildDirectory().file("tmp/" + getName() + "/validated"));
+    validatedVersion = getProject().provider(this::readValidatedVersion);
+  }
+
+  @Optional
+  @Input
+  public String getVersion() {
+    return version;
+  }
 
   public void setVersion(String version) {
     this.version = version;
   }
 
+  @Internal
+  public File getCloudSdkHome() {
+    return cloudSdkHome;
+  }
+
+  public void setCloudSdkHome(File cloudSdkHome) {
+    this.cloudSdkHome = cloudSdkHome;
+  }
+
+  /** The SDK VERSION file, its path and content key the up-to-date check. */
+  @Optional
+  @InputFile
+  public File getVersionFile() {
+    if (cloudSdkHome == null) {
+      return null;
+    }
+    File versionFile = new File(cloudSdkHome, "VERSION");
+    // a missing file is reported by the validation itself, not by Gradle's input checks
+    return versionFile.isFile() ? versionFile : null;
+  }
+
+  @Input
+  public boolean getRequiresAppEngineJava() {
+    return requiresAppEngineJava;
+  }
+
+  @OutputFile
+  public RegularFileProperty getMarkerFile() {
+    return markerFile;
+  }
+
+  /**
+   * The Cloud SDK version validated by the last successful run of this task, or no value if the SDK
+   * has not been validated. Reads the marker file only, the SDK itself is not probed again.
+   */
+  @Internal
+  public Provider<String> getValidatedVersion() {
+    return validatedVersion;
+  }
+
   public void setCloudSdk(CloudSdk cloudSdk) {
+    this.cloudSdk = () -> cloudSdk;
+  }
+
+  /** Set a cloud sdk supplier, it is only called when the task executes. */
+  public void setCloudSdk(Supplier<CloudSdk> cloudSdk) {
     this.cloudSdk = cloudSdk;
   }
 
@@ -52,10 +130,11 @@ public class CheckCloudSdkTask extends DefaultTask {
           AppEngineJavaComponentsNotInstalledException {
     // These properties are only set by AppEngineCorePluginConfiguration if the correct config
     // params are set in the tools extension.
-    if (Strings.isNullOrEmpty(version) || cloudSdk == null) {
+    if (Strings.isNullOrEmpty(version) || this.cloudSdk == null) {
       throw new GradleException(
           "Cloud SDK home path and version must be configured in order to run this task.");
     }
+    CloudSdk cloudSdk = this.cloudSdk.get();
 
     if (!version.equals(cloudSdk.getVersion().toString())) {
       throw new GradleException(
@@ -70,5 +149,29 @@ public class CheckCloudSdkTask extends DefaultTask {
     if (requiresAppEngineJava) {
       cloudSdk.validateAppEngineJavaComponents();
     }
+
+    writeValidatedVersion();
+  }
+
+  private void writeValidatedVersion() {
+    File marker = markerFile.getAsFile().get();
+    try {
+      Files.createDirectories(marker.getParentFile().toPath());
+      Files.write(marker.toPath(), version.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private String readValidatedVersion() {
+    File marker = markerFile.getAsFile().get();
+    if (!marker.isFile()) {
+      return null;
+    }
+    try {
+      return new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
   }
 }
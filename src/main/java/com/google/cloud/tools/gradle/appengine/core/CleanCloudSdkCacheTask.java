@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.managedcloudsdk.BadCloudSdkVersionException;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Removes the least recently used managed Cloud SDK versions beyond the configured budget. Without
+ * a budget every version except the ones this build uses is removed.
+ */
+public class CleanCloudSdkCacheTask extends DefaultTask {
+
+  private Supplier<ManagedCloudSdk> managedCloudSdk;
+  private SharedCloudSdk sharedCloudSdk;
+  private final Property<Integer> maxVersions = getProject().getObjects().property(Integer.class);
+  private final Property<Long> maxBytes = getProject().getObjects().property(Long.class);
+
+  /** Set a managed cloud sdk supplier, it is only called when the task executes. */
+  public void setManagedCloudSdk(Supplier<ManagedCloudSdk> managedCloudSdk) {
+    this.managedCloudSdk = managedCloudSdk;
+  }
+
+  /** Set the build's shared Cloud SDK state, the versions its projects use are kept. */
+  public void setSharedCloudSdk(SharedCloudSdk sharedCloudSdk) {
+    this.sharedCloudSdk = sharedCloudSdk;
+  }
+
+  @Internal
+  public Property<Integer> getMaxVersions() {
+    return maxVersions;
+  }
+
+  @Internal
+  public Property<Long> getMaxBytes() {
+    return maxBytes;
+  }
+
+  /** Task entrypoint : Remove unused managed Cloud SDK versions. */
+  @TaskAction
+  public void cleanCloudSdkCacheAction() throws IOException, InterruptedException {
+    Integer maxVersions = this.maxVersions.getOrNull();
+    Long maxBytes = this.maxBytes.getOrNull();
+    if (maxVersions == null && maxBytes == null) {
+      maxVersions = 1;
+    }
+    Path sdkHome = managedCloudSdk.get().getSdkHome();
+    ManagedCloudSdkStore store = ManagedCloudSdkStore.forSdkHome(sdkHome);
+
+    // other projects of the build may use, or be about to install, other versions
+    Set<String> keepVersions = new HashSet<>();
+    keepVersions.add(ManagedCloudSdkStore.versionOf(sdkHome));
+    try {
+      for (Path usedSdkHome : sharedCloudSdk.getManagedCloudSdkHomes()) {
+        keepVersions.add(ManagedCloudSdkStore.versionOf(usedSdkHome));
+      }
+    } catch (UnsupportedOsException | BadCloudSdkVersionException ex) {
+      throw new GradleException("Failed to resolve the managed Cloud SDKs of this build", ex);
+    }
+
+    List<String> evicted = store.evict(maxVersions, maxBytes, keepVersions, getLogger());
+    for (String version : evicted) {
+      sharedCloudSdk.forgetProvisioned(store.getSdkHome(version));
+    }
+  }
+}
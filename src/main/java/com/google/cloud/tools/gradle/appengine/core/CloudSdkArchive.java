@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.gradle.api.GradleException;
+
+/**
+ * A managed Cloud SDK packed into a single tar.gz archive, for build caches that are slow with the
+ * many small files of an installed SDK. The archive is described by a {@code <archive>.manifest}
+ * properties file, holding the SDK version, its components, and the archive checksum that is
+ * verified before the archive is unpacked.
+ */
+public class CloudSdkArchive {
+
+  private static final String VERSION = "version";
+  private static final String COMPONENTS = "components";
+  private static final String SHA256 = "sha256";
+  private static final String FILES = "files";
+
+  private final File archive;
+
+  public CloudSdkArchive(File archive) {
+    this.archive = archive;
+  }
+
+  public File getArchive() {
+    return archive;
+  }
+
+  public File getManifest() {
+    return new File(archive.getPath() + ".manifest");
+  }
+
+  /** Packs the managed Cloud SDK at {@code sdkHome}, which has {@code components} installed. */
+  public void pack(Path sdkHome, Collection<SdkComponent> components) throws IOException {
+    Files.createDirectories(archive.getParentFile().toPath());
+    Path temp = Files.createTempFile(archive.getParentFile().toPath(), archive.getName(), ".tmp");
+    int files = 0;
+    try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp));
+        TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+      tar.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+      tar.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+      List<Path> paths;
+      try (Stream<Path> walk = Files.walk(sdkHome)) {
+        paths = walk.filter(path -> !path.equals(sdkHome)).sorted().collect(Collectors.toList());
+      }
+      for (Path path : paths) {
+        String name = "google-cloud-sdk/" + sdkHome.relativize(path).toString().replace('\\', '/');
+        if (Files.isSymbolicLink(path)) {
+          TarArchiveEntry entry = new TarArchiveEntry(name, TarArchiveEntry.LF_SYMLINK);
+          entry.setLinkName(Files.readSymbolicLink(path).toString());
+          tar.putArchiveEntry(entry);
+          tar.closeArchiveEntry();
+        } else if (Files.isDirectory(path)) {
+          tar.putArchiveEntry(new TarArchiveEntry(path.toFile(), name + "/"));
+          tar.closeArchiveEntry();
+        } else {
+          TarArchiveEntry entry = new TarArchiveEntry(path.toFile(), name);
+          if (Files.isExecutable(path)) {
+            entry.setMode(0755);
+          }
+          tar.putArchiveEntry(entry);
+          Files.copy(path, tar);
+          tar.closeArchiveEntry();
+          files++;
+        }
+      }
+    }
+    Files.move(temp, archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+    Properties manifest = new Properties();
+    manifest.setProperty(VERSION, ManagedCloudSdkStore.versionOf(sdkHome));
+    manifest.setProperty(
+        COMPONENTS,
+        Joiner.on(',').join(components.stream().map(Enum::name).collect(Collectors.toList())));
+    manifest.setProperty(SHA256, CloudSdkMirror.sha256(archive));
+    manifest.setProperty(FILES, Integer.toString(files));
+    try (OutputStream out = Files.newOutputStream(getManifest().toPath())) {
+      manifest.store(out, "Packed Cloud SDK");
+    }
+  }
+
+  /**
+   * Returns true if the archive holds the Cloud SDK for {@code sdkHome} with all of {@code
+   * components}.
+   */
+  public boolean matches(Path sdkHome, Collection<SdkComponent> components) throws IOException {
+    if (!archive.isFile() || !getManifest().isFile()) {
+      return false;
+    }
+    Properties manifest = readManifest();
+    return ManagedCloudSdkStore.versionOf(sdkHome).equals(manifest.getProperty(VERSION))
+        && readComponents(manifest).containsAll(components);
+  }
+
+  /** Verifies the archive against its manifest and unpacks it to {@code sdkHome}. */
+  public void unpack(Path sdkHome) throws IOException {
+    if (!getManifest().isFile()) {
+      throw new GradleException("Missing manifest " + getManifest() + " for " + archive);
+    }
+    Properties manifest = readManifest();
+    String expected = manifest.getProperty(SHA256);
+    String actual = CloudSdkMirror.sha256(archive);
+    if (!actual.equals(expected)) {
+      throw new GradleException(
+          "Checksum mismatch for " + archive + ": expected " + expected + " but was " + actual);
+    }
+    CloudSdkMirror.installArchive(archive, sdkHome);
+
+    long files;
+    try (Stream<Path> walk = Files.walk(sdkHome)) {
+      files = walk.filter(path -> Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)).count();
+    }
+    if (files != Long.parseLong(manifest.getProperty(FILES, "0"))) {
+      throw new GradleException(
+          "Unpacked "
+              + files
+              + " files from "
+              + archive
+              + " but the manifest lists "
+              + manifest.getProperty(FILES));
+    }
+  }
+
+  private Properties readManifest() throws IOException {
+    Properties manifest = new Properties();
+    try (InputStream in = Files.newInputStream(getManifest().toPath())) {
+      manifest.load(in);
+    }
+    return manifest;
+  }
+
+  private static Set<SdkComponent> readComponents(Properties manifest) {
+    Set<SdkComponent> components = EnumSet.noneOf(SdkComponent.class);
+    for (String name :
+        Splitter.on(',').omitEmptyStrings().split(manifest.getProperty(COMPONENTS, ""))) {
+      try {
+        components.add(SdkComponent.valueOf(name));
+      } catch (IllegalArgumentException ex) {
+        // a component unknown to this plugin version can't be required by it either
+      }
+    }
+    return components;
+  }
+}
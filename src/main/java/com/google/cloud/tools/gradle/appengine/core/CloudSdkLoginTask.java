@@ -18,20 +18,14 @@
 package com.google.cloud.tools.gradle.appengine.core;
 
 import com.google.cloud.tools.appengine.AppEngineException;
-import com.google.cloud.tools.appengine.operations.Gcloud;
 import org.gradle.api.tasks.TaskAction;
 
-public class CloudSdkLoginTask extends GcloudTask {
+public class CloudSdkLoginTask extends GcloudTask implements CloudSdkTask {
 
-  private Gcloud gcloud;
-
-  public void setGcloud(Gcloud gcloud) {
-    this.gcloud = gcloud;
-  }
 
   /** Login by delegating to gcloud auth login. */
   @TaskAction
   public void login() throws AppEngineException {
-    gcloud.newAuth(CloudSdkOperations.getDefaultHandler(getLogger())).login();
+    getGcloud().newAuth(CloudSdkOperations.getDefaultHandler(getLogger())).login();
   }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.gradle.appengine.util.FileUtil;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.gradle.api.GradleException;
+
+/**
+ * A local directory of Cloud SDK archives, used to provision a managed Cloud SDK without network
+ * access. The mirror holds the archives Google publishes ({@code
+ * google-cloud-sdk-<version>-<os>-<arch>.tar.gz}, or {@code .zip} on Windows), each optionally with
+ * a {@code <archive>.sha256} checksum file, and optionally a {@code components-2.json} component
+ * snapshot to install components from.
+ *
+ * <p>Archives are copied into a content addressed cache and verified before they are extracted. A
+ * cached archive is found again by its checksum file, or by its name, size and modification time,
+ * so a mirror on a slow network share is only read once per archive.
+ */
+public class CloudSdkMirror {
+
+  static final String COMPONENTS_SNAPSHOT = "components-2.json";
+  private static final String ARCHIVE_PREFIX = "google-cloud-sdk-";
+  private static final String LATEST = "LATEST";
+  private static final String CACHE_KEYS = "keys";
+
+  private final File mirrorDirectory;
+  private final File cacheDirectory;
+
+  /**
+   * Constructor.
+   *
+   * @param mirrorDirectory the directory holding the Cloud SDK archives
+   * @param cacheDirectory the directory verified archives are cached in, by their sha256
+   */
+  public CloudSdkMirror(File mirrorDirectory, File cacheDirectory) {
+    this.mirrorDirectory = mirrorDirectory;
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  /** Returns the component snapshot in the mirror, or null if the mirror has none. */
+  public File getComponentsSnapshot() {
+    File snapshot = new File(mirrorDirectory, COMPONENTS_SNAPSHOT);
+    return snapshot.isFile() ? snapshot : null;
+  }
+
+  /**
+   * Installs a Cloud SDK archive from the mirror at {@code sdkHome}, a managed Cloud SDK home like
+   * {@code <managed sdk directory>/<version>/google-cloud-sdk}. For LATEST the mirror must hold
+   * exactly one archive for this os and architecture.
+   */
+  public void install(Path sdkHome) throws IOException {
+    String version = sdkHome.getParent().getFileName().toString();
+    File archive = cache(findArchive(LATEST.equals(version) ? null : version));
+    installArchive(archive, sdkHome);
+  }
+
+  /** Extracts {@code archive}, holding a google-cloud-sdk directory, to {@code sdkHome}. */
+  static void installArchive(File archive, Path sdkHome) throws IOException {
+    // extract next to the sdk and move it in place, so a failure never leaves a partial sdk
+    Path extractDirectory = sdkHome.resolveSibling(sdkHome.getFileName() + ".extract");
+    FileUtil.recreateDirectory(extractDirectory.toFile());
+    try {
+      extract(archive, extractDirectory);
+      Path extractedSdk = extractDirectory.resolve("google-cloud-sdk");
+      if (!Files.isDirectory(extractedSdk)) {
+        throw new GradleException(archive + " does not contain a google-cloud-sdk directory.");
+      }
+      FileUtil.deleteRecursively(sdkHome.toFile());
+      Files.move(extractedSdk, sdkHome);
+    } finally {
+      FileUtil.deleteRecursively(extractDirectory.toFile());
+    }
+  }
+
+  @VisibleForTesting
+  File findArchive(String version) {
+    String platform = getOsName() + "-" + getArchName();
+    String prefix = ARCHIVE_PREFIX + (version == null ? "" : version + "-");
+    File[] files = mirrorDirectory.listFiles();
+    List<File> archives =
+        Arrays.stream(files == null ? new File[0] : files)
+            .filter(file -> file.getName().startsWith(prefix))
+            .filter(
+                file ->
+                    file.getName().endsWith("-" + platform + ".tar.gz")
+                        || file.getName().endsWith("-" + platform + ".zip"))
+            .sorted()
+            .collect(Collectors.toList());
+    if (archives.size() == 1) {
+      return archives.get(0);
+    }
+    if (archives.isEmpty()) {
+      throw new GradleException(
+          "No Cloud SDK archive for "
+              + (version == null ? "" : "version " + version + " on ")
+              + platform
+              + " found in mirror "
+              + mirrorDirectory);
+    }
+    throw new GradleException(
+        "Found more than one Cloud SDK archive in mirror "
+            + mirrorDirectory
+            + ": "
+            + archives
+            + ", configure tools.cloudSdkVersion to select one.");
+  }
+
+  /** Verifies {@code archive} and returns its copy in the content addressed cache. */
+  @VisibleForTesting
+  File cache(File archive) throws IOException {
+    String expected = readChecksum(archive);
+    // look the archive up without reading it, it may be on a slow network share
+    File keyFile =
+        new File(
+            new File(cacheDirectory, CACHE_KEYS),
+            archive.getName() + "-" + archive.length() + "-" + archive.lastModified());
+    String knownSha256 =
+        expected != null
+            ? expected
+            : keyFile.isFile()
+                ? new String(Files.readAllBytes(keyFile.toPath()), StandardCharsets.UTF_8)
+                : null;
+    if (knownSha256 != null) {
+      File cached = new File(new File(cacheDirectory, knownSha256), archive.getName());
+      if (cached.isFile() && cached.length() == archive.length()) {
+        return cached;
+      }
+    }
+
+    // copy the archive first and verify the copy, so the mirror is read only once
+    Files.createDirectories(cacheDirectory.toPath());
+    Path temp = Files.createTempFile(cacheDirectory.toPath(), archive.getName(), ".tmp");
+    try {
+      Files.copy(archive.toPath(), temp, StandardCopyOption.REPLACE_EXISTING);
+      String sha256 = sha256(temp.toFile());
+      if (expected != null && !expected.equals(sha256)) {
+        throw new GradleException(
+            "Checksum mismatch for " + archive + ": expected " + expected + " but was " + sha256);
+      }
+      File cached = new File(new File(cacheDirectory, sha256), archive.getName());
+      Files.createDirectories(cached.getParentFile().toPath());
+      Files.move(temp, cached.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      Files.createDirectories(keyFile.getParentFile().toPath());
+      Files.write(keyFile.toPath(), sha256.getBytes(StandardCharsets.UTF_8));
+      return cached;
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  // the expected sha256 of archive from its checksum file, or null if it has none
+  private static String readChecksum(File archive) throws IOException {
+    File checksumFile = new File(archive.getPath() + ".sha256");
+    if (!checksumFile.isFile()) {
+      return null;
+    }
+    // checksum files are "<hash>" or the sha256sum format "<hash>  <file name>"
+    return new String(Files.readAllBytes(checksumFile.toPath()), StandardCharsets.UTF_8)
+        .trim()
+        .split("\\s+")[0]
+        .toLowerCase();
+  }
+
+  static String sha256(File file) throws IOException {
+    return com.google.common.io.Files.asByteSource(file).hash(Hashing.sha256()).toString();
+  }
+
+  @VisibleForTesting
+  static void extract(File archive, Path destination) throws IOException {
+    Path root = destination.toRealPath();
+    try (InputStream in = new BufferedInputStream(Files.newInputStream(archive.toPath()))) {
+      if (archive.getName().endsWith(".zip")) {
+        extractZip(new ZipInputStream(in), root);
+      } else {
+        extractTarGz(new TarArchiveInputStream(new GZIPInputStream(in)), root);
+      }
+    }
+  }
+
+  private static void extractTarGz(TarArchiveInputStream tar, Path destination)
+      throws IOException {
+    TarArchiveEntry entry;
+    while ((entry = tar.getNextTarEntry()) != null) {
+      Path target = resolveEntry(destination, entry.getName());
+      if (entry.isDirectory()) {
+        Files.createDirectories(target);
+      } else if (entry.isSymbolicLink()) {
+        Path link = resolveLink(destination, target, entry);
+        createParentDirectories(destination, target);
+        Files.createSymbolicLink(target, link);
+      } else {
+        createParentDirectories(destination, target);
+        Files.copy(tar, target, StandardCopyOption.REPLACE_EXISTING);
+        // gcloud and its helpers must stay executable
+        if ((entry.getMode() & 0100) != 0) {
+          setExecutable(target);
+        }
+      }
+    }
+  }
+
+  private static void extractZip(ZipInputStream zip, Path destination) throws IOException {
+    ZipEntry entry;
+    while ((entry = zip.getNextEntry()) != null) {
+      Path target = resolveEntry(destination, entry.getName());
+      if (entry.isDirectory()) {
+        Files.createDirectories(target);
+      } else {
+        createParentDirectories(destination, target);
+        Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+  }
+
+  // entries must not escape the destination directory
+  private static Path resolveEntry(Path destination, String name) throws IOException {
+    Path target = destination.resolve(name).normalize();
+    if (!target.startsWith(destination.normalize())) {
+      throw new IOException("Archive entry is outside of the target directory: " + name);
+    }
+    return target;
+  }
+
+  // links must be relative and must not point outside the destination directory either
+  private static Path resolveLink(Path destination, Path target, TarArchiveEntry entry)
+      throws IOException {
+    Path link = target.getFileSystem().getPath(entry.getLinkName());
+    if (link.isAbsolute() || !target.resolveSibling(link).normalize().startsWith(destination)) {
+      throw new IOException(
+          "Archive link is outside of the target directory: "
+              + entry.getName()
+              + " -> "
+              + entry.getLinkName());
+    }
+    return link;
+  }
+
+  // creates the parent of target and checks no link earlier in the archive redirected it
+  private static void createParentDirectories(Path destination, Path target) throws IOException {
+    Path parent = Files.createDirectories(target.getParent());
+    if (!parent.toRealPath().startsWith(destination)) {
+      throw new IOException("Archive entry is outside of the target directory: " + target);
+    }
+  }
+
+  private static void setExecutable(Path file) throws IOException {
+    try {
+      Set<PosixFilePermission> permissions =
+          EnumSet.copyOf(Files.getPosixFilePermissions(file));
+      permissions.add(PosixFilePermission.OWNER_EXECUTE);
+      permissions.add(PosixFilePermission.GROUP_EXECUTE);
+      permissions.add(PosixFilePermission.OTHERS_EXECUTE);
+      Files.setPosixFilePermissions(file, permissions);
+    } catch (UnsupportedOperationException ex) {
+      // not a posix file system, nothing to do
+    }
+  }
+
+  // the os names used in Cloud SDK archive names
+  private static String getOsName() {
+    String osName = System.getProperty("os.name").toLowerCase();
+    if (osName.startsWith("windows")) {
+      return "windows";
+    }
+    if (osName.startsWith("mac")) {
+      return "darwin";
+    }
+    return "linux";
+  }
+
+  // the architecture names used in Cloud SDK archive names
+  @VisibleForTesting
+  static String getArchName() {
+    String arch = System.getProperty("os.arch").toLowerCase();
+    if (arch.equals("aarch64") || arch.startsWith("arm")) {
+      return "arm";
+    }
+    if (arch.equals("x86") || arch.matches("i[3-6]86")) {
+      return "x86";
+    }
+    return "x86_64";
+  }
+}
@@ -27,13 +27,22 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.process.NonZeroExcep
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
 import com.google.cloud.tools.gradle.appengine.util.NullSafe;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
 import org.gradle.api.logging.Logger;
 
 /** Cloud Sdk Operations with all common configuration. */
-public class CloudSdkOperations {
+public class CloudSdkOperations implements GcloudLauncher {
 
   private final CloudSdk cloudSdk;
   private final Gcloud gcloud;
+  private final GcloudSettings gcloudSettings;
+  private Gcloud asyncGcloud;
 
   /**
    * Operations factory for Cloud Sdk based actions.
@@ -44,14 +53,20 @@ public class CloudSdkOperations {
    */
   public CloudSdkOperations(File cloudSdkHome, File credentialFile)
       throws CloudSdkNotFoundException {
+    this(
+        cloudSdkHome,
+        new GcloudSettings(
+            NullSafe.convert(credentialFile, File::toPath),
+            CloudSdkOperations.class.getPackage().getImplementationTitle(),
+            CloudSdkOperations.class.getPackage().getImplementationVersion(),
+            null));
+  }
+
+  CloudSdkOperations(File cloudSdkHome, GcloudSettings gcloudSettings)
+      throws CloudSdkNotFoundException {
     cloudSdk = new CloudSdk.Builder().sdkPath(cloudSdkHome.toPath()).build();
-    gcloud =
-        Gcloud.builder(cloudSdk)
-            .setCredentialFile(NullSafe.convert(credentialFile, File::toPath))
-            .setMetricsEnvironment(
-                getClass().getPackage().getImplementationTitle(),
-                getClass().getPackage().getImplementationVersion())
-            .build();
+    this.gcloudSettings = gcloudSettings;
+    gcloud = gcloudSettings.newGcloud(cloudSdk);
   }
 
   public CloudSdk getCloudSdk() {
@@ -62,6 +77,34 @@ public class CloudSdkOperations {
     return gcloud;
   }
 
+  /**
+   * Returns a {@link Gcloud} whose deployments return once they are submitted, like {@code gcloud
+   * app deploy --async}. The library's deployment builds the command, only the flag is added.
+   */
+  public synchronized Gcloud getAsyncGcloud() {
+    if (asyncGcloud == null) {
+      try {
+        Path flagsFile = Files.createTempFile("gcloud-async", ".yaml");
+        flagsFile.toFile().deleteOnExit();
+        Files.write(flagsFile, "--async: true\n".getBytes(StandardCharsets.UTF_8));
+        asyncGcloud = gcloudSettings.newGcloud(cloudSdk, Collections.singletonList(flagsFile));
+      } catch (IOException ex) {
+        throw new UncheckedIOException("Failed to write the gcloud flags file", ex);
+      }
+    }
+    return asyncGcloud;
+  }
+
+  /** Starts gcloud with {@code args}, with the same settings as the {@link Gcloud} commands. */
+  @Override
+  public Process launch(List<String> args) throws IOException {
+    ProcessBuilder processBuilder = new ProcessBuilder(gcloudSettings.getCommand(cloudSdk, args));
+    processBuilder
+        .environment()
+        .putAll(gcloudSettings.getEnvironment(System.getProperty("os.name")));
+    return processBuilder.start();
+  }
+
   /**
    * DevServers isn't initialized at construction time, because we optionally download the appengine
    * component for appengine-web.xml based applications
@@ -86,4 +129,13 @@ public class CloudSdkOperations {
         .setExitListener(new NonZeroExceptionExitListener())
         .build();
   }
+
+  /** Create a default configured process handler that prefixes every line it logs. */
+  public static ProcessHandler getDefaultHandler(Logger logger, String prefix) {
+    return LegacyProcessHandler.builder()
+        .addStdErrLineListener(line -> logger.lifecycle(prefix + line))
+        .addStdOutLineListener(line -> logger.lifecycle(prefix + line))
+        .setExitListener(new NonZeroExceptionExitListener())
+        .build();
+  }
 }
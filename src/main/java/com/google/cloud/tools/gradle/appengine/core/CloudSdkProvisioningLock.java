@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import org.gradle.api.logging.Logger;
+
+/**
+ * Lock held while a managed Cloud SDK is installed, given components or updated. It is a file lock
+ * next to the SDK, so concurrent builds on the same machine take turns, and a build that waited
+ * finds the SDK already provisioned by the build that held the lock.
+ */
+class CloudSdkProvisioningLock implements AutoCloseable {
+
+  static final String LOCK_FILE_NAME = "provisioning.lock";
+
+  // file locks are held by the whole jvm, threads in the same jvm must be serialized separately
+  private static final Map<Path, ReentrantLock> jvmLocks = new ConcurrentHashMap<>();
+
+  private final ReentrantLock jvmLock;
+  private final FileChannel channel;
+  private final FileLock fileLock;
+
+  private CloudSdkProvisioningLock(ReentrantLock jvmLock, FileChannel channel, FileLock fileLock) {
+    this.jvmLock = jvmLock;
+    this.channel = channel;
+    this.fileLock = fileLock;
+  }
+
+  /** Returns the lock file for the managed Cloud SDK at {@code sdkHome}. */
+  static Path forSdkHome(Path sdkHome) {
+    return sdkHome.resolveSibling(LOCK_FILE_NAME);
+  }
+
+  /** Blocks until this thread holds the lock on {@code lockFile}. */
+  static CloudSdkProvisioningLock acquire(Path lockFile, Logger logger)
+      throws IOException, InterruptedException {
+    Path key = lockFile.toAbsolutePath().normalize();
+    ReentrantLock jvmLock = jvmLocks.computeIfAbsent(key, ignored -> new ReentrantLock());
+    if (!jvmLock.tryLock()) {
+      logger.lifecycle("Waiting for another project to finish provisioning the Cloud SDK...");
+      jvmLock.lockInterruptibly();
+    }
+    try {
+      Files.createDirectories(key.getParent());
+      FileChannel channel =
+          FileChannel.open(key, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      try {
+        FileLock fileLock = channel.tryLock();
+        if (fileLock == null) {
+          logger.lifecycle("Waiting for another build to finish provisioning the Cloud SDK...");
+          fileLock = channel.lock();
+        }
+        return new CloudSdkProvisioningLock(jvmLock, channel, fileLock);
+      } catch (IOException | RuntimeException ex) {
+        channel.close();
+        throw ex;
+      }
+    } catch (IOException | RuntimeException ex) {
+      jvmLock.unlock();
+      throw ex;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      fileLock.release();
+      channel.close();
+    } finally {
+      jvmLock.unlock();
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Time and bytes spent provisioning a managed Cloud SDK. Phase times are recorded in milliseconds
+ * under the phase name, and the totals under {@code totalMillis} and {@code downloadedBytes}.
+ */
+public class CloudSdkProvisioningMetrics {
+
+  private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+  private long downloadedBytes;
+
+  synchronized void addPhase(String phase, long millis) {
+    phaseMillis.merge(phase, millis, Long::sum);
+  }
+
+  synchronized void addDownloadedBytes(long bytes) {
+    downloadedBytes += bytes;
+  }
+
+  /** Returns the time spent in each provisioning phase, in milliseconds. */
+  public synchronized Map<String, Long> getPhaseMillis() {
+    return new LinkedHashMap<>(phaseMillis);
+  }
+
+  /** Returns the total time spent provisioning, in milliseconds. */
+  public synchronized long getTotalMillis() {
+    return phaseMillis.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  public synchronized long getDownloadedBytes() {
+    return downloadedBytes;
+  }
+
+  /** Writes the metrics to {@code file} as java properties, for build tooling to pick up. */
+  public synchronized void write(File file) throws IOException {
+    Properties properties = new Properties();
+    for (Map.Entry<String, Long> phase : phaseMillis.entrySet()) {
+      properties.setProperty(phase.getKey() + "Millis", Long.toString(phase.getValue()));
+    }
+    properties.setProperty("totalMillis", Long.toString(getTotalMillis()));
+    properties.setProperty("downloadedBytes", Long.toString(downloadedBytes));
+
+    Files.createDirectories(file.getParentFile().toPath());
+    try (OutputStream out = Files.newOutputStream(file.toPath())) {
+      properties.store(out, "Cloud SDK provisioning metrics");
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.managedcloudsdk.ConsoleListener;
+import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandRunner;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Byte-compiles the Python sources of a Cloud SDK. gcloud otherwise compiles every module it
+ * imports on each invocation until its bytecode is cached, which never happens on build agents
+ * that start from a fresh SDK.
+ */
+public class CloudSdkPythonCompiler {
+
+  private final Path sdkHome;
+  private final CommandRunner commandRunner;
+
+  public CloudSdkPythonCompiler(Path sdkHome, CommandRunner commandRunner) {
+    this.sdkHome = sdkHome;
+    this.commandRunner = commandRunner;
+  }
+
+  /** Compiles the gcloud sources with the interpreter gcloud runs them with. */
+  public void precompile(ConsoleListener consoleListener)
+      throws InterruptedException, CommandExitException, CommandExecutionException {
+    String python = findPython(sdkHome, System.getenv(), isWindows());
+    commandRunner.run(
+        ImmutableList.of(
+            python, "-m", "compileall", "-q", "-j", "0", sdkHome.resolve("lib").toString()),
+        null,
+        null,
+        consoleListener);
+  }
+
+  /**
+   * Returns the interpreter gcloud selects, bytecode is tagged with the interpreter version and
+   * only reused by the same one.
+   */
+  @VisibleForTesting
+  static String findPython(Path sdkHome, Map<String, String> environment, boolean windows) {
+    String cloudSdkPython = environment.get("CLOUDSDK_PYTHON");
+    if (!Strings.isNullOrEmpty(cloudSdkPython)) {
+      return cloudSdkPython;
+    }
+    Path bundledPython =
+        windows
+            ? sdkHome.resolve("platform/bundledpython/python.exe")
+            : sdkHome.resolve("platform/bundledpythonunix/bin/python3");
+    if (Files.isRegularFile(bundledPython)) {
+      return bundledPython.toString();
+    }
+    return windows ? "python" : "python3";
+  }
+
+  private static boolean isWindows() {
+    return System.getProperty("os.name").toLowerCase().startsWith("windows");
+  }
+}
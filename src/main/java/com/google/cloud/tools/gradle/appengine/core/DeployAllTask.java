@@ -18,60 +18,104 @@ package com.google.cloud.tools.gradle.appengine.core;
 
 import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
-import com.google.cloud.tools.appengine.operations.Deployment;
-import com.google.cloud.tools.appengine.operations.Gcloud;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import org.gradle.api.GradleException;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.TaskAction;
 
-public class DeployAllTask extends GcloudTask {
+public class DeployAllTask extends GcloudTask implements CloudSdkTask {
 
   private DeployExtension deployExtension;
-  private Gcloud gcloud;
-  private File stageDirectory;
+  private final DirectoryProperty stageDirectory = getProject().getLayout().directoryProperty();
 
   public void setDeployExtension(DeployExtension deployExtension) {
     this.deployExtension = deployExtension;
   }
 
-  public void setGcloud(Gcloud gcloud) {
-    this.gcloud = gcloud;
+  public void setStageDirectory(File stageDirectory) {
+    this.stageDirectory.set(stageDirectory);
   }
 
-  public void setStageDirectory(File stageDirectory) {
-    this.stageDirectory = stageDirectory;
+  public void setStageDirectory(Provider<Directory> stageDirectory) {
+    this.stageDirectory.set(stageDirectory);
   }
 
   /** Task Entrypoint : Deploys the app and all of its config files. */
   @TaskAction
-  public void deployAllAction() throws AppEngineException {
-    List<Path> deployables = new ArrayList<>();
-
+  public void deployAllAction() throws AppEngineException, IOException {
     // Look for app.yaml
-    Path appYaml = stageDirectory.toPath().resolve("app.yaml");
+    Path appYaml = stageDirectory.getAsFile().get().toPath().resolve("app.yaml");
     if (!Files.isRegularFile(appYaml)) {
       throw new GradleException("Failed to deploy all: app.yaml not found.");
     }
-    addDeployable(deployables, appYaml);
 
     // Look for configuration yamls
+    List<Path> configYamls = new ArrayList<>();
     String[] validYamls = {"cron.yaml", "dispatch.yaml", "dos.yaml", "index.yaml", "queue.yaml"};
     for (String yamlName : validYamls) {
       Path yaml = deployExtension.getAppEngineDirectory().toPath().resolve(yamlName);
       if (Files.isRegularFile(yaml)) {
+        configYamls.add(yaml);
+      }
+    }
+
+    // Skip the deployment when all of it is unchanged
+    DeployFingerprint fingerprint =
+        new DeployFingerprint(
+            stageDirectory.getAsFile().get().toPath(),
+            deployExtension.getFingerprintDirectory().toPath(),
+            deployExtension.getManifestDirectory().toPath());
+    List<Path> allDeployables = new ArrayList<>();
+    allDeployables.add(appYaml);
+    allDeployables.addAll(configYamls);
+    DeployConfiguration allDeployConfig =
+        deployExtension.toDeployConfiguration(allDeployables, fingerprint::getContentVersion);
+    if (deployExtension.getSkipUnchanged() && fingerprint.isDeployed(allDeployConfig)) {
+      getLogger()
+          .lifecycle(
+              "Skipping deployment, the same content was already deployed to version "
+                  + allDeployConfig.getVersion());
+      setDidWork(false);
+      return;
+    }
+
+    // Leave out the configuration yamls that are already deployed
+    DeployedConfigs deployedConfigs = deployExtension.getDeployedConfigs();
+    String projectId = allDeployConfig.getProjectId();
+    List<Path> deployables = new ArrayList<>();
+    addDeployable(deployables, appYaml);
+    List<Path> deployedYamls = new ArrayList<>();
+    for (Path yaml : configYamls) {
+      if (deployExtension.getSkipUnchanged() && deployedConfigs.isDeployed(projectId, yaml)) {
+        getLogger().info("appengineDeployAll: " + yaml.getFileName() + " is unchanged");
+      } else {
         addDeployable(deployables, yaml);
+        deployedYamls.add(yaml);
       }
     }
 
     // Deploy
-    Deployment deploy = gcloud.newDeployment(CloudSdkOperations.getDefaultHandler(getLogger()));
-
-    DeployConfiguration deployConfig = deployExtension.toDeployConfiguration(deployables);
-    deploy.deploy(deployConfig);
+    DeployConfiguration deployConfig =
+        deployExtension.toDeployConfiguration(deployables, fingerprint::getContentVersion);
+    DeployRetrier retrier = deployExtension.newRetrier(getLogger());
+    if (deployExtension.getAsync()) {
+      // not recorded, the deployment can still fail
+      new AsyncDeployment(getAsyncGcloud(), deployExtension.getDeployOperations(), getLogger())
+          .deploy(retrier, deployConfig);
+      return;
+    }
+    retrier.deploy(handler -> getGcloud().newDeployment(handler).deploy(deployConfig));
+    fingerprint.recordDeployed(allDeployConfig);
+    for (Path yaml : deployedYamls) {
+      deployedConfigs.recordDeployed(projectId, yaml);
+    }
   }
 
   private void addDeployable(List<Path> deployables, Path yaml) {
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
+import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
+import com.google.cloud.tools.appengine.operations.Gcloud;
+import com.google.common.collect.ImmutableList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.gradle.api.GradleException;
+import org.gradle.api.logging.Logger;
+
+/**
+ * Configuration files of one project that are deployed together. gcloud accepts several
+ * configuration files in a single "app deploy", so the first {@link DeployConfigTask} of the batch
+ * to run deploys all of them and the others only report the outcome. Files that did not change
+ * since they were deployed to the project are left out.
+ */
+class DeployConfigBatch {
+
+  private final DeployExtension deployExtension;
+  private final List<DeployConfigTask> configTasks;
+
+  private boolean deployed;
+  private AppEngineException failure;
+
+  DeployConfigBatch(DeployExtension deployExtension, List<DeployConfigTask> configTasks) {
+    this.deployExtension = deployExtension;
+    this.configTasks = ImmutableList.copyOf(configTasks);
+  }
+
+  /** Deploys every configuration file of the batch, only the first call reaches gcloud. */
+  synchronized void deploy(Gcloud gcloud, Logger logger) throws AppEngineException {
+    if (!deployed) {
+      DeployProjectConfigurationConfiguration configuration =
+          deployExtension.toDeployProjectConfigurationConfiguration();
+      DeployedConfigs deployedConfigs = deployExtension.getDeployedConfigs();
+      List<Path> deployables = new ArrayList<>();
+      for (DeployConfigTask configTask : configTasks) {
+        String configFileName = configTask.getConfigFileName();
+        Path configFile = configTask.getConfigFilePath();
+        if (!Files.isRegularFile(configFile)) {
+          throw new GradleException(
+              "Failed to deploy configuration: " + configFile + " not found.");
+        }
+        if (deployExtension.getSkipUnchanged()
+            && deployedConfigs.isDeployed(configuration.getProjectId(), configFile)) {
+          logger.lifecycle(
+              configFileName + " is already deployed to " + configuration.getProjectId());
+          continue;
+        }
+        logger.info("Preparing to deploy " + configFileName);
+        deployables.add(configFile);
+      }
+
+      deployed = true;
+      if (deployables.isEmpty()) {
+        return;
+      }
+      try {
+        gcloud
+            .newDeployment(CloudSdkOperations.getDefaultHandler(logger))
+            .deploy(
+                DeployConfiguration.builder(deployables)
+                    .projectId(configuration.getProjectId())
+                    .server(configuration.getServer())
+                    .build());
+      } catch (AppEngineException ex) {
+        failure = ex;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
+import com.google.cloud.tools.appengine.operations.Deployment;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Task to deploy one of an application's configuration files. When several of them run in the
+ * same build, they only select their file for a {@link DeployConfigBatch} that deploys them all
+ * with a single gcloud invocation.
+ *
+ * <p>The task's inputs are the file and the configured projectId and server, the project they
+ * resolve to is only looked up when the task runs. With skipUnchanged, the task is up to date until
+ * one of them changes.
+ */
+public abstract class DeployConfigTask extends GcloudTask implements CloudSdkTask {
+
+  private DeployExtension deployExtension;
+  private final DirectoryProperty appEngineDirectory =
+      getProject().getLayout().directoryProperty();
+  private DeployConfigBatch batch;
+
+  /** Constructor. */
+  public DeployConfigTask() {
+    getOutputs().upToDateWhen(task -> deployExtension.getSkipUnchanged());
+  }
+
+  public void setDeployExtension(DeployExtension deployExtension) {
+    this.deployExtension = deployExtension;
+  }
+
+  /**
+   * Deploy the file from {@code appEngineDirectory} instead of the deploy extension's, when the
+   * provider has a value.
+   */
+  public void setAppEngineDirectory(Provider<Directory> appEngineDirectory) {
+    this.appEngineDirectory.set(appEngineDirectory);
+  }
+
+  /** The directory the file is deployed from. */
+  @Internal
+  public File getAppEngineDirectory() {
+    return appEngineDirectory.isPresent()
+        ? appEngineDirectory.getAsFile().get()
+        : deployExtension.getAppEngineDirectory();
+  }
+
+  void setBatch(DeployConfigBatch batch) {
+    this.batch = batch;
+  }
+
+  @Internal
+  DeployConfigBatch getBatch() {
+    return batch;
+  }
+
+  /** The name of the configuration file this task deploys, like "cron.yaml". */
+  @Internal
+  public abstract String getConfigFileName();
+
+  /** The file to deploy, or null if it doesn't exist so deploying it fails with gcloud's error. */
+  @InputFile
+  @Optional
+  public File getConfigFile() {
+    File configFile = getConfigFilePath().toFile();
+    return configFile.isFile() ? configFile : null;
+  }
+
+  @Internal
+  Path getConfigFilePath() {
+    return getAppEngineDirectory().toPath().resolve(getConfigFileName());
+  }
+
+  /** The configured projectId, like {@code GCLOUD_CONFIG}, not the project it resolves to. */
+  @Input
+  @Optional
+  public String getProjectId() {
+    return deployExtension.getProjectId();
+  }
+
+  @Input
+  @Optional
+  public String getServer() {
+    return deployExtension.getServer();
+  }
+
+  @OutputFile
+  public File getDeployedRecordFile() {
+    return deployExtension.getDeployedConfigs().getRecordFile(getConfigFileName()).toFile();
+  }
+
+  protected abstract void deploy(
+      Deployment deployment, DeployProjectConfigurationConfiguration configuration)
+      throws AppEngineException;
+
+  /** Task entrypoint : deploy the configuration file, or the batch it is part of. */
+  @TaskAction
+  public void deployAction() throws AppEngineException, IOException {
+    DeployedConfigs deployedConfigs = deployExtension.getDeployedConfigs();
+    DeployProjectConfigurationConfiguration configuration =
+        deployExtension.toDeployProjectConfigurationConfiguration(getAppEngineDirectory());
+    String projectId = configuration.getProjectId();
+    Path configFile = getConfigFilePath();
+    if (batch != null) {
+      batch.deploy(getGcloud(), getLogger());
+    } else if (deployExtension.getSkipUnchanged()
+        && deployedConfigs.isDeployed(projectId, configFile)) {
+      // another task, like appengineDeployAll, already deployed this content
+      getLogger().lifecycle(getConfigFileName() + " is already deployed to " + projectId);
+      setDidWork(false);
+    } else {
+      deploy(
+          getGcloud().newDeployment(CloudSdkOperations.getDefaultHandler(getLogger())),
+          configuration);
+    }
+    deployedConfigs.recordDeployed(projectId, configFile);
+    deployedConfigs.recordTask(projectId, getConfigFileName());
+  }
+}
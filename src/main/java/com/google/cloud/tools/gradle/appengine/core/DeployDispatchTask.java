@@ -18,29 +18,21 @@
 package com.google.cloud.tools.gradle.appengine.core;
 
 import com.google.cloud.tools.appengine.AppEngineException;
-import com.google.cloud.tools.appengine.operations.Gcloud;
-import org.gradle.api.tasks.TaskAction;
+import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
+import com.google.cloud.tools.appengine.operations.Deployment;
 
 /** Task to deploy dispatch configuration. */
-public class DeployDispatchTask extends GcloudTask {
-
-  private DeployExtension deployExtension;
-  private Gcloud gcloud;
-
-  public void setDeployExtension(DeployExtension deployExtension) {
-    this.deployExtension = deployExtension;
-  }
+public class DeployDispatchTask extends DeployConfigTask {
 
   @Override
-  public void setGcloud(Gcloud gcloud) {
-    this.gcloud = gcloud;
+  public String getConfigFileName() {
+    return "dispatch.yaml";
   }
 
-  /** Task entrypoint : deploy dispatch.yaml. */
-  @TaskAction
-  public void deployAction() throws AppEngineException {
-    gcloud
-        .newDeployment(CloudSdkOperations.getDefaultHandler(getLogger()))
-        .deployDispatch(deployExtension.toDeployProjectConfigurationConfiguration());
+  @Override
+  protected void deploy(
+      Deployment deployment, DeployProjectConfigurationConfiguration configuration)
+      throws AppEngineException {
+    deployment.deployDispatch(configuration);
   }
 }
@@ -21,31 +21,67 @@ import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
 import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
 import java.io.File;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
+import java.util.function.Supplier;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.provider.Property;
 
 /** Extension element to define Deployable configurations for App Engine. */
 public class DeployExtension {
 
   @InternalProperty private DeployTargetResolver deployTargetResolver;
 
-  // named gradleProject to disambiguate with deploy parameter "project"
-  private final Project gradleProject;
+  @InternalProperty private final ProjectLayout layout;
 
-  private String bucket;
-  private String gcloudMode;
-  private String imageUrl;
-  private String projectId;
+  private final Property<String> bucket;
+  private final Property<String> gcloudMode;
+  private final Property<String> imageUrl;
+  private final Property<String> projectId;
   @Deprecated private String project;
-  private Boolean promote;
-  private String server;
-  private Boolean stopPreviousVersion;
-  private String version;
-  private File appEngineDirectory;
+  private final Property<Boolean> promote;
+  private final Property<String> server;
+  private final Property<Boolean> stopPreviousVersion;
+  private final Property<String> version;
+  private final DirectoryProperty appEngineDirectory;
+  private final Property<Boolean> batchConfigDeploy;
+  private final Property<Boolean> skipUnchanged;
+  private final Property<Integer> maxAttempts;
+  private final Property<Integer> retryDelaySeconds;
+  private final Property<Integer> maxRetryDelaySeconds;
+  private final Property<Integer> attemptTimeoutSeconds;
+  private final Property<Boolean> async;
 
+  /** Constructor. */
   public DeployExtension(Project gradleProject) {
-    this.gradleProject = gradleProject;
+    layout = gradleProject.getLayout();
+    bucket = gradleProject.getObjects().property(String.class);
+    gcloudMode = gradleProject.getObjects().property(String.class);
+    imageUrl = gradleProject.getObjects().property(String.class);
+    projectId = gradleProject.getObjects().property(String.class);
+    promote = gradleProject.getObjects().property(Boolean.class);
+    server = gradleProject.getObjects().property(String.class);
+    stopPreviousVersion = gradleProject.getObjects().property(Boolean.class);
+    version = gradleProject.getObjects().property(String.class);
+    appEngineDirectory = gradleProject.getLayout().directoryProperty();
+    batchConfigDeploy = gradleProject.getObjects().property(Boolean.class);
+    batchConfigDeploy.set(true);
+    skipUnchanged = gradleProject.getObjects().property(Boolean.class);
+    skipUnchanged.set(false);
+    maxAttempts = gradleProject.getObjects().property(Integer.class);
+    maxAttempts.set(1);
+    retryDelaySeconds = gradleProject.getObjects().property(Integer.class);
+    retryDelaySeconds.set(10);
+    maxRetryDelaySeconds = gradleProject.getObjects().property(Integer.class);
+    maxRetryDelaySeconds.set(120);
+    attemptTimeoutSeconds = gradleProject.getObjects().property(Integer.class);
+    attemptTimeoutSeconds.set(0);
+    async = gradleProject.getObjects().property(Boolean.class);
+    async.set(false);
   }
 
   void setDeployTargetResolver(DeployTargetResolver deployTargetResolver) {
@@ -53,101 +89,241 @@ public class DeployExtension {
   }
 
   DeployConfiguration toDeployConfiguration(List<Path> deployables) {
-    String processedProjectId = deployTargetResolver.getProject(projectId);
-    String processedVersion = deployTargetResolver.getVersion(version);
+    return toDeployConfiguration(deployables, null);
+  }
+
+  /**
+   * Creates the configuration to deploy {@code deployables}, {@code contentVersion} provides the
+   * version when it is configured as {@link DeployTargetResolver#CONTENT_HASH}.
+   */
+  DeployConfiguration toDeployConfiguration(
+      List<Path> deployables, Supplier<String> contentVersion) {
+    String processedProjectId = deployTargetResolver.getProject(getProjectId());
+    String processedVersion;
+    if (DeployTargetResolver.CONTENT_HASH.equals(getVersion())) {
+      if (contentVersion == null) {
+        throw new GradleException(
+            "appengine.deploy.version = '"
+                + DeployTargetResolver.CONTENT_HASH
+                + "' is only supported by appengineDeploy and appengineDeployAll");
+      }
+      processedVersion = contentVersion.get();
+    } else {
+      processedVersion = deployTargetResolver.getVersion(getVersion());
+    }
 
     return DeployConfiguration.builder(deployables)
-        .bucket(bucket)
-        .gcloudMode(gcloudMode)
-        .imageUrl(imageUrl)
+        .bucket(getBucket())
+        .gcloudMode(getGcloudMode())
+        .imageUrl(getImageUrl())
         .projectId(processedProjectId)
-        .promote(promote)
-        .server(server)
-        .stopPreviousVersion(stopPreviousVersion)
+        .promote(getPromote())
+        .server(getServer())
+        .stopPreviousVersion(getStopPreviousVersion())
         .version(processedVersion)
         .build();
   }
 
+  /** Creates a retrier that follows the configured retry policy. */
+  DeployRetrier newRetrier(Logger logger) {
+    if (getMaxAttempts() < 1) {
+      throw new GradleException("appengine.deploy.maxAttempts must be at least 1");
+    }
+    if (getRetryDelaySeconds() < 0
+        || getMaxRetryDelaySeconds() < 0
+        || getAttemptTimeoutSeconds() < 0) {
+      throw new GradleException(
+          "appengine.deploy retryDelaySeconds, maxRetryDelaySeconds and attemptTimeoutSeconds"
+              + " must not be negative");
+    }
+    return new DeployRetrier(
+        logger,
+        getMaxAttempts(),
+        Duration.ofSeconds(getRetryDelaySeconds()),
+        Duration.ofSeconds(getMaxRetryDelaySeconds()),
+        Duration.ofSeconds(getAttemptTimeoutSeconds()));
+  }
+
   DeployProjectConfigurationConfiguration toDeployProjectConfigurationConfiguration() {
-    String processedProjectId = deployTargetResolver.getProject(projectId);
+    return toDeployProjectConfigurationConfiguration(getAppEngineDirectory());
+  }
+
+  /** Creates the configuration to deploy configuration files from {@code appEngineDirectory}. */
+  DeployProjectConfigurationConfiguration toDeployProjectConfigurationConfiguration(
+      File appEngineDirectory) {
+    String processedProjectId = deployTargetResolver.getProject(getProjectId());
     return DeployProjectConfigurationConfiguration.builder(appEngineDirectory.toPath())
         .projectId(processedProjectId)
-        .server(server)
+        .server(getServer())
         .build();
   }
 
   public String getBucket() {
-    return bucket;
+    return bucket.getOrNull();
   }
 
   public void setBucket(String bucket) {
-    this.bucket = bucket;
+    this.bucket.set(bucket);
   }
 
   public String getGcloudMode() {
-    return gcloudMode;
+    return gcloudMode.getOrNull();
   }
 
   public void setGcloudMode(String gcloudMode) {
-    this.gcloudMode = gcloudMode;
+    this.gcloudMode.set(gcloudMode);
   }
 
   public String getImageUrl() {
-    return imageUrl;
+    return imageUrl.getOrNull();
   }
 
   public void setImageUrl(String imageUrl) {
-    this.imageUrl = imageUrl;
+    this.imageUrl.set(imageUrl);
   }
 
   public String getProjectId() {
-    return projectId;
+    return projectId.getOrNull();
   }
 
   public void setProjectId(String projectId) {
-    this.projectId = projectId;
+    this.projectId.set(projectId);
+  }
+
+  public Property<String> getProjectIdProperty() {
+    return projectId;
   }
 
   public Boolean getPromote() {
-    return promote;
+    return promote.getOrNull();
   }
 
   public void setPromote(Boolean promote) {
-    this.promote = promote;
+    this.promote.set(promote);
   }
 
   public String getServer() {
-    return server;
+    return server.getOrNull();
   }
 
   public void setServer(String server) {
-    this.server = server;
+    this.server.set(server);
   }
 
   public Boolean getStopPreviousVersion() {
-    return stopPreviousVersion;
+    return stopPreviousVersion.getOrNull();
   }
 
   public void setStopPreviousVersion(Boolean stopPreviousVersion) {
-    this.stopPreviousVersion = stopPreviousVersion;
+    this.stopPreviousVersion.set(stopPreviousVersion);
   }
 
   public String getVersion() {
-    return version;
+    return version.getOrNull();
   }
 
   public void setVersion(String version) {
-    this.version = version;
+    this.version.set(version);
   }
 
   public void setAppEngineDirectory(Object appEngineDirectory) {
-    this.appEngineDirectory = gradleProject.file(appEngineDirectory);
+    this.appEngineDirectory.set(layout.files(appEngineDirectory).getSingleFile());
   }
 
   public File getAppEngineDirectory() {
+    return appEngineDirectory.getAsFile().getOrNull();
+  }
+
+  public DirectoryProperty getAppEngineDirectoryProperty() {
     return appEngineDirectory;
   }
 
+  public boolean getBatchConfigDeploy() {
+    return batchConfigDeploy.get();
+  }
+
+  public void setBatchConfigDeploy(boolean batchConfigDeploy) {
+    this.batchConfigDeploy.set(batchConfigDeploy);
+  }
+
+  public boolean getSkipUnchanged() {
+    return skipUnchanged.get();
+  }
+
+  public void setSkipUnchanged(boolean skipUnchanged) {
+    this.skipUnchanged.set(skipUnchanged);
+  }
+
+  /**
+   * How many times a deployment that fails on a transient error is tried. Defaults to 1, a
+   * deployment is only retried when this is raised.
+   */
+  public int getMaxAttempts() {
+    return maxAttempts.get();
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts.set(maxAttempts);
+  }
+
+  public int getRetryDelaySeconds() {
+    return retryDelaySeconds.get();
+  }
+
+  public void setRetryDelaySeconds(int retryDelaySeconds) {
+    this.retryDelaySeconds.set(retryDelaySeconds);
+  }
+
+  public int getMaxRetryDelaySeconds() {
+    return maxRetryDelaySeconds.get();
+  }
+
+  public void setMaxRetryDelaySeconds(int maxRetryDelaySeconds) {
+    this.maxRetryDelaySeconds.set(maxRetryDelaySeconds);
+  }
+
+  /**
+   * How long a deployment attempt may take before gcloud is stopped, 0 waits indefinitely. Stopping
+   * gcloud doesn't cancel the deployment on the server, it may still complete.
+   */
+  public int getAttemptTimeoutSeconds() {
+    return attemptTimeoutSeconds.get();
+  }
+
+  public void setAttemptTimeoutSeconds(int attemptTimeoutSeconds) {
+    this.attemptTimeoutSeconds.set(attemptTimeoutSeconds);
+  }
+
+  public boolean getAsync() {
+    return async.get();
+  }
+
+  public void setAsync(boolean async) {
+    this.async.set(async);
+  }
+
+  /** The directory that remembers what was last deployed to each version. */
+  File getFingerprintDirectory() {
+    return layout.getBuildDirectory().dir("appengine/deploy-fingerprints").get().getAsFile();
+  }
+
+  /** The directory that keeps the manifests of the staged and the last deployed files. */
+  File getManifestDirectory() {
+    return layout.getBuildDirectory().dir("appengine/deploy-manifest").get().getAsFile();
+  }
+
+  /** The operations of asynchronous deployments that appengineDeployWait didn't wait for yet. */
+  DeployOperations getDeployOperations() {
+    return new DeployOperations(
+        layout.getBuildDirectory().dir("appengine/deploy-operations").get().getAsFile().toPath());
+  }
+
+  /** The digests of the configuration files last deployed to each project. */
+  DeployedConfigs getDeployedConfigs() {
+    return new DeployedConfigs(
+        layout.getBuildDirectory().dir("appengine/deployed-configs").get().getAsFile().toPath());
+  }
+
   public String getProject() {
     throw new GradleException(
         "Use of appengine.deploy.project is deprecated, use appengine.deploy.projectId");
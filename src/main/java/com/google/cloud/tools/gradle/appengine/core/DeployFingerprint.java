@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
+import com.google.common.base.Strings;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.gradle.api.GradleException;
+
+/**
+ * Fingerprint of a deployment : the staged content of a service, from its {@link DeployManifest},
+ * plus the configuration it is deployed with. The fingerprint of the last successful deployment to
+ * each project, service and version is kept in {@code storeDirectory}, so a deployment of unchanged
+ * content can be skipped.
+ */
+class DeployFingerprint {
+
+  private static final Pattern SERVICE = Pattern.compile("^(?:service|module):\\s*(\\S+)\\s*$");
+
+  private final Path stageDirectory;
+  private final Path storeDirectory;
+  private final Path manifestDirectory;
+  private DeployManifest manifest;
+
+  DeployFingerprint(Path stageDirectory, Path storeDirectory, Path manifestDirectory) {
+    this.stageDirectory = stageDirectory;
+    this.storeDirectory = storeDirectory;
+    this.manifestDirectory = manifestDirectory;
+  }
+
+  /** Returns the manifest of the staging directory, scanned once. */
+  synchronized DeployManifest getManifest() {
+    if (manifest == null) {
+      try {
+        manifest = DeployManifest.scanStaged(stageDirectory, manifestDirectory);
+      } catch (IOException ex) {
+        throw new GradleException("Failed to fingerprint " + stageDirectory, ex);
+      }
+    }
+    return manifest;
+  }
+
+  /** Returns a hash of every file in the staging directory. */
+  String getContentHash() {
+    return getManifest().getContentHash();
+  }
+
+  /** Returns a version name derived from the staged content, identical builds share it. */
+  String getContentVersion() {
+    return "c" + getContentHash().substring(0, 16);
+  }
+
+  /** Returns the version named after the staged content of all {@code fingerprints} together. */
+  static String getContentVersion(List<DeployFingerprint> fingerprints) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (DeployFingerprint fingerprint : fingerprints) {
+      hasher.putString(fingerprint.getContentHash(), StandardCharsets.UTF_8);
+    }
+    return "c" + hasher.hash().toString().substring(0, 16);
+  }
+
+  /** Returns the fingerprint of deploying the staged content with {@code config}. */
+  String getFingerprint(DeployConfiguration config) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putString(getContentHash(), StandardCharsets.UTF_8);
+    try {
+      // configuration files like cron.yaml may live outside the staging directory
+      for (Path deployable : config.getDeployables()) {
+        hasher.putString(deployable.toString(), StandardCharsets.UTF_8);
+        putContent(hasher, deployable);
+      }
+    } catch (IOException ex) {
+      throw new GradleException("Failed to fingerprint " + config.getDeployables(), ex);
+    }
+    for (Object value :
+        new Object[] {
+          config.getProjectId(),
+          config.getVersion(),
+          config.getBucket(),
+          config.getGcloudMode(),
+          config.getImageUrl(),
+          config.getPromote(),
+          config.getServer(),
+          config.getStopPreviousVersion()
+        }) {
+      hasher.putString(String.valueOf(value), StandardCharsets.UTF_8);
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Returns true if the last successful deployment to the project, service and version of {@code
+   * config} had the same fingerprint. A deployment without a version always creates a new one, so
+   * it never matches.
+   */
+  boolean isDeployed(DeployConfiguration config) {
+    Path stamp = getStamp(config);
+    if (stamp == null || !Files.isRegularFile(stamp)) {
+      return false;
+    }
+    try {
+      String deployed = new String(Files.readAllBytes(stamp), StandardCharsets.UTF_8).trim();
+      return deployed.equals(getFingerprint(config));
+    } catch (IOException ex) {
+      // an unreadable stamp only means we deploy again
+      return false;
+    }
+  }
+
+  /** Records that {@code config} was successfully deployed. */
+  void recordDeployed(DeployConfiguration config) throws IOException {
+    getManifest().writeDeployed(manifestDirectory);
+    Path stamp = getStamp(config);
+    if (stamp != null) {
+      Files.createDirectories(stamp.getParent());
+      Files.write(stamp, getFingerprint(config).getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  /** Returns the service declared by the staged app.yaml, "default" when it declares none. */
+  String getService() throws IOException {
+    Path appYaml = stageDirectory.resolve("app.yaml");
+    if (Files.isRegularFile(appYaml)) {
+      for (String line : Files.readAllLines(appYaml, StandardCharsets.UTF_8)) {
+        Matcher matcher = SERVICE.matcher(line);
+        if (matcher.matches()) {
+          return matcher.group(1).replaceAll("^['\"]|['\"]$", "");
+        }
+      }
+    }
+    return "default";
+  }
+
+  private Path getStamp(DeployConfiguration config) {
+    if (Strings.isNullOrEmpty(config.getVersion())) {
+      return null;
+    }
+    try {
+      return storeDirectory
+          .resolve(config.getProjectId())
+          .resolve(getService())
+          .resolve(config.getVersion());
+    } catch (IOException ex) {
+      throw new GradleException("Failed to read the service of " + stageDirectory, ex);
+    }
+  }
+
+  private static void putContent(Hasher hasher, Path file) throws IOException {
+    hasher.putLong(Files.size(file));
+    try (OutputStream out = Funnels.asOutputStream(hasher)) {
+      Files.copy(file, out);
+    }
+  }
+}
@@ -18,28 +18,21 @@
 package com.google.cloud.tools.gradle.appengine.core;
 
 import com.google.cloud.tools.appengine.AppEngineException;
-import com.google.cloud.tools.appengine.operations.Gcloud;
-import org.gradle.api.tasks.TaskAction;
+import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
+import com.google.cloud.tools.appengine.operations.Deployment;
 
 /** Task to deploy datastore index configuration. */
-public class DeployIndexTask extends GcloudTask {
+public class DeployIndexTask extends DeployConfigTask {
 
-  private DeployExtension deployExtension;
-  private Gcloud gcloud;
-
-  public void setDeployExtension(DeployExtension deployExtension) {
-    this.deployExtension = deployExtension;
-  }
-
-  public void setGcloud(Gcloud gcloud) {
-    this.gcloud = gcloud;
+  @Override
+  public String getConfigFileName() {
+    return "index.yaml";
   }
 
-  /** Task entrypoint : deploy index.yaml. */
-  @TaskAction
-  public void deployAction() throws AppEngineException {
-    gcloud
-        .newDeployment(CloudSdkOperations.getDefaultHandler(getLogger()))
-        .deployIndex(deployExtension.toDeployProjectConfigurationConfiguration());
+  @Override
+  protected void deploy(
+      Deployment deployment, DeployProjectConfigurationConfiguration configuration)
+      throws AppEngineException {
+    deployment.deployIndex(configuration);
   }
 }
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The files of a staging directory with their size and SHA-1, like the manifest gcloud uploads a
+ * deployment with. Files whose size and modification time did not change keep the SHA-1 of a
+ * previous manifest, so scanning an unchanged directory again does not read it.
+ */
+class DeployManifest {
+
+  static final String STAGED_MANIFEST_FILE_NAME = "staged.manifest";
+  static final String DEPLOYED_MANIFEST_FILE_NAME = "deployed.manifest";
+
+  // SHA-1 is what gcloud identifies uploaded files with
+  @SuppressWarnings("deprecation")
+  private static final HashFunction SHA1 = Hashing.sha1();
+
+  /** A staged file. */
+  static class Entry {
+    private final long size;
+    private final long lastModified;
+    private final String sha1;
+
+    Entry(long size, long lastModified, String sha1) {
+      this.size = size;
+      this.lastModified = lastModified;
+      this.sha1 = sha1;
+    }
+
+    long getSize() {
+      return size;
+    }
+
+    String getSha1() {
+      return sha1;
+    }
+  }
+
+  private final SortedMap<String, Entry> entries;
+
+  DeployManifest(Map<String, Entry> entries) {
+    this.entries = Collections.unmodifiableSortedMap(new TreeMap<>(entries));
+  }
+
+  /** Returns the entries by their path relative to the staging directory, with '/' separators. */
+  SortedMap<String, Entry> getEntries() {
+    return entries;
+  }
+
+  long getTotalSize() {
+    return entries.values().stream().mapToLong(Entry::getSize).sum();
+  }
+
+  /** Returns the sha256 of the manifest, it changes when any staged file changes. */
+  String getContentHash() {
+    Hasher hasher = Hashing.sha256().newHasher();
+    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+      hasher.putString(entry.getKey(), StandardCharsets.UTF_8);
+      hasher.putLong(entry.getValue().getSize());
+      hasher.putString(entry.getValue().getSha1(), StandardCharsets.UTF_8);
+    }
+    return hasher.hash().toString();
+  }
+
+  /**
+   * Lists and hashes the files of {@code directory}. Files are hashed in parallel, unless their
+   * size and modification time match {@code previous}.
+   */
+  static DeployManifest scan(Path directory, DeployManifest previous) throws IOException {
+    List<Path> files;
+    try (Stream<Path> walk = Files.walk(directory)) {
+      files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+    }
+
+    Map<String, Entry> entries = new TreeMap<>();
+    Map<String, Future<Entry>> hashed = new TreeMap<>();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    try {
+      for (Path file : files) {
+        String path = directory.relativize(file).toString().replace('\\', '/');
+        long size = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis();
+        Entry known = previous.entries.get(path);
+        if (known != null && known.size == size && known.lastModified == lastModified) {
+          entries.put(path, known);
+        } else {
+          hashed.put(
+              path,
+              executor.submit(
+                  () ->
+                      new Entry(
+                          size,
+                          lastModified,
+                          com.google.common.io.Files.asByteSource(file.toFile())
+                              .hash(SHA1)
+                              .toString())));
+        }
+      }
+      for (Map.Entry<String, Future<Entry>> entry : hashed.entrySet()) {
+        entries.put(entry.getKey(), entry.getValue().get());
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while hashing " + directory, ex);
+    } catch (ExecutionException ex) {
+      throw new IOException("Failed to hash " + directory, ex.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    return new DeployManifest(entries);
+  }
+
+  /**
+   * Scans {@code stageDirectory} with the hashes of its previous scan, kept in {@code
+   * manifestDirectory}, and keeps the new ones there for the next scan.
+   */
+  static DeployManifest scanStaged(Path stageDirectory, Path manifestDirectory)
+      throws IOException {
+    Path stagedManifest = manifestDirectory.resolve(STAGED_MANIFEST_FILE_NAME);
+    DeployManifest manifest = scan(stageDirectory, read(stagedManifest));
+    manifest.write(stagedManifest);
+    return manifest;
+  }
+
+  /** Returns the manifest of the last successful deployment, empty if there is none. */
+  static DeployManifest readDeployed(Path manifestDirectory) {
+    return read(manifestDirectory.resolve(DEPLOYED_MANIFEST_FILE_NAME));
+  }
+
+  /** Records this manifest as the one of the last successful deployment. */
+  void writeDeployed(Path manifestDirectory) throws IOException {
+    write(manifestDirectory.resolve(DEPLOYED_MANIFEST_FILE_NAME));
+  }
+
+  /** Reads a manifest written by {@link #write}, an unreadable manifest is empty. */
+  static DeployManifest read(Path file) {
+    Map<String, Entry> entries = new TreeMap<>();
+    if (Files.isRegularFile(file)) {
+      try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+        lines.forEach(
+            line -> {
+              // sha1 size lastModified path, the path goes last as it may contain tabs
+              String[] fields = line.split("\t", 4);
+              entries.put(
+                  fields[3],
+                  new Entry(Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[0]));
+            });
+      } catch (IOException | RuntimeException ex) {
+        // an unreadable manifest only means we hash again
+        return new DeployManifest(Collections.emptyMap());
+      }
+    }
+    return new DeployManifest(entries);
+  }
+
+  void write(Path file) throws IOException {
+    List<String> lines = new ArrayList<>();
+    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+      Entry value = entry.getValue();
+      lines.add(
+          value.sha1 + "\t" + value.size + "\t" + value.lastModified + "\t" + entry.getKey());
+    }
+    Files.createDirectories(file.getParent());
+    Files.write(file, lines, StandardCharsets.UTF_8);
+  }
+
+  /** Returns what changed from {@code deployed} to this manifest. */
+  Diff diff(DeployManifest deployed) {
+    Diff diff = new Diff();
+    for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+      Entry old = deployed.entries.get(entry.getKey());
+      if (old == null) {
+        diff.added.add(entry.getKey());
+        diff.addedBytes += entry.getValue().size;
+      } else if (!Objects.equals(old.sha1, entry.getValue().sha1)) {
+        diff.changed.add(entry.getKey());
+        diff.changedBytes += entry.getValue().size;
+      }
+    }
+    for (Map.Entry<String, Entry> entry : deployed.entries.entrySet()) {
+      if (!entries.containsKey(entry.getKey())) {
+        diff.removed.add(entry.getKey());
+        diff.removedBytes += entry.getValue().size;
+      }
+    }
+    return diff;
+  }
+
+  /** Files added, changed and removed since a deployment. */
+  static class Diff {
+    private final List<String> added = new ArrayList<>();
+    private final List<String> changed = new ArrayList<>();
+    private final List<String> removed = new ArrayList<>();
+    private long addedBytes;
+    private long changedBytes;
+    private long removedBytes;
+
+    List<String> getAdded() {
+      return added;
+    }
+
+    List<String> getChanged() {
+      return changed;
+    }
+
+    List<String> getRemoved() {
+      return removed;
+    }
+
+    long getAddedBytes() {
+      return addedBytes;
+    }
+
+    long getChangedBytes() {
+      return changedBytes;
+    }
+
+    long getRemovedBytes() {
+      return removedBytes;
+    }
+  }
+}
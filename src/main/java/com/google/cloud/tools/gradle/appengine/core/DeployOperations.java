@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The App Engine operations of asynchronous deployments that nobody waited for yet. Every operation
+ * is kept in its own file, named after the operation id, so deployments of different tasks can
+ * record theirs at the same time.
+ */
+class DeployOperations {
+
+  // gcloud names operations apps/<project>/operations/<id>
+  private static final Pattern OPERATION_NAME =
+      Pattern.compile("apps/([^/\\s\\]]+)/operations/([^/\\s\\]]+)");
+
+  private final Path directory;
+
+  DeployOperations(Path directory) {
+    this.directory = directory;
+  }
+
+  /** Returns the operation names in {@code line} of gcloud's output. */
+  static Set<String> parse(String line) {
+    Set<String> operations = new LinkedHashSet<>();
+    Matcher matcher = OPERATION_NAME.matcher(line);
+    while (matcher.find()) {
+      operations.add(matcher.group());
+    }
+    return operations;
+  }
+
+  /** Returns the project of {@code operation}. */
+  static String getProject(String operation) {
+    return matchName(operation).group(1);
+  }
+
+  /** Returns the id of {@code operation}, as {@code gcloud app operations} expects it. */
+  static String getId(String operation) {
+    return matchName(operation).group(2);
+  }
+
+  private static Matcher matchName(String operation) {
+    Matcher matcher = OPERATION_NAME.matcher(operation);
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("Not an App Engine operation: " + operation);
+    }
+    return matcher;
+  }
+
+  /** Records {@code operation} as outstanding. */
+  void record(String operation) throws IOException {
+    Files.createDirectories(directory);
+    Files.write(getFile(operation), operation.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Returns the outstanding operations, sorted by name. */
+  List<String> getPending() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return Collections.emptyList();
+    }
+    List<String> operations = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+      for (Path file : files) {
+        operations.add(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim());
+      }
+    }
+    Collections.sort(operations);
+    return operations;
+  }
+
+  /** Forgets {@code operation}, once it is done. */
+  void remove(String operation) throws IOException {
+    Files.deleteIfExists(getFile(operation));
+  }
+
+  private Path getFile(String operation) {
+    return directory.resolve(getProject(operation) + "." + getId(operation));
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Reports what a deployment of the staging directory would upload : the files that are new, changed
+ * or removed since the last successful deployment, and their size.
+ */
+public class DeployPlanTask extends DefaultTask {
+
+  // the largest files are always listed, the rest only at --info
+  private static final int LARGEST_FILES = 10;
+
+  private DeployExtension deployExtension;
+  private final DirectoryProperty stageDirectory = getProject().getLayout().directoryProperty();
+
+  public void setDeployExtension(DeployExtension deployExtension) {
+    this.deployExtension = deployExtension;
+  }
+
+  public void setStageDirectory(File stageDirectory) {
+    this.stageDirectory.set(stageDirectory);
+  }
+
+  public void setStageDirectory(Provider<Directory> stageDirectory) {
+    this.stageDirectory.set(stageDirectory);
+  }
+
+  /** Task entrypoint : report the deploy plan. */
+  @TaskAction
+  public void planAction() throws IOException {
+    Path manifestDirectory = deployExtension.getManifestDirectory().toPath();
+    DeployManifest manifest =
+        DeployManifest.scanStaged(stageDirectory.getAsFile().get().toPath(), manifestDirectory);
+    DeployManifest.Diff diff = manifest.diff(DeployManifest.readDeployed(manifestDirectory));
+
+    getLogger()
+        .lifecycle(
+            "Staged "
+                + manifest.getEntries().size()
+                + " files, "
+                + formatSize(manifest.getTotalSize())
+                + ", since the last deployment:");
+    report("new", diff.getAdded(), diff.getAddedBytes(), manifest);
+    report("changed", diff.getChanged(), diff.getChangedBytes(), manifest);
+    getLogger()
+        .lifecycle(
+            "  removed: "
+                + diff.getRemoved().size()
+                + " files, "
+                + formatSize(diff.getRemovedBytes()));
+    for (String path : diff.getRemoved()) {
+      getLogger().info("    " + path);
+    }
+  }
+
+  private void report(String kind, List<String> paths, long bytes, DeployManifest manifest) {
+    getLogger().lifecycle("  " + kind + ": " + paths.size() + " files, " + formatSize(bytes));
+    List<String> bySize = new ArrayList<>(paths);
+    bySize.sort(
+        Comparator.comparingLong((String path) -> manifest.getEntries().get(path).getSize())
+            .reversed());
+    for (int i = 0; i < bySize.size(); i++) {
+      String path = bySize.get(i);
+      String line =
+          "    " + path + " (" + formatSize(manifest.getEntries().get(path).getSize()) + ")";
+      if (i < LARGEST_FILES) {
+        getLogger().lifecycle(line);
+      } else {
+        getLogger().info(line);
+      }
+    }
+  }
+
+  static String formatSize(long bytes) {
+    if (bytes < 1024) {
+      return bytes + " B";
+    }
+    if (bytes < 1024 * 1024) {
+      return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+    }
+    return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+  }
+}
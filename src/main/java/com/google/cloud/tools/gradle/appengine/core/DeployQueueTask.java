@@ -18,28 +18,21 @@
 package com.google.cloud.tools.gradle.appengine.core;
 
 import com.google.cloud.tools.appengine.AppEngineException;
-import com.google.cloud.tools.appengine.operations.Gcloud;
-import org.gradle.api.tasks.TaskAction;
+import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
+import com.google.cloud.tools.appengine.operations.Deployment;
 
 /** Task to deploy queue configuration. */
-public class DeployQueueTask extends GcloudTask {
+public class DeployQueueTask extends DeployConfigTask {
 
-  private DeployExtension deployExtension;
-  private Gcloud gcloud;
-
-  public void setDeployExtension(DeployExtension deployExtension) {
-    this.deployExtension = deployExtension;
-  }
-
-  public void setGcloud(Gcloud gcloud) {
-    this.gcloud = gcloud;
+  @Override
+  public String getConfigFileName() {
+    return "queue.yaml";
   }
 
-  /** Task entrypoint : deploy queue.yaml. */
-  @TaskAction
-  public void deployAction() throws AppEngineException {
-    gcloud
-        .newDeployment(CloudSdkOperations.getDefaultHandler(getLogger()))
-        .deployQueue(deployExtension.toDeployProjectConfigurationConfiguration());
+  @Override
+  protected void deploy(
+      Deployment deployment, DeployProjectConfigurationConfiguration configuration)
+      throws AppEngineException {
+    deployment.deployQueue(configuration);
   }
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.LegacyProcessHandler;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessOutputLineListener;
+import com.google.common.annotations.VisibleForTesting;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import org.gradle.api.logging.Logger;
+
+/**
+ * Runs a gcloud deployment, and runs it again with exponential backoff when it fails on an error
+ * that is likely transient, like a quota (429) or an unavailable (503) API, or an attempt that took
+ * longer than its timeout. Whether an error is transient is read from gcloud's exit and output.
+ *
+ * <p>A timeout only stops gcloud, the deployment it submitted keeps running on the server and may
+ * still complete, so the next attempt can deploy again or fail on the version being created.
+ */
+class DeployRetrier {
+
+  /** A deployment that runs gcloud with the given handler. */
+  interface Attempt {
+    void run(ProcessHandler processHandler) throws AppEngineException;
+  }
+
+  /** The outcome of one attempt. */
+  static class AttemptRecord {
+    private final int exitCode;
+    private final boolean timedOut;
+    private final boolean retryable;
+    private final Duration duration;
+
+    AttemptRecord(int exitCode, boolean timedOut, boolean retryable, Duration duration) {
+      this.exitCode = exitCode;
+      this.timedOut = timedOut;
+      this.retryable = retryable;
+      this.duration = duration;
+    }
+
+    int getExitCode() {
+      return exitCode;
+    }
+
+    boolean isTimedOut() {
+      return timedOut;
+    }
+
+    boolean isRetryable() {
+      return retryable;
+    }
+
+    Duration getDuration() {
+      return duration;
+    }
+  }
+
+  /** Waits between attempts. */
+  interface Sleeper {
+    void sleep(Duration duration) throws InterruptedException;
+  }
+
+  // gcloud's rendering of gRPC DEADLINE_EXCEEDED (4), RESOURCE_EXHAUSTED (8), INTERNAL (13) and
+  // UNAVAILABLE (14), of retryable HTTP statuses, and of operations it gave up waiting for
+  private static final Pattern RETRYABLE_OUTPUT =
+      Pattern.compile(
+          "Error Response: \\[(4|8|13|14)\\]"
+              + "|DEADLINE_EXCEEDED|RESOURCE_EXHAUSTED|UNAVAILABLE"
+              + "|'status': '(429|500|502|503|504)'|Too Many Requests|Service Unavailable"
+              + "|Operation .* timed out|Timed out waiting for operation",
+          Pattern.CASE_INSENSITIVE);
+
+  // only the end of the output is needed to classify a failure
+  private static final int OUTPUT_LINES = 50;
+
+  private final Logger logger;
+  private final int maxAttempts;
+  private final Duration retryDelay;
+  private final Duration maxRetryDelay;
+  private final Duration attemptTimeout;
+  private final Sleeper sleeper;
+  private final List<AttemptRecord> attempts = new ArrayList<>();
+  private final List<ProcessOutputLineListener> outputLineListeners = new ArrayList<>();
+  private String outputPrefix = "";
+
+  DeployRetrier(
+      Logger logger,
+      int maxAttempts,
+      Duration retryDelay,
+      Duration maxRetryDelay,
+      Duration attemptTimeout) {
+    this(
+        logger,
+        maxAttempts,
+        retryDelay,
+        maxRetryDelay,
+        attemptTimeout,
+        duration -> Thread.sleep(duration.toMillis()));
+  }
+
+  @VisibleForTesting
+  DeployRetrier(
+      Logger logger,
+      int maxAttempts,
+      Duration retryDelay,
+      Duration maxRetryDelay,
+      Duration attemptTimeout,
+      Sleeper sleeper) {
+    this.logger = logger;
+    this.maxAttempts = maxAttempts;
+    this.retryDelay = retryDelay;
+    this.maxRetryDelay = maxRetryDelay;
+    this.attemptTimeout = attemptTimeout;
+    this.sleeper = sleeper;
+  }
+
+  /** Adds a listener for every line gcloud outputs, in any attempt. */
+  void addOutputLineListener(ProcessOutputLineListener outputLineListener) {
+    outputLineListeners.add(outputLineListener);
+  }
+
+  /** Prefixes every line logged, to tell apart deployments that run at the same time. */
+  void setOutputPrefix(String outputPrefix) {
+    this.outputPrefix = outputPrefix;
+  }
+
+  /** Returns the attempts made so far. */
+  List<AttemptRecord> getAttempts() {
+    return Collections.unmodifiableList(attempts);
+  }
+
+  /** Runs {@code attempt} until it succeeds, fails on a permanent error or runs out of attempts. */
+  void deploy(Attempt attempt) throws AppEngineException {
+    Duration delay = retryDelay;
+    for (int number = 1; ; number++) {
+      AttemptRecord record = runAttempt(attempt);
+      attempts.add(record);
+      if (record.getExitCode() == 0) {
+        if (number > 1) {
+          logger.lifecycle(
+              outputPrefix
+                  + "Deployment succeeded on attempt "
+                  + number
+                  + ", "
+                  + describeAttempts());
+        }
+        return;
+      }
+
+      String failure =
+          "exit code "
+              + record.getExitCode()
+              + (record.isTimedOut() ? ", timed out after " + format(attemptTimeout) : "");
+      if (!record.isRetryable() || number >= maxAttempts) {
+        throw new AppEngineException(
+            "Deployment failed ("
+                + failure
+                + ")"
+                + (record.isRetryable() ? " after " + number + " attempts, " : ", ")
+                + describeAttempts());
+      }
+      logger.lifecycle(
+          outputPrefix
+              + "Deployment attempt "
+              + number
+              + " of "
+              + maxAttempts
+              + " failed ("
+              + failure
+              + ") after "
+              + format(record.getDuration())
+              + ", retrying in "
+              + format(delay));
+      try {
+        sleeper.sleep(delay);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new AppEngineException("Interrupted while waiting to retry the deployment", ex);
+      }
+      Duration doubled = delay.multipliedBy(2);
+      delay = doubled.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : doubled;
+    }
+  }
+
+  private AttemptRecord runAttempt(Attempt attempt) throws AppEngineException {
+    AtomicReference<Process> process = new AtomicReference<>();
+    // stays 0 when the attempt completes without reporting an exit
+    AtomicInteger exitCode = new AtomicInteger();
+    AtomicBoolean timedOut = new AtomicBoolean();
+    Deque<String> output = new ArrayDeque<>();
+    ProcessHandler processHandler =
+        LegacyProcessHandler.builder()
+            .addStdErrLineListener(line -> onOutputLine(output, line))
+            .addStdOutLineListener(line -> onOutputLine(output, line))
+            .setStartListener(
+                started -> {
+                  process.set(started);
+                  if (timedOut.get()) {
+                    started.destroyForcibly();
+                  }
+                })
+            .setExitListener(exitCode::set)
+            .build();
+
+    ScheduledExecutorService timeout = Executors.newSingleThreadScheduledExecutor();
+    long start = System.nanoTime();
+    try {
+      if (!attemptTimeout.isZero()) {
+        timeout.schedule(
+            () -> {
+              timedOut.set(true);
+              Process running = process.get();
+              if (running != null) {
+                running.destroyForcibly();
+              }
+            },
+            attemptTimeout.toMillis(),
+            TimeUnit.MILLISECONDS);
+      }
+      attempt.run(processHandler);
+    } finally {
+      timeout.shutdownNow();
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+    boolean retryable;
+    synchronized (output) {
+      retryable = timedOut.get() || isRetryable(output);
+    }
+    return new AttemptRecord(exitCode.get(), timedOut.get(), retryable, duration);
+  }
+
+  private void onOutputLine(Deque<String> output, String line) {
+    logger.lifecycle(outputPrefix + line);
+    for (ProcessOutputLineListener outputLineListener : outputLineListeners) {
+      outputLineListener.onOutputLine(line);
+    }
+    synchronized (output) {
+      output.addLast(line);
+      if (output.size() > OUTPUT_LINES) {
+        output.removeFirst();
+      }
+    }
+  }
+
+  /** Returns true if gcloud's {@code output} shows that it failed on a transient error. */
+  @VisibleForTesting
+  static boolean isRetryable(Collection<String> output) {
+    return output.stream().anyMatch(line -> RETRYABLE_OUTPUT.matcher(line).find());
+  }
+
+  private String describeAttempts() {
+    List<String> durations = new ArrayList<>();
+    for (AttemptRecord record : attempts) {
+      durations.add(format(record.getDuration()));
+    }
+    return "attempts took " + String.join(", ", durations);
+  }
+
+  private static String format(Duration duration) {
+    return duration.toMillis() < 10_000
+        ? duration.toMillis() + "ms"
+        : duration.getSeconds() + "s";
+  }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
+import com.google.cloud.tools.appengine.operations.Gcloud;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskDependency;
+
+/**
+ * Deploys the staged services of every App Engine project in a build, so a multi-service build
+ * doesn't deploy them one after the other. Services are deployed by a bounded pool of gcloud
+ * processes, or all in a single gcloud deployment when they share their deploy configuration. A
+ * dispatch.yaml is deployed last, once every service it routes to exists.
+ */
+public class DeployServicesTask extends DefaultTask {
+
+  private Supplier<List<DeployTask>> services = Collections::emptyList;
+  private int parallelism = 4;
+  private boolean singleDeployment;
+
+  /**
+   * Sets the tasks of the services to deploy, they are only looked up once the task graph is built.
+   * This task depends on whatever they depend on.
+   */
+  public void setServices(Supplier<List<DeployTask>> services) {
+    // looked up once, when the task graph is built, and not again when this task runs
+    this.services = Suppliers.memoize(services::get);
+    dependsOn(
+        (Callable<List<TaskDependency>>)
+            () ->
+                this.services
+                    .get()
+                    .stream()
+                    .map(DeployTask::getTaskDependencies)
+                    .collect(Collectors.toList()));
+  }
+
+  /** The most services deployed at the same time. Defaults to 4. */
+  @Input
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new GradleException("parallelism must be at least 1, but was " + parallelism);
+    }
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Deploy all services with a single gcloud invocation, this requires them to share their deploy
+   * configuration. Defaults to false.
+   */
+  @Input
+  public boolean getSingleDeployment() {
+    return singleDeployment;
+  }
+
+  public void setSingleDeployment(boolean singleDeployment) {
+    this.singleDeployment = singleDeployment;
+  }
+
+  /** Task entrypoint : Deploy all services, then dispatch.yaml. */
+  @TaskAction
+  public void deployServicesAction() throws AppEngineException, IOException, InterruptedException {
+    List<DeployTask> deployTasks = services.get();
+    if (deployTasks.isEmpty()) {
+      getLogger().lifecycle("No App Engine services to deploy.");
+      return;
+    }
+
+    boolean deployed = singleDeployment ? deployAll(deployTasks) : deployInParallel(deployTasks);
+    deployDispatch(deployTasks, deployed);
+  }
+
+  /** Returns false if the deployment was only submitted, see {@link DeployExtension#getAsync}. */
+  private boolean deployAll(List<DeployTask> deployTasks) throws AppEngineException, IOException {
+    // CONTENT_HASH names the version after the content of every service
+    Supplier<String> contentVersion =
+        Suppliers.memoize(
+            () ->
+                DeployFingerprint.getContentVersion(
+                    deployTasks
+                        .stream()
+                        .map(DeployTask::getFingerprint)
+                        .collect(Collectors.toList())));
+    DeployTask first = deployTasks.get(0);
+    DeployConfiguration firstConfig = toDeployConfiguration(first, contentVersion);
+    List<Path> deployables = new ArrayList<>();
+    for (DeployTask deployTask : deployTasks) {
+      if (!isSameTarget(firstConfig, toDeployConfiguration(deployTask, contentVersion))) {
+        throw new GradleException(
+            "A single deployment requires services to share their deploy configuration, but "
+                + deployTask.getPath()
+                + " differs from "
+                + first.getPath());
+      }
+      deployables.add(deployTask.getAppYamlPath());
+    }
+
+    getLogger().lifecycle("Deploying " + deployables.size() + " services in a single deployment");
+    return newDeployer(first, "")
+        .deploy(first.getDeployConfig().toDeployConfiguration(deployables, contentVersion));
+  }
+
+  private static DeployConfiguration toDeployConfiguration(
+      DeployTask deployTask, Supplier<String> contentVersion) {
+    return deployTask
+        .getDeployConfig()
+        .toDeployConfiguration(ImmutableList.of(deployTask.getAppYamlPath()), contentVersion);
+  }
+
+  /** Returns false if a deployment was only submitted, see {@link DeployExtension#getAsync}. */
+  private boolean deployInParallel(List<DeployTask> deployTasks) throws InterruptedException {
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Math.min(parallelism, deployTasks.size()));
+    try {
+      Map<String, Future<Boolean>> deployments = new LinkedHashMap<>();
+      for (DeployTask deployTask : deployTasks) {
+        // configuration is resolved on this thread, the pool only runs gcloud
+        DeployConfiguration deployConfig = deployTask.toDeployConfiguration();
+        DeployFingerprint fingerprint = deployTask.getFingerprint();
+        if (deployTask.getDeployConfig().getSkipUnchanged()
+            && fingerprint.isDeployed(deployConfig)) {
+          getLogger()
+              .lifecycle(
+                  "Skipping "
+                      + deployTask.getPath()
+                      + ", the same content was already deployed to version "
+                      + deployConfig.getVersion());
+          continue;
+        }
+        Deployer deployer = newDeployer(deployTask, "[" + deployTask.getPath() + "] ");
+        deployments.put(
+            deployTask.getPath(),
+            executor.submit(
+                () -> {
+                  if (!deployer.deploy(deployConfig)) {
+                    return false;
+                  }
+                  fingerprint.recordDeployed(deployConfig);
+                  return true;
+                }));
+      }
+
+      boolean deployed = true;
+      List<String> failed = new ArrayList<>();
+      for (Map.Entry<String, Future<Boolean>> deployment : deployments.entrySet()) {
+        try {
+          deployed &= deployment.getValue().get();
+        } catch (ExecutionException ex) {
+          getLogger().error(deployment.getKey() + " failed: " + ex.getCause().getMessage());
+          failed.add(deployment.getKey());
+        }
+      }
+      if (!failed.isEmpty()) {
+        throw new GradleException("Failed to deploy " + failed);
+      }
+      return deployed;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the deployer of {@code deployTask}'s service, with the retry policy and async setting
+   * of its project. It is resolved on the calling thread, so a pool only runs gcloud.
+   */
+  private Deployer newDeployer(DeployTask deployTask, String outputPrefix) {
+    DeployExtension deployExtension = deployTask.getDeployConfig();
+    DeployRetrier retrier = deployExtension.newRetrier(getLogger());
+    retrier.setOutputPrefix(outputPrefix);
+    if (deployExtension.getAsync()) {
+      AsyncDeployment asyncDeployment =
+          new AsyncDeployment(
+              deployTask.getAsyncGcloud(), deployExtension.getDeployOperations(), getLogger());
+      return deployConfig -> {
+        asyncDeployment.deploy(retrier, deployConfig);
+        return false;
+      };
+    }
+    Gcloud gcloud = deployTask.getGcloud();
+    return deployConfig -> {
+      retrier.deploy(handler -> gcloud.newDeployment(handler).deploy(deployConfig));
+      return true;
+    };
+  }
+
+  /** Deploys a configuration, like {@link DeployTask} does. */
+  private interface Deployer {
+
+    /** Returns true once deployed, or false if the deployment was only submitted. */
+    boolean deploy(DeployConfiguration deployConfig) throws AppEngineException, IOException;
+  }
+
+  private void deployDispatch(List<DeployTask> deployTasks, boolean deployed)
+      throws AppEngineException {
+    List<DeployTask> dispatchTasks = new ArrayList<>();
+    for (DeployTask deployTask : deployTasks) {
+      File appEngineDirectory = deployTask.getDeployConfig().getAppEngineDirectory();
+      if (appEngineDirectory != null
+          && Files.isRegularFile(appEngineDirectory.toPath().resolve("dispatch.yaml"))) {
+        dispatchTasks.add(deployTask);
+      }
+    }
+    if (dispatchTasks.isEmpty()) {
+      return;
+    }
+    if (dispatchTasks.size() > 1) {
+      throw new GradleException(
+          "dispatch.yaml is defined by more than one service: "
+              + dispatchTasks.stream().map(DeployTask::getPath).collect(Collectors.toList()));
+    }
+
+    DeployTask dispatchTask = dispatchTasks.get(0);
+    if (!deployed) {
+      // the services it routes to may not exist until their deployments are done
+      getLogger()
+          .warn(
+              "dispatch.yaml of "
+                  + dispatchTask.getPath()
+                  + " is not deployed while services are deployed asynchronously, deploy it with "
+                  + dispatchTask.getDeployDispatchTaskPath()
+                  + " after appengineDeployWait");
+      return;
+    }
+    getLogger().lifecycle("Deploying dispatch.yaml of " + dispatchTask.getPath());
+    dispatchTask
+        .getGcloud()
+        .newDeployment(CloudSdkOperations.getDefaultHandler(getLogger()))
+        .deployDispatch(dispatchTask.getDeployConfig().toDeployProjectConfigurationConfiguration());
+  }
+
+  private static boolean isSameTarget(DeployConfiguration a, DeployConfiguration b) {
+    return Objects.equals(a.getProjectId(), b.getProjectId())
+        && Objects.equals(a.getVersion(), b.getVersion())
+        && Objects.equals(a.getBucket(), b.getBucket())
+        && Objects.equals(a.getGcloudMode(), b.getGcloudMode())
+        && Objects.equals(a.getImageUrl(), b.getImageUrl())
+        && Objects.equals(a.getPromote(), b.getPromote())
+        && Objects.equals(a.getServer(), b.getServer())
+        && Objects.equals(a.getStopPreviousVersion(), b.getStopPreviousVersion());
+  }
+}
@@ -21,12 +21,14 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkOutOfDateExc
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
 import java.io.IOException;
+import java.util.function.Supplier;
 import org.gradle.api.GradleException;
 
 /** Used for processing user configured project/version when generating config objects. */
 public class DeployTargetResolver {
   static final String GCLOUD_CONFIG = "GCLOUD_CONFIG";
   static final String APPENGINE_CONFIG = "APPENGINE_CONFIG";
+  static final String CONTENT_HASH = "CONTENT_HASH";
 
   static final String PROJECT_ERROR =
       "Deployment projectId must be defined or configured to read from system state\n"
@@ -44,14 +46,30 @@ public class DeployTargetResolver {
           + "2. Set appengine.deploy.version = '"
           + GCLOUD_CONFIG
           + "' to have gcloud generate a version for you.\n"
-          + "3. Using appengine.deploy.version = '"
+          + "3. Set appengine.deploy.version = '"
+          + CONTENT_HASH
+          + "' to name the version after the staged content.\n"
+          + "4. Using appengine.deploy.version = '"
           + APPENGINE_CONFIG
           + "' has been deprecated";
 
-  private final CloudSdkOperations cloudSdkOperations;
+  private final Supplier<CloudSdkOperations> cloudSdkOperations;
+  private final GcloudConfig gcloudConfig;
 
   public DeployTargetResolver(CloudSdkOperations cloudSdkOperations) {
+    this(() -> cloudSdkOperations);
+  }
+
+  /** Resolver that only obtains the Cloud SDK when gcloud config must be read. */
+  public DeployTargetResolver(Supplier<CloudSdkOperations> cloudSdkOperations) {
+    this(cloudSdkOperations, new GcloudConfig());
+  }
+
+  /** Resolver that reads gcloud config through {@code gcloudConfig}, usually the build's. */
+  public DeployTargetResolver(
+      Supplier<CloudSdkOperations> cloudSdkOperations, GcloudConfig gcloudConfig) {
     this.cloudSdkOperations = cloudSdkOperations;
+    this.gcloudConfig = gcloudConfig;
   }
 
   /**
@@ -66,7 +84,7 @@ public class DeployTargetResolver {
     }
     if (configString.equals(GCLOUD_CONFIG)) {
       try {
-        String gcloudProject = cloudSdkOperations.getGcloud().getConfig().getProject();
+        String gcloudProject = gcloudConfig.getProject(cloudSdkOperations);
         if (gcloudProject == null || gcloudProject.trim().isEmpty()) {
           throw new GradleException("Project was not found in gcloud config");
         }
@@ -19,35 +19,93 @@ package com.google.cloud.tools.gradle.appengine.core;
 
 import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
-import com.google.cloud.tools.appengine.operations.Gcloud;
 import com.google.common.collect.ImmutableList;
+import java.io.IOException;
 import java.nio.file.Path;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 
 /** Task to deploy App Engine applications. */
-public class DeployTask extends GcloudTask {
+public class DeployTask extends GcloudTask implements CloudSdkTask {
 
   private DeployExtension deployExtension;
-  private Path appYaml;
-  private Gcloud gcloud;
+  private final RegularFileProperty appYaml = getProject().getLayout().fileProperty();
+  private DeployFingerprint fingerprint;
+  private String deployDispatchTaskPath;
 
   public void setDeployConfig(DeployExtension deployExtension) {
     this.deployExtension = deployExtension;
   }
 
+  void setDeployDispatchTaskPath(String deployDispatchTaskPath) {
+    this.deployDispatchTaskPath = deployDispatchTaskPath;
+  }
+
+  /** The path of the task that deploys this project's dispatch.yaml on its own. */
+  @Internal
+  String getDeployDispatchTaskPath() {
+    return deployDispatchTaskPath;
+  }
+
   public void setAppYaml(Path appYaml) {
-    this.appYaml = appYaml;
+    this.appYaml.set(appYaml.toFile());
   }
 
-  public void setGcloud(Gcloud gcloud) {
-    this.gcloud = gcloud;
+  public void setAppYaml(Provider<RegularFile> appYaml) {
+    this.appYaml.set(appYaml);
+  }
+
+  @Internal
+  DeployExtension getDeployConfig() {
+    return deployExtension;
+  }
+
+  @Internal
+  Path getAppYamlPath() {
+    return appYaml.getAsFile().get().toPath();
+  }
+
+  @Internal
+  synchronized DeployFingerprint getFingerprint() {
+    if (fingerprint == null) {
+      fingerprint =
+          new DeployFingerprint(
+              getAppYamlPath().getParent(),
+              deployExtension.getFingerprintDirectory().toPath(),
+              deployExtension.getManifestDirectory().toPath());
+    }
+    return fingerprint;
+  }
+
+  DeployConfiguration toDeployConfiguration() {
+    return deployExtension.toDeployConfiguration(
+        ImmutableList.of(getAppYamlPath()), getFingerprint()::getContentVersion);
   }
 
   /** Task Entrypoint : DeployExtension application (via app.yaml). */
   @TaskAction
-  public void deployAction() throws AppEngineException {
-    DeployConfiguration deployConfig =
-        deployExtension.toDeployConfiguration(ImmutableList.of(appYaml));
-    gcloud.newDeployment(CloudSdkOperations.getDefaultHandler(getLogger())).deploy(deployConfig);
+  public void deployAction() throws AppEngineException, IOException {
+    DeployConfiguration deployConfig = toDeployConfiguration();
+    if (deployExtension.getSkipUnchanged() && getFingerprint().isDeployed(deployConfig)) {
+      getLogger()
+          .lifecycle(
+              "Skipping deployment, the same content was already deployed to version "
+                  + deployConfig.getVersion());
+      setDidWork(false);
+      return;
+    }
+
+    DeployRetrier retrier = deployExtension.newRetrier(getLogger());
+    if (deployExtension.getAsync()) {
+      // not recorded, the deployment can still fail
+      new AsyncDeployment(getAsyncGcloud(), deployExtension.getDeployOperations(), getLogger())
+          .deploy(retrier, deployConfig);
+      return;
+    }
+    retrier.deploy(handler -> getGcloud().newDeployment(handler).deploy(deployConfig));
+    getFingerprint().recordDeployed(deployConfig);
   }
 }
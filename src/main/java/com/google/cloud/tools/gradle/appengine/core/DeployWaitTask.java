@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.LegacyProcessHandler;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Waits for the asynchronous deployments of every App Engine project in a build, so services can be
+ * deployed back to back and their rollouts waited for together. Every outstanding operation is
+ * waited for by its own gcloud process, run by a bounded pool.
+ */
+public class DeployWaitTask extends DefaultTask {
+
+  private Supplier<List<DeployTask>> deployTasks = Collections::emptyList;
+  private int parallelism = 4;
+
+  /**
+   * Sets the deploy tasks of the projects whose deployments are waited for, they are only looked up
+   * when this task runs.
+   */
+  public void setDeployTasks(Supplier<List<DeployTask>> deployTasks) {
+    this.deployTasks = deployTasks;
+  }
+
+  /** The most operations waited for at the same time. Defaults to 4. */
+  @Input
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  public void setParallelism(int parallelism) {
+    if (parallelism < 1) {
+      throw new GradleException("parallelism must be at least 1, but was " + parallelism);
+    }
+    this.parallelism = parallelism;
+  }
+
+  /** Task entrypoint : Wait for all outstanding deployments. */
+  @TaskAction
+  public void waitAction() throws IOException, InterruptedException {
+    Map<String, DeployOperations> pending = new LinkedHashMap<>();
+    Map<String, DeployTask> owners = new LinkedHashMap<>();
+    for (DeployTask deployTask : deployTasks.get()) {
+      DeployOperations deployOperations = deployTask.getDeployConfig().getDeployOperations();
+      for (String operation : deployOperations.getPending()) {
+        pending.put(operation, deployOperations);
+        owners.put(operation, deployTask);
+      }
+    }
+    if (pending.isEmpty()) {
+      getLogger().lifecycle("No App Engine deployments to wait for.");
+      return;
+    }
+
+    getLogger().lifecycle("Waiting for " + pending.size() + " App Engine deployments");
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Math.min(parallelism, pending.size()));
+    try {
+      Map<String, Future<Integer>> waits = new LinkedHashMap<>();
+      for (String operation : pending.keySet()) {
+        // the launcher is resolved on this thread, the pool only runs gcloud
+        GcloudLauncher gcloudLauncher = owners.get(operation).getGcloudLauncher();
+        waits.put(operation, executor.submit(() -> waitFor(gcloudLauncher, operation)));
+      }
+
+      List<String> failed = new ArrayList<>();
+      List<String> unknown = new ArrayList<>();
+      for (Map.Entry<String, Future<Integer>> wait : waits.entrySet()) {
+        String operation = wait.getKey();
+        try {
+          int exitCode = wait.getValue().get();
+          if (exitCode != 0) {
+            getLogger().error(operation + " failed with exit code " + exitCode);
+            failed.add(operation);
+          }
+        } catch (ExecutionException ex) {
+          getLogger()
+              .error(
+                  "Failed to wait for "
+                      + operation
+                      + ", it is no longer tracked, check it with gcloud app operations describe: "
+                      + ex.getCause().getMessage());
+          unknown.add(operation);
+        }
+        // every operation is forgotten, so one that can't be waited for isn't tried again forever
+        pending.get(operation).remove(operation);
+      }
+      List<String> errors = new ArrayList<>();
+      if (!failed.isEmpty()) {
+        errors.add("Failed to deploy " + failed);
+      }
+      if (!unknown.isEmpty()) {
+        errors.add("Failed to wait for " + unknown);
+      }
+      if (!errors.isEmpty()) {
+        throw new GradleException(String.join(", ", errors));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private int waitFor(GcloudLauncher gcloudLauncher, String operation) throws Exception {
+    String prefix = "[" + DeployOperations.getId(operation) + "] ";
+    AtomicInteger exitCode = new AtomicInteger();
+    ProcessHandler processHandler =
+        LegacyProcessHandler.builder()
+            .addStdErrLineListener(line -> getLogger().lifecycle(prefix + line))
+            .addStdOutLineListener(line -> getLogger().lifecycle(prefix + line))
+            .setExitListener(exitCode::set)
+            .build();
+    processHandler.handleProcess(
+        gcloudLauncher.launch(
+            Arrays.asList(
+                "app",
+                "operations",
+                "wait",
+                DeployOperations.getId(operation),
+                "--project=" + DeployOperations.getProject(operation),
+                "--quiet")));
+    return exitCode.get();
+  }
+}
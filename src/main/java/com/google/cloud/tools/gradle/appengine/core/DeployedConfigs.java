@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Digests of the configuration files (cron.yaml, queue.yaml, etc) last deployed to each project,
+ * so a configuration file that did not change since it was deployed is not deployed again.
+ */
+class DeployedConfigs {
+
+  private final Path directory;
+
+  DeployedConfigs(Path directory) {
+    this.directory = directory;
+  }
+
+  /** Returns the file holding the digest of a configuration file deployed to {@code projectId}. */
+  Path getDigestFile(String projectId, String configFileName) {
+    return directory.resolve(projectId).resolve(configFileName + ".sha256");
+  }
+
+  /** Returns true if {@code configFile} was last deployed to {@code projectId} as it is now. */
+  boolean isDeployed(String projectId, Path configFile) {
+    Path digestFile = getDigestFile(projectId, configFile.getFileName().toString());
+    if (!Files.isRegularFile(digestFile) || !Files.isRegularFile(configFile)) {
+      return false;
+    }
+    try {
+      String deployed = new String(Files.readAllBytes(digestFile), StandardCharsets.UTF_8).trim();
+      return deployed.equals(digest(configFile));
+    } catch (IOException ex) {
+      // an unreadable digest only means we deploy again
+      return false;
+    }
+  }
+
+  /** Records that {@code configFile} was deployed to {@code projectId}. */
+  void recordDeployed(String projectId, Path configFile) throws IOException {
+    Path digestFile = getDigestFile(projectId, configFile.getFileName().toString());
+    Files.createDirectories(digestFile.getParent());
+    Files.write(digestFile, digest(configFile).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the file naming the project {@code configFileName} was last deployed to by its task,
+   * the task's output, which doesn't need the project resolved.
+   */
+  Path getRecordFile(String configFileName) {
+    return directory.resolve(configFileName + ".deployed");
+  }
+
+  /** Records that the task deploying {@code configFileName} deployed it to {@code projectId}. */
+  void recordTask(String projectId, String configFileName) throws IOException {
+    Path recordFile = getRecordFile(configFileName);
+    Files.createDirectories(recordFile.getParent());
+    Files.write(recordFile, projectId.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static String digest(Path file) throws IOException {
+    return com.google.common.io.Files.asByteSource(file.toFile()).hash(Hashing.sha256()).toString();
+  }
+}
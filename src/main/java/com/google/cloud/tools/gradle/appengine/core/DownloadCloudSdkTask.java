@@ -23,6 +23,7 @@ import com.google.cloud.tools.managedcloudsdk.ManagedSdkVerificationException;
 import com.google.cloud.tools.managedcloudsdk.ManagedSdkVersionMismatchException;
 import com.google.cloud.tools.managedcloudsdk.ProgressListener;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandRunner;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import com.google.cloud.tools.managedcloudsdk.components.SdkUpdater;
@@ -30,23 +31,105 @@ import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.GradleException;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.TaskAction;
 
 public class DownloadCloudSdkTask extends DefaultTask {
 
   private ManagedCloudSdk managedCloudSdk;
+  private SharedCloudSdk sharedCloudSdk;
+  private Duration latestCheckInterval;
+  private CloudSdkMirror mirror;
+  private CloudSdkArchive archive;
+  private boolean precompilePython = true;
+  private CommandRunner commandRunner = CommandRunner.newRunner();
   private final List<SdkComponent> components = new ArrayList<>();
+  private final CloudSdkProvisioningMetrics metrics = new CloudSdkProvisioningMetrics();
+  private final RegularFileProperty metricsFile = getProject().getLayout().fileProperty();
+  private ProgressListener progressListener;
+
+  /** Constructor. */
+  public DownloadCloudSdkTask() {
+    metricsFile.set(
+        getProject()
+            .getLayout()
+            .getBuildDirectory()
+            .file("reports/" + getName() + "/metrics.properties"));
+  }
 
   public void setManagedCloudSdk(ManagedCloudSdk managedCloudSdk) {
     this.managedCloudSdk = managedCloudSdk;
   }
 
+  public void setSharedCloudSdk(SharedCloudSdk sharedCloudSdk) {
+    this.sharedCloudSdk = sharedCloudSdk;
+  }
+
+  /**
+   * Only check for updates if the last check was longer than {@code latestCheckInterval} ago. This
+   * is only meaningful for a managed Cloud SDK tracking LATEST, null checks on every run.
+   */
+  public void setLatestCheckInterval(Duration latestCheckInterval) {
+    this.latestCheckInterval = latestCheckInterval;
+  }
+
+  /** Install the Cloud SDK, and components if it has a snapshot, from a local mirror. */
+  public void setMirror(CloudSdkMirror mirror) {
+    this.mirror = mirror;
+  }
+
+  /** Unpack the Cloud SDK from a packed archive when it holds the required version. */
+  public void setArchive(CloudSdkArchive archive) {
+    this.archive = archive;
+  }
+
+  /**
+   * Byte-compile the Cloud SDK's Python sources whenever it is installed or changed, so gcloud
+   * doesn't compile them on every invocation. Defaults to true.
+   */
+  public void setPrecompilePython(boolean precompilePython) {
+    this.precompilePython = precompilePython;
+  }
+
+  @Internal
+  public boolean getPrecompilePython() {
+    return precompilePython;
+  }
+
+  @VisibleForTesting
+  void setCommandRunner(CommandRunner commandRunner) {
+    this.commandRunner = commandRunner;
+  }
+
+  @VisibleForTesting
+  void setProgressListener(ProgressListener progressListener) {
+    this.progressListener = progressListener;
+  }
+
+  /** Time and bytes spent provisioning the Cloud SDK, once this task has run. */
+  @Internal
+  public CloudSdkProvisioningMetrics getMetrics() {
+    return metrics;
+  }
+
+  /** The file the provisioning metrics are written to, as java properties. */
+  @Internal
+  public RegularFileProperty getMetricsFile() {
+    return metricsFile;
+  }
+
   public void requiresComponent(SdkComponent component) {
     components.add(component);
   }
@@ -68,30 +151,192 @@ public class DownloadCloudSdkTask extends DefaultTask {
       throw new GradleException("Cloud SDK home path must not be configured to run this task.");
     }
 
-    ProgressListener progressListener = new NoOpProgressListener();
-    ConsoleListener consoleListener = new DownloadCloudSdkTaskConsoleListener(getProject());
+    if (sharedCloudSdk == null) {
+      provisionCloudSdk();
+    } else {
+      // the same managed sdk is shared by all projects in the build, only provision it once
+      synchronized (sharedCloudSdk) {
+        if (sharedCloudSdk.isProvisioned(managedCloudSdk, components)) {
+          getLogger().info("Cloud SDK was already provisioned in this build.");
+        } else {
+          provisionCloudSdk();
+          sharedCloudSdk.setProvisioned(managedCloudSdk, components);
+        }
+      }
+    }
+
+    // cleanCloudSdkCache removes the versions that builds haven't used for the longest time
+    Path sdkHome = managedCloudSdk.getSdkHome();
+    ManagedCloudSdkStore.forSdkHome(sdkHome).recordUse(ManagedCloudSdkStore.versionOf(sdkHome));
+  }
+
+  private void provisionCloudSdk()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException,
+          CommandExitException, IOException {
+    // other builds on this machine may be provisioning the same sdk, wait for them to finish and
+    // then only do the work they left undone
+    Path lockFile = CloudSdkProvisioningLock.forSdkHome(managedCloudSdk.getSdkHome());
+    try (CloudSdkProvisioningLock ignored =
+        CloudSdkProvisioningLock.acquire(lockFile, getLogger())) {
+      provisionCloudSdkLocked();
+    }
+    metrics.write(metricsFile.getAsFile().get());
+    getLogger()
+        .info(
+            "Cloud SDK provisioning took "
+                + metrics.getTotalMillis()
+                + "ms and downloaded "
+                + metrics.getDownloadedBytes()
+                + " bytes");
+  }
+
+  private void provisionCloudSdkLocked()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException,
+          CommandExitException, IOException {
+    ProgressListener progressListener =
+        this.progressListener != null
+            ? this.progressListener
+            : new GradleProgressListener(getLogger(), metrics);
+    ConsoleListener consoleListener = new DownloadCloudSdkTaskConsoleListener(getLogger());
+
+    Path sdkHome = managedCloudSdk.getSdkHome();
+    boolean sdkChanged = false;
 
     // Install sdk if not installed
     if (!managedCloudSdk.isInstalled()) {
-      SdkInstaller installer = managedCloudSdk.newInstaller();
-      installer.install(progressListener, consoleListener);
+      long start = System.nanoTime();
+      if (archive != null && archive.matches(sdkHome, components)) {
+        getLogger().lifecycle("Unpacking Cloud SDK from " + archive.getArchive());
+        archive.unpack(sdkHome);
+      } else if (mirror != null) {
+        mirror.install(sdkHome);
+      } else {
+        SdkInstaller installer = managedCloudSdk.newInstaller();
+        installer.install(progressListener, consoleListener);
+      }
+      logPhase("install", "install", start);
+      sdkChanged = true;
     }
 
-    // install components
-    if (components != null) {
-      for (SdkComponent component : components) {
-        if (!managedCloudSdk.hasComponent(component)) {
-          managedCloudSdk
-              .newComponentInstaller()
-              .installComponent(component, progressListener, consoleListener);
-        }
+    // resolve all missing components before installing any of them
+    List<SdkComponent> missingComponents = new ArrayList<>();
+    for (SdkComponent component : components) {
+      if (!managedCloudSdk.hasComponent(component)) {
+        missingComponents.add(component);
+      }
+    }
+    if (!missingComponents.isEmpty()) {
+      long start = System.nanoTime();
+      installComponents(missingComponents, progressListener, consoleListener);
+      logPhase("components", "component installation " + missingComponents, start);
+      sdkChanged = true;
+    }
+
+    if (updateCloudSdk(progressListener, consoleListener)) {
+      sdkChanged = true;
+    }
+
+    // a changed sdk has sources without bytecode, compile them once instead of in every gcloud run
+    if (sdkChanged && precompilePython) {
+      long start = System.nanoTime();
+      try {
+        new CloudSdkPythonCompiler(sdkHome, commandRunner).precompile(consoleListener);
+      } catch (CommandExitException | CommandExecutionException ex) {
+        // gcloud still works, it only starts slower
+        getLogger().warn("Failed to precompile the Cloud SDK's Python sources: " + ex.getMessage());
       }
+      logPhase("precompile", "Python precompilation", start);
+    }
+  }
+
+  // returns true if the sdk was updated
+  private boolean updateCloudSdk(ProgressListener progressListener, ConsoleListener consoleListener)
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, CommandExitException, IOException {
+    // the mirror decides which version is installed, there is nothing to update from
+    if (mirror != null) {
+      return false;
     }
 
     // If version is set to LATEST, update Cloud SDK
+    LatestCheckStamp latestCheckStamp =
+        latestCheckInterval == null
+            ? null
+            : LatestCheckStamp.forSdkHome(managedCloudSdk.getSdkHome());
+    if (latestCheckStamp != null && latestCheckStamp.isFresh(latestCheckInterval)) {
+      getLogger()
+          .info("Cloud SDK was checked for updates less than " + latestCheckInterval + " ago.");
+      return false;
+    }
+    long start = System.nanoTime();
+    boolean updated = false;
     if (!managedCloudSdk.isUpToDate()) {
       SdkUpdater updater = managedCloudSdk.newUpdater();
       updater.update(progressListener, consoleListener);
+      updated = true;
+    }
+    logPhase("updateCheck", "update check", start);
+    if (latestCheckStamp != null) {
+      latestCheckStamp.update();
+    }
+    return updated;
+  }
+
+  private void installComponents(
+      List<SdkComponent> missingComponents,
+      ProgressListener progressListener,
+      ConsoleListener consoleListener)
+      throws InterruptedException, CommandExitException, CommandExecutionException {
+    File componentsSnapshot = mirror == null ? null : mirror.getComponentsSnapshot();
+    if (componentsSnapshot != null) {
+      // gcloud installs components from the snapshot instead of google's servers
+      runComponentsInstall(
+          missingComponents,
+          ImmutableMap.of(
+              "CLOUDSDK_COMPONENT_MANAGER_SNAPSHOT_URL", componentsSnapshot.toURI().toString()),
+          consoleListener);
+      return;
+    }
+    // the sdk's component installer copies gcloud's bundled python on windows so gcloud can
+    // replace its own files, only that installer is safe to use there
+    boolean batchComponentInstall =
+        sharedCloudSdk != null && sharedCloudSdk.isBatchComponentInstall();
+    if (batchComponentInstall && missingComponents.size() > 1 && !isWindows()) {
+      runComponentsInstall(missingComponents, null, consoleListener);
+      return;
     }
+    for (SdkComponent component : missingComponents) {
+      managedCloudSdk
+          .newComponentInstaller()
+          .installComponent(component, progressListener, consoleListener);
+    }
+  }
+
+  private void runComponentsInstall(
+      List<SdkComponent> missingComponents,
+      Map<String, String> environment,
+      ConsoleListener consoleListener)
+      throws InterruptedException, CommandExitException, CommandExecutionException {
+    List<String> command = new ArrayList<>();
+    command.add(managedCloudSdk.getGcloudPath().toString());
+    command.add("components");
+    command.add("install");
+    for (SdkComponent component : missingComponents) {
+      command.add(component.toString());
+    }
+    command.add("--quiet");
+    commandRunner.run(command, null, environment, consoleListener);
+  }
+
+  private void logPhase(String phase, String description, long startNanos) {
+    long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    metrics.addPhase(phase, millis);
+    getLogger().info("Cloud SDK " + description + " took " + millis + "ms");
+  }
+
+  private static boolean isWindows() {
+    return System.getProperty("os.name").toLowerCase().startsWith("windows");
   }
 }
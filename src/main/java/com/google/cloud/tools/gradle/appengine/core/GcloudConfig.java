@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkOutOfDateException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Reads properties of the active gcloud configuration. The configuration files are read directly,
+ * and only when they don't set a property is gcloud run to resolve it, as the installation's own
+ * properties may. Values are remembered, one instance is shared by all projects in a build through
+ * {@link SharedCloudSdk}.
+ */
+public class GcloudConfig {
+
+  private final Map<String, String> environment;
+  private final Path userHome;
+  private final boolean windows;
+
+  private boolean projectRead;
+  private String project;
+  private final Map<CloudSdkOperations, String> gcloudProjects = new HashMap<>();
+
+  public GcloudConfig() {
+    this(
+        System.getenv(),
+        Paths.get(System.getProperty("user.home")),
+        System.getProperty("os.name").toLowerCase().startsWith("windows"));
+  }
+
+  @VisibleForTesting
+  GcloudConfig(Map<String, String> environment, Path userHome, boolean windows) {
+    this.environment = environment;
+    this.userHome = userHome;
+    this.windows = windows;
+  }
+
+  /**
+   * Returns the project of the active gcloud configuration, using {@code cloudSdkOperations} to
+   * ask gcloud when the configuration files don't set one.
+   */
+  public synchronized String getProject(Supplier<CloudSdkOperations> cloudSdkOperations)
+      throws IOException, CloudSdkOutOfDateException, ProcessHandlerException,
+          CloudSdkNotFoundException, CloudSdkVersionFileException {
+    if (!projectRead) {
+      project = readProject();
+      projectRead = true;
+    }
+    if (project != null) {
+      return project;
+    }
+    CloudSdkOperations operations = cloudSdkOperations.get();
+    if (!gcloudProjects.containsKey(operations)) {
+      gcloudProjects.put(operations, operations.getGcloud().getConfig().getProject());
+    }
+    return gcloudProjects.get(operations);
+  }
+
+  /** Returns the project set by the environment or the active configuration file, or null. */
+  @VisibleForTesting
+  String readProject() throws IOException {
+    String environmentProject = environment.get("CLOUDSDK_CORE_PROJECT");
+    if (!Strings.isNullOrEmpty(environmentProject)) {
+      return environmentProject;
+    }
+    Path configDirectory = getConfigDirectory();
+    if (configDirectory == null) {
+      return null;
+    }
+    Path configFile =
+        configDirectory.resolve("configurations/config_" + getActiveConfigName(configDirectory));
+    if (!Files.isRegularFile(configFile)) {
+      return null;
+    }
+    return Strings.emptyToNull(readProperty(configFile, "core", "project"));
+  }
+
+  private Path getConfigDirectory() {
+    String cloudSdkConfig = environment.get("CLOUDSDK_CONFIG");
+    if (!Strings.isNullOrEmpty(cloudSdkConfig)) {
+      return Paths.get(cloudSdkConfig);
+    }
+    if (windows) {
+      String appData = environment.get("APPDATA");
+      return Strings.isNullOrEmpty(appData) ? null : Paths.get(appData, "gcloud");
+    }
+    return userHome.resolve(".config/gcloud");
+  }
+
+  private String getActiveConfigName(Path configDirectory) throws IOException {
+    String activeConfigName = environment.get("CLOUDSDK_ACTIVE_CONFIG_NAME");
+    if (!Strings.isNullOrEmpty(activeConfigName)) {
+      return activeConfigName;
+    }
+    Path activeConfig = configDirectory.resolve("active_config");
+    if (Files.isRegularFile(activeConfig)) {
+      String name = new String(Files.readAllBytes(activeConfig), StandardCharsets.UTF_8).trim();
+      if (!name.isEmpty()) {
+        return name;
+      }
+    }
+    return "default";
+  }
+
+  // configurations are ini files, as read by python's configparser
+  private static String readProperty(Path configFile, String section, String key)
+      throws IOException {
+    String currentSection = null;
+    String value = null;
+    try (BufferedReader reader = Files.newBufferedReader(configFile, StandardCharsets.UTF_8)) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("#") || line.startsWith(";")) {
+          continue;
+        }
+        if (line.startsWith("[") && line.endsWith("]")) {
+          currentSection = line.substring(1, line.length() - 1).trim();
+          continue;
+        }
+        int separator = indexOfSeparator(line);
+        if (separator > 0
+            && section.equals(currentSection)
+            && key.equalsIgnoreCase(line.substring(0, separator).trim())) {
+          value = line.substring(separator + 1).trim();
+        }
+      }
+    }
+    return value;
+  }
+
+  private static int indexOfSeparator(String line) {
+    int equals = line.indexOf('=');
+    int colon = line.indexOf(':');
+    if (equals < 0 || colon < 0) {
+      return Math.max(equals, colon);
+    }
+    return Math.min(equals, colon);
+  }
+}
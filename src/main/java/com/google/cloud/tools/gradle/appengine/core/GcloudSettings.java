@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.operations.CloudSdk;
+import com.google.cloud.tools.appengine.operations.Gcloud;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The settings gcloud runs with, applied both to the {@link Gcloud} of the Cloud SDK library and to
+ * the commands {@link CloudSdkOperations#launch} starts. The library can't run commands it doesn't
+ * provide, so a launch copies the command and environment its GcloudRunner uses for the same
+ * settings, GcloudSettingsTest checks they still match.
+ */
+class GcloudSettings {
+
+  private final Path credentialFile;
+  private final String metricsEnvironment;
+  private final String metricsEnvironmentVersion;
+  private final String showStructuredLogs;
+
+  /**
+   * Constructor.
+   *
+   * @param credentialFile optional credential file to run gcloud with
+   * @param metricsEnvironment optional environment gcloud reports its metrics for
+   * @param metricsEnvironmentVersion optional version of the metrics environment
+   * @param showStructuredLogs optional value of gcloud's core/show_structured_logs
+   */
+  GcloudSettings(
+      Path credentialFile,
+      String metricsEnvironment,
+      String metricsEnvironmentVersion,
+      String showStructuredLogs) {
+    this.credentialFile = credentialFile;
+    this.metricsEnvironment = metricsEnvironment;
+    this.metricsEnvironmentVersion = metricsEnvironmentVersion;
+    this.showStructuredLogs = showStructuredLogs;
+  }
+
+  Gcloud newGcloud(CloudSdk cloudSdk) {
+    return newGcloud(cloudSdk, Collections.emptyList());
+  }
+
+  /** Returns a {@link Gcloud} that runs its commands with the flags in {@code flagsFiles}. */
+  Gcloud newGcloud(CloudSdk cloudSdk, List<Path> flagsFiles) {
+    return Gcloud.builder(cloudSdk)
+        .setCredentialFile(credentialFile)
+        .setFlagsFiles(flagsFiles)
+        .setMetricsEnvironment(metricsEnvironment, metricsEnvironmentVersion)
+        .setShowStructuredLogs(showStructuredLogs)
+        .build();
+  }
+
+  /** Returns the command that runs gcloud with {@code args}. */
+  List<String> getCommand(CloudSdk cloudSdk, List<String> args) {
+    List<String> command = new ArrayList<>();
+    command.add(cloudSdk.getGCloudPath().toAbsolutePath().toString());
+    command.addAll(args);
+    if (credentialFile != null) {
+      command.add("--credential-file-override");
+      command.add(credentialFile.toAbsolutePath().toString());
+    }
+    return command;
+  }
+
+  /** Returns the environment variables gcloud runs with on the {@code osName} system. */
+  Map<String, String> getEnvironment(String osName) {
+    Map<String, String> environment = new HashMap<>();
+    if (credentialFile != null) {
+      environment.put("CLOUDSDK_APP_USE_GSUTIL", "0");
+    }
+    if (metricsEnvironment != null) {
+      environment.put("CLOUDSDK_METRICS_ENVIRONMENT", metricsEnvironment);
+    }
+    if (metricsEnvironmentVersion != null) {
+      environment.put("CLOUDSDK_METRICS_ENVIRONMENT_VERSION", metricsEnvironmentVersion);
+    }
+    if (showStructuredLogs != null) {
+      environment.put("CLOUDSDK_CORE_SHOW_STRUCTURED_LOGS", showStructuredLogs);
+    }
+    if (osName.contains("Windows")) {
+      environment.put("CLOUDSDK_APP_NUM_FILE_UPLOAD_PROCESSES", "1");
+    }
+    environment.put("CLOUDSDK_CORE_DISABLE_PROMPTS", "1");
+    return environment;
+  }
+}
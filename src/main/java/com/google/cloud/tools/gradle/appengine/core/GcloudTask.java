@@ -18,8 +18,50 @@
 package com.google.cloud.tools.gradle.appengine.core;
 
 import com.google.cloud.tools.appengine.operations.Gcloud;
+import java.util.function.Supplier;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.tasks.Internal;
 
 public abstract class GcloudTask extends DefaultTask {
-  public abstract void setGcloud(Gcloud gcloud);
+
+  private Supplier<Gcloud> gcloud;
+  private Supplier<Gcloud> asyncGcloud;
+  private Supplier<GcloudLauncher> gcloudLauncher;
+
+  public void setGcloud(Gcloud gcloud) {
+    this.gcloud = () -> gcloud;
+  }
+
+  /** Set a gcloud supplier, it is only called when the task executes. */
+  public void setGcloud(Supplier<Gcloud> gcloud) {
+    this.gcloud = gcloud;
+  }
+
+  @Internal
+  protected Gcloud getGcloud() {
+    return gcloud.get();
+  }
+
+  /**
+   * Set the supplier of a gcloud whose deployments return once submitted, it is only called when
+   * the task executes.
+   */
+  public void setAsyncGcloud(Supplier<Gcloud> asyncGcloud) {
+    this.asyncGcloud = asyncGcloud;
+  }
+
+  @Internal
+  protected Gcloud getAsyncGcloud() {
+    return asyncGcloud.get();
+  }
+
+  /** Set a gcloud launcher supplier, it is only called when the task executes. */
+  public void setGcloudLauncher(Supplier<GcloudLauncher> gcloudLauncher) {
+    this.gcloudLauncher = gcloudLauncher;
+  }
+
+  @Internal
+  protected GcloudLauncher getGcloudLauncher() {
+    return gcloudLauncher.get();
+  }
 }
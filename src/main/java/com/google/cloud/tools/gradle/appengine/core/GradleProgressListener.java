@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.logging.Logger;
+
+/**
+ * Reports Cloud SDK provisioning through the task's logger. The provisioning steps and the
+ * progress of downloads, with the bytes done, the throughput and the time left, are logged at
+ * lifecycle level, every other step at info level. Downloaded bytes are added to the provisioning
+ * metrics.
+ */
+class GradleProgressListener implements ProgressListener {
+
+  // plugins-core names its download operations "Downloading <url>"
+  private static final String DOWNLOAD_PREFIX = "Downloading";
+  private static final long UNKNOWN = -1;
+  private static final long UPDATE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+  private final Logger logger;
+  private final boolean child;
+  private final CloudSdkProvisioningMetrics metrics;
+
+  private String message;
+  private boolean download;
+  private long totalWork;
+  private long workDone;
+  private long startNanos;
+  private long lastUpdateNanos;
+
+  GradleProgressListener(Logger logger, CloudSdkProvisioningMetrics metrics) {
+    this(logger, false, metrics);
+  }
+
+  private GradleProgressListener(
+      Logger logger, boolean child, CloudSdkProvisioningMetrics metrics) {
+    this.logger = logger;
+    this.child = child;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void start(String message, long totalWork) {
+    this.message = message;
+    this.download = message.startsWith(DOWNLOAD_PREFIX);
+    this.totalWork = totalWork;
+    workDone = 0;
+    startNanos = System.nanoTime();
+    lastUpdateNanos = startNanos;
+    log(message);
+  }
+
+  @Override
+  public void update(long workDone) {
+    this.workDone += workDone;
+    if (download) {
+      metrics.addDownloadedBytes(workDone);
+    }
+    long now = System.nanoTime();
+    if (message == null || now - lastUpdateNanos < UPDATE_INTERVAL_NANOS) {
+      return;
+    }
+    lastUpdateNanos = now;
+    log(message + ": " + formatStatus(this.workDone, totalWork, now - startNanos, download));
+  }
+
+  @Override
+  public void update(String message) {
+    logger.info(message);
+  }
+
+  @Override
+  public void done() {
+    if (message != null && download) {
+      log(
+          message
+              + ": done, "
+              + formatStatus(this.workDone, UNKNOWN, System.nanoTime() - startNanos, true));
+    }
+  }
+
+  @Override
+  public ProgressListener newChild(long allocation) {
+    return new GradleProgressListener(logger, true, metrics);
+  }
+
+  private void log(String status) {
+    if (download || !child) {
+      logger.lifecycle(status);
+    } else {
+      logger.info(status);
+    }
+  }
+
+  /** Formats like "1.2 MB/45.0 MB, 600.0 KB/s, 1m 13s left". */
+  static String formatStatus(long workDone, long totalWork, long elapsedNanos, boolean bytes) {
+    StringBuilder status = new StringBuilder(format(workDone, bytes));
+    if (totalWork != UNKNOWN) {
+      status.append("/").append(format(totalWork, bytes));
+    }
+    double seconds = elapsedNanos / 1e9;
+    if (seconds <= 0 || workDone <= 0) {
+      return status.toString();
+    }
+    double rate = workDone / seconds;
+    if (bytes) {
+      status.append(", ").append(format((long) rate, true)).append("/s");
+    }
+    if (totalWork != UNKNOWN && totalWork > workDone) {
+      long secondsLeft = (long) Math.ceil((totalWork - workDone) * seconds / workDone);
+      status.append(", ").append(formatDuration(secondsLeft)).append(" left");
+    }
+    return status.toString();
+  }
+
+  private static String format(long amount, boolean bytes) {
+    if (!bytes) {
+      return Long.toString(amount);
+    }
+    if (amount < 1024) {
+      return amount + " B";
+    }
+    double value = amount;
+    String[] units = {"KB", "MB", "GB"};
+    int unit = -1;
+    while (value >= 1024 && unit < units.length - 1) {
+      value /= 1024;
+      unit++;
+    }
+    return String.format(Locale.ROOT, "%.1f %s", value, units[unit]);
+  }
+
+  private static String formatDuration(long seconds) {
+    return seconds < 60 ? seconds + "s" : (seconds / 60) + "m " + (seconds % 60) + "s";
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import com.google.common.collect.ImmutableList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.gradle.api.GradleException;
+
+/**
+ * The set of plugin tasks a managed Cloud SDK is provisioned for, it decides which components are
+ * installed and validated on top of the Cloud SDK's default ones. Components are never removed,
+ * the managed Cloud SDK is shared by every build on the machine, so no profile installs less than
+ * the Cloud SDK's defaults.
+ */
+public enum InstallProfile {
+  /** The Cloud SDK's default components, and those staging and deploying require. */
+  FULL("full", false),
+  /** Running the local development server, as well as staging and deploying. */
+  LOCAL_RUN("local-run", true);
+
+  private final String name;
+  private final boolean runsDevServer;
+
+  InstallProfile(String name, boolean runsDevServer) {
+    this.name = name;
+    this.runsDevServer = runsDevServer;
+  }
+
+  /** Returns the profile called {@code name}, like "local-run". */
+  public static InstallProfile fromName(String name) {
+    for (InstallProfile profile : values()) {
+      if (profile.name.equals(name)) {
+        return profile;
+      }
+    }
+    throw new GradleException(
+        "Unknown installProfile '"
+            + name
+            + "', expected one of "
+            + Arrays.stream(values()).map(InstallProfile::toString).collect(Collectors.toList()));
+  }
+
+  /**
+   * Returns the components the profile's tasks need, {@code requiresAppEngineJava} is true when
+   * the project's staging uses the App Engine Java component.
+   */
+  public List<SdkComponent> getRequiredComponents(boolean requiresAppEngineJava) {
+    // the local development server is part of app-engine-java
+    if (requiresAppEngineJava || runsDevServer) {
+      return ImmutableList.of(SdkComponent.APP_ENGINE_JAVA);
+    }
+    return ImmutableList.of();
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
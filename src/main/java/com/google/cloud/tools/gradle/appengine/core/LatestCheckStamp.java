@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Records when a managed Cloud SDK tracking LATEST was last checked for updates. The stamp is kept
+ * next to the SDK so it outlives the build, and every build on the machine shares it.
+ */
+class LatestCheckStamp {
+
+  static final String STAMP_FILE_NAME = "latest-check.stamp";
+
+  private final Path stampFile;
+  private final Clock clock;
+
+  LatestCheckStamp(Path stampFile, Clock clock) {
+    this.stampFile = stampFile;
+    this.clock = clock;
+  }
+
+  /** Returns a stamp stored alongside {@code sdkHome}. */
+  static LatestCheckStamp forSdkHome(Path sdkHome) {
+    return new LatestCheckStamp(sdkHome.resolveSibling(STAMP_FILE_NAME), Clock.systemUTC());
+  }
+
+  /** Returns true if the last recorded check happened less than {@code interval} ago. */
+  boolean isFresh(Duration interval) {
+    Instant lastCheck = readLastCheck();
+    if (lastCheck == null) {
+      return false;
+    }
+    Instant now = clock.instant();
+    // a stamp from the future (clock changes) is not trusted
+    return !lastCheck.isAfter(now) && lastCheck.plus(interval).isAfter(now);
+  }
+
+  /** Records that a check happened now. */
+  void update() throws IOException {
+    Files.createDirectories(stampFile.getParent());
+    String millis = Long.toString(clock.instant().toEpochMilli());
+    Files.write(stampFile, millis.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private Instant readLastCheck() {
+    if (!Files.isRegularFile(stampFile)) {
+      return null;
+    }
+    try {
+      String millis = new String(Files.readAllBytes(stampFile), StandardCharsets.UTF_8).trim();
+      return Instant.ofEpochMilli(Long.parseLong(millis));
+    } catch (IOException | NumberFormatException ex) {
+      // an unreadable stamp only means we check again
+      return null;
+    }
+  }
+}
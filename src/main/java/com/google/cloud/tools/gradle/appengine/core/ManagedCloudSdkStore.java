@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.gradle.appengine.util.FileUtil;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.gradle.api.logging.Logger;
+
+/**
+ * The directory managed Cloud SDKs are installed in, one directory per version holding the {@code
+ * google-cloud-sdk} home. Every build records when it last used a version, so the least recently
+ * used versions can be removed when the store grows beyond its budget.
+ */
+public class ManagedCloudSdkStore {
+
+  static final String LAST_USED_FILE_NAME = "last-used.stamp";
+  private static final String SDK_DIRECTORY_NAME = "google-cloud-sdk";
+
+  private final Path storeDirectory;
+  private final Clock clock;
+
+  ManagedCloudSdkStore(Path storeDirectory, Clock clock) {
+    this.storeDirectory = storeDirectory;
+    this.clock = clock;
+  }
+
+  /** Returns the store holding the managed Cloud SDK at {@code sdkHome}. */
+  public static ManagedCloudSdkStore forSdkHome(Path sdkHome) {
+    return new ManagedCloudSdkStore(sdkHome.getParent().getParent(), Clock.systemUTC());
+  }
+
+  /** Returns the version directory name of the managed Cloud SDK at {@code sdkHome}. */
+  static String versionOf(Path sdkHome) {
+    return sdkHome.getParent().getFileName().toString();
+  }
+
+  /** Returns the home of the managed Cloud SDK {@code version} in this store. */
+  Path getSdkHome(String version) {
+    return storeDirectory.resolve(version).resolve(SDK_DIRECTORY_NAME);
+  }
+
+  /** Records that {@code version} was used now. */
+  public void recordUse(String version) throws IOException {
+    Path versionDirectory = storeDirectory.resolve(version);
+    Files.createDirectories(versionDirectory);
+    String millis = Long.toString(clock.instant().toEpochMilli());
+    Files.write(
+        versionDirectory.resolve(LAST_USED_FILE_NAME), millis.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** Returns the installed versions, least recently used first. */
+  public List<Entry> list() throws IOException {
+    List<Entry> entries = new ArrayList<>();
+    if (!Files.isDirectory(storeDirectory)) {
+      return entries;
+    }
+    try (DirectoryStream<Path> versions = Files.newDirectoryStream(storeDirectory)) {
+      for (Path versionDirectory : versions) {
+        Path sdkHome = versionDirectory.resolve(SDK_DIRECTORY_NAME);
+        if (Files.isDirectory(sdkHome)) {
+          entries.add(
+              new Entry(
+                  versionDirectory.getFileName().toString(),
+                  readLastUsed(versionDirectory),
+                  sizeOf(sdkHome)));
+        }
+      }
+    }
+    entries.sort(Comparator.comparing(Entry::getLastUsed));
+    return entries;
+  }
+
+  /**
+   * Removes least recently used versions until at most {@code maxVersions} versions using at most
+   * {@code maxBytes} remain. A null budget is not enforced, and {@code keepVersions} are never
+   * removed.
+   *
+   * @return the removed versions
+   */
+  public List<String> evict(
+      Integer maxVersions, Long maxBytes, Set<String> keepVersions, Logger logger)
+      throws IOException, InterruptedException {
+    List<Entry> entries = list();
+    long totalBytes = entries.stream().mapToLong(Entry::getSizeInBytes).sum();
+    int count = entries.size();
+
+    List<String> evicted = new ArrayList<>();
+    for (Entry entry : entries) {
+      boolean overCount = maxVersions != null && count > maxVersions;
+      boolean overSize = maxBytes != null && totalBytes > maxBytes;
+      if (!overCount && !overSize) {
+        break;
+      }
+      if (keepVersions.contains(entry.getVersion())) {
+        continue;
+      }
+      Path lockFile = CloudSdkProvisioningLock.forSdkHome(getSdkHome(entry.getVersion()));
+      // don't pull a version away from a build that is provisioning it right now, the lock file
+      // stays so a build waiting for it keeps locking the same file
+      try (CloudSdkProvisioningLock ignored = CloudSdkProvisioningLock.acquire(lockFile, logger)) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(lockFile.getParent())) {
+          for (Path file : files) {
+            if (!file.equals(lockFile)) {
+              FileUtil.deleteRecursively(file.toFile());
+            }
+          }
+        }
+      }
+      logger.lifecycle(
+          "Removed managed Cloud SDK "
+              + entry.getVersion()
+              + " ("
+              + entry.getSizeInBytes()
+              + " bytes)");
+      evicted.add(entry.getVersion());
+      count--;
+      totalBytes -= entry.getSizeInBytes();
+    }
+    return evicted;
+  }
+
+  // versions installed before use was recorded count as used when they were last modified
+  private static Instant readLastUsed(Path versionDirectory) throws IOException {
+    Path lastUsed = versionDirectory.resolve(LAST_USED_FILE_NAME);
+    if (Files.isRegularFile(lastUsed)) {
+      try {
+        String millis = new String(Files.readAllBytes(lastUsed), StandardCharsets.UTF_8).trim();
+        return Instant.ofEpochMilli(Long.parseLong(millis));
+      } catch (NumberFormatException ex) {
+        // fall through to the modification time
+      }
+    }
+    return Files.getLastModifiedTime(versionDirectory).toInstant();
+  }
+
+  private static long sizeOf(Path directory) throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      return files
+          .filter(file -> Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS))
+          .mapToLong(
+              file -> {
+                try {
+                  return Files.size(file);
+                } catch (IOException ex) {
+                  return 0;
+                }
+              })
+          .sum();
+    }
+  }
+
+  /** A managed Cloud SDK version in the store. */
+  public static class Entry {
+    private final String version;
+    private final Instant lastUsed;
+    private final long sizeInBytes;
+
+    Entry(String version, Instant lastUsed, long sizeInBytes) {
+      this.version = version;
+      this.lastUsed = lastUsed;
+      this.sizeInBytes = sizeInBytes;
+    }
+
+    public String getVersion() {
+      return version;
+    }
+
+    public Instant getLastUsed() {
+      return lastUsed;
+    }
+
+    public long getSizeInBytes() {
+      return sizeInBytes;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
+import com.google.cloud.tools.managedcloudsdk.BadCloudSdkVersionException;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import com.google.common.base.Strings;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.gradle.api.Project;
+
+/**
+ * Cloud SDK state shared by every App Engine project in a build. A single instance is attached to
+ * the root project, so the managed Cloud SDK and its tool handles are created once and the SDK is
+ * provisioned at most once per build, regardless of how many projects use it.
+ */
+public class SharedCloudSdk {
+
+  static final String EXTENSION_NAME = "_appengineSharedCloudSdk";
+
+  private final Map<String, ManagedCloudSdk> managedCloudSdks = new HashMap<>();
+  private final Set<String> managedCloudSdkVersions = new HashSet<>();
+  private final Map<List<File>, CloudSdkOperations> cloudSdkOperations = new HashMap<>();
+  private final Map<ManagedCloudSdk, Set<SdkComponent>> provisioned = new HashMap<>();
+  private final GcloudConfig gcloudConfig = new GcloudConfig();
+  private boolean batchComponentInstall;
+
+  /** Returns the instance shared by all projects in the build {@code project} belongs to. */
+  public static SharedCloudSdk get(Project project) {
+    Project rootProject = project.getRootProject();
+    synchronized (rootProject) {
+      SharedCloudSdk sharedCloudSdk = rootProject.getExtensions().findByType(SharedCloudSdk.class);
+      if (sharedCloudSdk == null) {
+        sharedCloudSdk = new SharedCloudSdk();
+        rootProject.getExtensions().add(SharedCloudSdk.class, EXTENSION_NAME, sharedCloudSdk);
+      }
+      return sharedCloudSdk;
+    }
+  }
+
+  /** Returns the managed Cloud SDK for {@code version}, creating it on first request. */
+  public synchronized ManagedCloudSdk getManagedCloudSdk(String version)
+      throws UnsupportedOsException, BadCloudSdkVersionException {
+    String key = Strings.nullToEmpty(version);
+    ManagedCloudSdk managedCloudSdk = managedCloudSdks.get(key);
+    if (managedCloudSdk == null) {
+      managedCloudSdk = new ManagedCloudSdkFactory(version).newManagedSdk();
+      managedCloudSdks.put(key, managedCloudSdk);
+    }
+    return managedCloudSdk;
+  }
+
+  /**
+   * Records that a project of this build uses the managed Cloud SDK {@code version}, before the SDK
+   * is resolved, so it isn't evicted while the build may still use it.
+   */
+  public synchronized void useManagedCloudSdk(String version) {
+    managedCloudSdkVersions.add(Strings.nullToEmpty(version));
+  }
+
+  /** Returns the home of every managed Cloud SDK a project of this build uses or resolved. */
+  public synchronized Set<Path> getManagedCloudSdkHomes()
+      throws UnsupportedOsException, BadCloudSdkVersionException {
+    Set<String> versions = new HashSet<>(managedCloudSdkVersions);
+    versions.addAll(managedCloudSdks.keySet());
+    Set<Path> sdkHomes = new HashSet<>();
+    for (String version : versions) {
+      sdkHomes.add(getManagedCloudSdk(Strings.emptyToNull(version)).getSdkHome());
+    }
+    return sdkHomes;
+  }
+
+  /** Returns the operations for a Cloud SDK location and credential, creating them on first use. */
+  public synchronized CloudSdkOperations getCloudSdkOperations(
+      File cloudSdkHome, File credentialFile) throws CloudSdkNotFoundException {
+    List<File> key = Arrays.asList(cloudSdkHome, credentialFile);
+    CloudSdkOperations operations = cloudSdkOperations.get(key);
+    if (operations == null) {
+      operations = new CloudSdkOperations(cloudSdkHome, credentialFile);
+      cloudSdkOperations.put(key, operations);
+    }
+    return operations;
+  }
+
+  /** Returns the gcloud configuration reader, it remembers what it read for the whole build. */
+  public GcloudConfig getGcloudConfig() {
+    return gcloudConfig;
+  }
+
+  /**
+   * Install missing components with a single gcloud invocation. The managed Cloud SDK is
+   * provisioned once for the whole build, so this is enabled as soon as any project asks for it.
+   */
+  synchronized void enableBatchComponentInstall() {
+    batchComponentInstall = true;
+  }
+
+  synchronized boolean isBatchComponentInstall() {
+    return batchComponentInstall;
+  }
+
+  /**
+   * Returns true if {@code managedCloudSdk} was already installed, updated and given all of {@code
+   * components} earlier in this build.
+   */
+  synchronized boolean isProvisioned(
+      ManagedCloudSdk managedCloudSdk, Collection<SdkComponent> components) {
+    Set<SdkComponent> installed = provisioned.get(managedCloudSdk);
+    return installed != null && installed.containsAll(components);
+  }
+
+  /** Records that {@code managedCloudSdk} is installed and up to date with {@code components}. */
+  synchronized void setProvisioned(
+      ManagedCloudSdk managedCloudSdk, Collection<SdkComponent> components) {
+    provisioned.computeIfAbsent(managedCloudSdk, ignored -> new HashSet<>()).addAll(components);
+  }
+
+  /** Forgets that the managed Cloud SDK at {@code sdkHome} was provisioned, it was removed. */
+  synchronized void forgetProvisioned(Path sdkHome) {
+    provisioned.keySet().removeIf(managedCloudSdk -> managedCloudSdk.getSdkHome().equals(sdkHome));
+  }
+}
@@ -21,14 +21,21 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
 import com.google.common.collect.Lists;
+import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import org.gradle.api.DefaultTask;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.internal.plugins.ExtensionContainerInternal;
 import org.gradle.api.plugins.ExtensionAware;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.TaskAction;
 
@@ -36,20 +43,27 @@ import org.gradle.api.tasks.TaskAction;
 public class ShowConfigurationTask extends DefaultTask {
 
   private String extensionId;
+  private Object extensionInstance;
 
   @Input
   public String getExtensionId() {
     return extensionId;
   }
 
+  /** Sets the extension to display, the extension itself is looked up immediately. */
   public void setExtensionId(String extensionId) {
+    setExtension(extensionId, getProject().getExtensions().getByName(extensionId));
+  }
+
+  /** Sets the extension to display and its name. */
+  public void setExtension(String extensionId, Object extensionInstance) {
     this.extensionId = extensionId;
+    this.extensionInstance = extensionInstance;
   }
 
   /** Task entrypoint : Log out configuration to lifecyle. */
   @TaskAction
   public void showConfiguration() throws IllegalAccessException {
-    Object extensionInstance = getProject().getExtensions().getByName(extensionId);
     getLogger().lifecycle(getExtensionData(extensionId, extensionInstance, 0));
   }
 
@@ -105,28 +119,60 @@ public class ShowConfigurationTask extends DefaultTask {
     result
         .append(spaces(depth))
         .append("(")
-        .append(root.getType().getSimpleName())
-        .append(getGenericTypeData(root.getGenericType()))
+        .append(getTypeData(root))
         .append(") ")
         .append(root.getName())
         .append(" = ")
-        .append(root.get(instance))
+        .append(getValueData(root.get(instance)))
         .append("\n");
     return result.toString();
   }
 
+  // Lazy properties are displayed as the type of the value they hold.
+  private static String getTypeData(Field field) {
+    Class<?> type = field.getType();
+    Type genericType = field.getGenericType();
+    if (DirectoryProperty.class.isAssignableFrom(type)
+        || RegularFileProperty.class.isAssignableFrom(type)) {
+      return File.class.getSimpleName();
+    }
+    if (ListProperty.class.isAssignableFrom(type)) {
+      return List.class.getSimpleName() + getGenericTypeData(genericType);
+    }
+    if (Provider.class.isAssignableFrom(type) && genericType instanceof ParameterizedType) {
+      return getTypeName(((ParameterizedType) genericType).getActualTypeArguments()[0]);
+    }
+    return type.getSimpleName() + getGenericTypeData(genericType);
+  }
+
+  // Lazy properties are displayed as the value they currently resolve to.
+  private static Object getValueData(Object value) {
+    if (value instanceof Provider) {
+      value = ((Provider<?>) value).getOrNull();
+    }
+    if (value instanceof Directory) {
+      value = ((Directory) value).getAsFile();
+    }
+    if (value instanceof RegularFile) {
+      value = ((RegularFile) value).getAsFile();
+    }
+    return value;
+  }
+
+  private static String getTypeName(Type type) {
+    if (type instanceof ParameterizedType) {
+      return ((Class<?>) ((ParameterizedType) type).getRawType()).getSimpleName()
+          + getGenericTypeData(type);
+    }
+    return ((Class<?>) type).getSimpleName();
+  }
+
   // Extract the generic type information <...>, recursively including any nested generic type info.
   private static String getGenericTypeData(Type genericType) {
     List<String> types = Lists.newArrayList();
     if (genericType != null && genericType instanceof ParameterizedType) {
       for (Type t : ((ParameterizedType) genericType).getActualTypeArguments()) {
-        if (t instanceof ParameterizedType) {
-          String nestedGeneric = ((Class<?>) ((ParameterizedType) t).getRawType()).getSimpleName();
-          nestedGeneric += getGenericTypeData(t);
-          types.add(nestedGeneric);
-        } else {
-          types.add(((Class<?>) t).getSimpleName());
-        }
+        types.add(getTypeName(t));
       }
     }
     return (types.size() > 0) ? "<" + Joiner.on(", ").join(types) + ">" : "";
@@ -18,42 +18,208 @@
 package com.google.cloud.tools.gradle.appengine.core;
 
 import java.io.File;
+import java.time.Duration;
+import java.util.function.Supplier;
 import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
 
 /** Extension element to define the location of cloud sdk tooling. */
 public class ToolsExtension {
 
-  private final Project project;
+  @InternalProperty private final ProjectLayout layout;
 
-  private File cloudSdkHome;
-  private String cloudSdkVersion;
-  private File cloudSdkServiceAccountFile;
+  @InternalProperty private Supplier<CloudSdkOperations> cloudSdkOperations;
 
+  private final DirectoryProperty cloudSdkHome;
+  private final Property<String> cloudSdkVersion;
+  private final RegularFileProperty cloudSdkServiceAccountFile;
+  private final Property<Duration> latestCheckInterval;
+  private final DirectoryProperty cloudSdkMirror;
+  private final Property<Integer> cloudSdkCacheMaxVersions;
+  private final Property<Long> cloudSdkCacheMaxBytes;
+  private final RegularFileProperty cloudSdkArchive;
+  private final Property<InstallProfile> installProfile;
+  private final Property<Boolean> batchComponentInstall;
+
+  /** Constructor. */
   public ToolsExtension(Project project) {
-    this.project = project;
+    layout = project.getLayout();
+    cloudSdkHome = project.getLayout().directoryProperty();
+    cloudSdkVersion = project.getObjects().property(String.class);
+    cloudSdkServiceAccountFile = project.getLayout().fileProperty();
+    latestCheckInterval = project.getObjects().property(Duration.class);
+    cloudSdkMirror = project.getLayout().directoryProperty();
+    cloudSdkCacheMaxVersions = project.getObjects().property(Integer.class);
+    cloudSdkCacheMaxBytes = project.getObjects().property(Long.class);
+    cloudSdkArchive = project.getLayout().fileProperty();
+    cloudSdkArchive.set(
+        project.getLayout().getBuildDirectory().file("appengine/google-cloud-sdk.tar.gz"));
+    installProfile = project.getObjects().property(InstallProfile.class);
+    installProfile.set(InstallProfile.FULL);
+    batchComponentInstall = project.getObjects().property(Boolean.class);
+    batchComponentInstall.set(false);
+  }
+
+  void setCloudSdkOperations(Supplier<CloudSdkOperations> cloudSdkOperations) {
+    this.cloudSdkOperations = cloudSdkOperations;
+  }
+
+  /** Returns the Cloud SDK operations for this project, the SDK is resolved on first use. */
+  public Supplier<CloudSdkOperations> getCloudSdkOperations() {
+    return cloudSdkOperations;
   }
 
   public String getCloudSdkVersion() {
-    return cloudSdkVersion;
+    return cloudSdkVersion.getOrNull();
   }
 
   public void setCloudSdkVersion(String cloudSdkVersion) {
-    this.cloudSdkVersion = cloudSdkVersion;
+    this.cloudSdkVersion.set(cloudSdkVersion);
+  }
+
+  public Property<String> getCloudSdkVersionProperty() {
+    return cloudSdkVersion;
   }
 
   public File getCloudSdkHome() {
-    return cloudSdkHome;
+    return cloudSdkHome.getAsFile().getOrNull();
   }
 
   public void setCloudSdkHome(Object cloudSdkHome) {
-    this.cloudSdkHome = project.file(cloudSdkHome);
+    this.cloudSdkHome.set(layout.files(cloudSdkHome).getSingleFile());
+  }
+
+  public DirectoryProperty getCloudSdkHomeProperty() {
+    return cloudSdkHome;
   }
 
   public File getServiceAccountKeyFile() {
-    return cloudSdkServiceAccountFile;
+    return cloudSdkServiceAccountFile.getAsFile().getOrNull();
   }
 
   public void setServiceAccountKeyFile(Object cloudSdkServiceAccountFile) {
-    this.cloudSdkServiceAccountFile = project.file(cloudSdkServiceAccountFile);
+    this.cloudSdkServiceAccountFile.set(layout.files(cloudSdkServiceAccountFile).getSingleFile());
+  }
+
+  public RegularFileProperty getServiceAccountKeyFileProperty() {
+    return cloudSdkServiceAccountFile;
+  }
+
+  /**
+   * How long a managed Cloud SDK tracking LATEST is considered up to date after it was last checked
+   * for updates. When unset, the SDK is checked on every build.
+   */
+  public Duration getLatestCheckInterval() {
+    return latestCheckInterval.getOrNull();
+  }
+
+  public void setLatestCheckInterval(Duration latestCheckInterval) {
+    this.latestCheckInterval.set(latestCheckInterval);
+  }
+
+  /** Set the interval as an ISO-8601 duration, like "PT6H". */
+  public void setLatestCheckInterval(String latestCheckInterval) {
+    this.latestCheckInterval.set(Duration.parse(latestCheckInterval));
+  }
+
+  public Property<Duration> getLatestCheckIntervalProperty() {
+    return latestCheckInterval;
+  }
+
+  /**
+   * A local directory of Cloud SDK archives, the managed Cloud SDK is installed from it instead of
+   * being downloaded. See {@link CloudSdkMirror} for its layout.
+   */
+  public File getCloudSdkMirror() {
+    return cloudSdkMirror.getAsFile().getOrNull();
+  }
+
+  public void setCloudSdkMirror(Object cloudSdkMirror) {
+    this.cloudSdkMirror.set(layout.files(cloudSdkMirror).getSingleFile());
+  }
+
+  public DirectoryProperty getCloudSdkMirrorProperty() {
+    return cloudSdkMirror;
+  }
+
+  /** The most managed Cloud SDK versions kept installed, least recently used ones are removed. */
+  public Integer getCloudSdkCacheMaxVersions() {
+    return cloudSdkCacheMaxVersions.getOrNull();
+  }
+
+  public void setCloudSdkCacheMaxVersions(Integer cloudSdkCacheMaxVersions) {
+    this.cloudSdkCacheMaxVersions.set(cloudSdkCacheMaxVersions);
+  }
+
+  public Property<Integer> getCloudSdkCacheMaxVersionsProperty() {
+    return cloudSdkCacheMaxVersions;
+  }
+
+  /** The most disk space managed Cloud SDK versions may use, least recently used are removed. */
+  public Long getCloudSdkCacheMaxBytes() {
+    return cloudSdkCacheMaxBytes.getOrNull();
+  }
+
+  public void setCloudSdkCacheMaxBytes(Long cloudSdkCacheMaxBytes) {
+    this.cloudSdkCacheMaxBytes.set(cloudSdkCacheMaxBytes);
+  }
+
+  public Property<Long> getCloudSdkCacheMaxBytesProperty() {
+    return cloudSdkCacheMaxBytes;
+  }
+
+  /**
+   * The archive appenginePackCloudSdk packs the managed Cloud SDK into. When it holds the right
+   * version, downloadCloudSdk unpacks it instead of installing over the network.
+   */
+  public File getCloudSdkArchive() {
+    return cloudSdkArchive.getAsFile().getOrNull();
+  }
+
+  public void setCloudSdkArchive(Object cloudSdkArchive) {
+    this.cloudSdkArchive.set(layout.files(cloudSdkArchive).getSingleFile());
+  }
+
+  public RegularFileProperty getCloudSdkArchiveProperty() {
+    return cloudSdkArchive;
+  }
+
+  /**
+   * The plugin tasks the managed Cloud SDK is provisioned for, "full" or "local-run". Defaults to
+   * "full". Components are only ever added, never removed from the shared managed Cloud SDK.
+   */
+  public InstallProfile getInstallProfile() {
+    return installProfile.get();
+  }
+
+  public void setInstallProfile(InstallProfile installProfile) {
+    this.installProfile.set(installProfile);
+  }
+
+  public void setInstallProfile(String installProfile) {
+    this.installProfile.set(InstallProfile.fromName(installProfile));
+  }
+
+  public Property<InstallProfile> getInstallProfileProperty() {
+    return installProfile;
+  }
+
+  /**
+   * Install all missing components of the managed Cloud SDK with a single gcloud invocation instead
+   * of one per component. Ignored on Windows. Defaults to false.
+   */
+  public boolean getBatchComponentInstall() {
+    return batchComponentInstall.get();
+  }
+
+  public void setBatchComponentInstall(boolean batchComponentInstall) {
+    this.batchComponentInstall.set(batchComponentInstall);
+  }
+
+  public Property<Boolean> getBatchComponentInstallProperty() {
+    return batchComponentInstall;
   }
 }
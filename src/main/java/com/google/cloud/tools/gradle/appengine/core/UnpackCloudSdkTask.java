@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.TaskAction;
+
+/** Restores the managed Cloud SDK from an archive made by {@link PackCloudSdkTask}. */
+public class UnpackCloudSdkTask extends DefaultTask {
+
+  private Supplier<ManagedCloudSdk> managedCloudSdk;
+  private final RegularFileProperty archive = getProject().getLayout().fileProperty();
+
+  /** Set a managed cloud sdk supplier, it is only called when the task executes. */
+  public void setManagedCloudSdk(Supplier<ManagedCloudSdk> managedCloudSdk) {
+    this.managedCloudSdk = managedCloudSdk;
+  }
+
+  @InputFile
+  public RegularFileProperty getArchive() {
+    return archive;
+  }
+
+  /** Task entrypoint : Unpack the managed Cloud SDK. */
+  @TaskAction
+  public void unpackCloudSdkAction() throws IOException, InterruptedException {
+    Path sdkHome = managedCloudSdk.get().getSdkHome();
+    try (CloudSdkProvisioningLock ignored =
+        CloudSdkProvisioningLock.acquire(
+            CloudSdkProvisioningLock.forSdkHome(sdkHome), getLogger())) {
+      new CloudSdkArchive(archive.getAsFile().get()).unpack(sdkHome);
+    }
+  }
+}
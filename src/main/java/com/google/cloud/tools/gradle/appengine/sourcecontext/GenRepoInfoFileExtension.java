@@ -18,48 +18,53 @@
 package com.google.cloud.tools.gradle.appengine.sourcecontext;
 
 import com.google.cloud.tools.appengine.configuration.GenRepoInfoFileConfiguration;
+import com.google.cloud.tools.gradle.appengine.core.InternalProperty;
 import com.google.cloud.tools.gradle.appengine.util.NullSafe;
 import java.io.File;
 import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.ProjectLayout;
 import org.gradle.api.tasks.InputDirectory;
 import org.gradle.api.tasks.OutputDirectory;
 
 /** Extension element to define Source Context configurations. */
 public class GenRepoInfoFileExtension {
 
-  private final Project project;
+  @InternalProperty private final ProjectLayout layout;
 
-  private File outputDirectory;
-  private File sourceDirectory;
+  private final DirectoryProperty outputDirectory;
+  private final DirectoryProperty sourceDirectory;
 
   /** Constructor. */
   public GenRepoInfoFileExtension(Project project) {
-    this.project = project;
+    layout = project.getLayout();
+    outputDirectory = project.getLayout().directoryProperty();
+    sourceDirectory = project.getLayout().directoryProperty();
   }
 
   @OutputDirectory
   public File getOutputDirectory() {
-    return outputDirectory;
+    return outputDirectory.getAsFile().getOrNull();
   }
 
   // visible only to plugin configuration
-  void setOutputDirectory(File outputDirectory) {
-    this.outputDirectory = outputDirectory;
+  DirectoryProperty getOutputDirectoryProperty() {
+    return outputDirectory;
   }
 
   @InputDirectory
   public File getSourceDirectory() {
-    return sourceDirectory;
+    return sourceDirectory.getAsFile().getOrNull();
   }
 
   public void setSourceDirectory(Object sourceDirectory) {
-    this.sourceDirectory = project.file(sourceDirectory);
+    this.sourceDirectory.set(layout.files(sourceDirectory).getSingleFile());
   }
 
   GenRepoInfoFileConfiguration toGenRepoInfoFileConfiguration() {
     return GenRepoInfoFileConfiguration.builder()
-        .outputDirectory(NullSafe.convert(outputDirectory, File::toPath))
-        .sourceDirectory(NullSafe.convert(outputDirectory, File::toPath))
+        .outputDirectory(NullSafe.convert(getOutputDirectory(), File::toPath))
+        .sourceDirectory(NullSafe.convert(getOutputDirectory(), File::toPath))
         .build();
   }
 }
@@ -18,17 +18,15 @@
 package com.google.cloud.tools.gradle.appengine.sourcecontext;
 
 import com.google.cloud.tools.appengine.AppEngineException;
-import com.google.cloud.tools.appengine.operations.Gcloud;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
-import org.gradle.api.DefaultTask;
+import com.google.cloud.tools.gradle.appengine.core.GcloudTask;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.TaskAction;
 
 /** Generate source context information. */
-public class GenRepoInfoFileTask extends DefaultTask {
+public class GenRepoInfoFileTask extends GcloudTask {
 
   private GenRepoInfoFileExtension configuration;
-  private Gcloud gcloud;
 
   @Nested
   public GenRepoInfoFileExtension getConfiguration() {
@@ -39,14 +37,10 @@ public class GenRepoInfoFileTask extends DefaultTask {
     this.configuration = configuration;
   }
 
-  public void setGcloud(Gcloud gcloud) {
-    this.gcloud = gcloud;
-  }
-
   /** Task entrypoint : generate source context file. */
   @TaskAction
   public void generateRepositoryInfoFile() throws AppEngineException {
-    gcloud
+    getGcloud()
         .newGenRepoInfo(CloudSdkOperations.getDefaultHandler(getLogger()))
         .generate(configuration.toGenRepoInfoFileConfiguration());
   }
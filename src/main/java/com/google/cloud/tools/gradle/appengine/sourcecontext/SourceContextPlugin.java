@@ -17,13 +17,13 @@
 
 package com.google.cloud.tools.gradle.appengine.sourcecontext;
 
-import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.gradle.appengine.core.AppEngineCoreExtensionProperties;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
 import com.google.cloud.tools.gradle.appengine.core.ToolsExtension;
 import com.google.cloud.tools.gradle.appengine.util.ExtensionUtil;
 import java.io.File;
-import org.gradle.api.GradleException;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
 import org.gradle.api.plugins.ExtensionAware;
@@ -36,7 +36,7 @@ public class SourceContextPlugin implements Plugin<Project> {
 
   private Project project;
   private GenRepoInfoFileExtension extension;
-  private CloudSdkOperations cloudSdkOperations;
+  private Supplier<CloudSdkOperations> cloudSdkOperations;
 
   public static final String SOURCE_CONTEXT_EXTENSION = "sourceContext";
 
@@ -51,26 +51,20 @@ public class SourceContextPlugin implements Plugin<Project> {
   private void createExtension() {
     // obtain extensions defined by core plugin.
     ExtensionAware appengine = new ExtensionUtil(project).get("appengine");
-    final ToolsExtension tools = ((AppEngineCoreExtensionProperties) appengine).getTools();
+    ToolsExtension tools = ((AppEngineCoreExtensionProperties) appengine).getTools();
 
     // create source context extension and set defaults
     extension =
         appengine
             .getExtensions()
             .create(SOURCE_CONTEXT_EXTENSION, GenRepoInfoFileExtension.class, project);
-    extension.setOutputDirectory(new File(project.getBuildDir(), "sourceContext"));
+    extension
+        .getOutputDirectoryProperty()
+        .set(project.getLayout().getBuildDirectory().dir("sourceContext"));
     extension.setSourceDirectory(new File(project.getProjectDir(), "src"));
 
-    // wait to read the cloudSdkHome till after project evaluation
-    project.afterEvaluate(
-        project -> {
-          try {
-            cloudSdkOperations = new CloudSdkOperations(tools.getCloudSdkHome(), null);
-          } catch (CloudSdkNotFoundException ex) {
-            // this should be caught in AppEngineCorePluginConfig before it can ever reach here.
-            throw new GradleException("Could not find CloudSDK: ", ex);
-          }
-        });
+    // the Cloud SDK is shared with the core plugin and only resolved when a task runs
+    cloudSdkOperations = tools.getCloudSdkOperations();
   }
 
   private void createSourceContextTask() {
@@ -81,12 +75,9 @@ public class SourceContextPlugin implements Plugin<Project> {
             GenRepoInfoFileTask.class,
             genRepoInfoFile -> {
               genRepoInfoFile.setDescription("_internal");
-
-              project.afterEvaluate(
-                  project -> {
-                    genRepoInfoFile.setConfiguration(extension);
-                    genRepoInfoFile.setGcloud(cloudSdkOperations.getGcloud());
-                  });
+              genRepoInfoFile.setConfiguration(extension);
+              Supplier<CloudSdkOperations> operations = cloudSdkOperations;
+              genRepoInfoFile.setGcloud(() -> operations.get().getGcloud());
             });
     configureArchiveTask(project.getTasks().withType(War.class).findByName("war"));
     configureArchiveTask(project.getTasks().withType(Jar.class).findByName("jar"));
@@ -98,6 +89,8 @@ public class SourceContextPlugin implements Plugin<Project> {
       return;
     }
     archiveTask.dependsOn("_createSourceContext");
-    archiveTask.from(extension.getOutputDirectory(), copySpec -> copySpec.into("WEB-INF/classes"));
+    archiveTask.from(
+        (Callable<File>) extension::getOutputDirectory,
+        copySpec -> copySpec.into("WEB-INF/classes"));
   }
 }
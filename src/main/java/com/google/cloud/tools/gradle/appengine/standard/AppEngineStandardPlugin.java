@@ -17,21 +17,28 @@
 
 package com.google.cloud.tools.gradle.appengine.standard;
 
-import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
 import com.google.cloud.tools.gradle.appengine.core.AppEngineCorePluginConfiguration;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
 import com.google.cloud.tools.gradle.appengine.core.DeployAllTask;
+import com.google.cloud.tools.gradle.appengine.core.DeployConfigTask;
 import com.google.cloud.tools.gradle.appengine.core.DeployExtension;
+import com.google.cloud.tools.gradle.appengine.core.DeployPlanTask;
 import com.google.cloud.tools.gradle.appengine.core.DeployTargetResolver;
 import com.google.cloud.tools.gradle.appengine.core.DeployTask;
-import com.google.cloud.tools.gradle.appengine.core.ToolsExtension;
-import com.google.common.base.Strings;
+import com.google.cloud.tools.gradle.appengine.core.SharedCloudSdk;
 import java.io.File;
-import org.gradle.api.GradleException;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
+import org.gradle.api.file.Directory;
 import org.gradle.api.plugins.BasePlugin;
 import org.gradle.api.plugins.WarPlugin;
+import org.gradle.api.plugins.WarPluginConvention;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.Sync;
+import org.gradle.api.tasks.TaskProvider;
 import org.gradle.api.tasks.bundling.War;
 
 /** Plugin definition for App Engine standard environments. */
@@ -40,18 +47,24 @@ public class AppEngineStandardPlugin implements Plugin<Project> {
   public static final String APP_ENGINE_STANDARD_TASK_GROUP = "App Engine Standard environment";
   public static final String EXPLODE_WAR_TASK_NAME = "explodeWar";
   public static final String STAGE_TASK_NAME = "appengineStage";
+  public static final String COLLECT_CONFIG_TASK_NAME = "appengineCollectConfig";
+  public static final String STAGE_CONFIG_TASK_NAME = "appengineStageConfig";
   public static final String RUN_TASK_NAME = "appengineRun";
   public static final String START_TASK_NAME = "appengineStart";
   public static final String STOP_TASK_NAME = "appengineStop";
 
   public static final String STAGED_APP_DIR_NAME = "staged-app";
+  public static final String CONFIG_SOURCES_DIR_NAME = "appengine-config-sources";
+  public static final String STAGED_CONFIG_DIR_NAME = "staged-app-config";
   public static final String DEV_APP_SERVER_OUTPUT_DIR_NAME = "dev-appserver-out";
 
   public static final String STAGE_EXTENSION = "stage";
   public static final String RUN_EXTENSION = "run";
 
+  private static final String GENERATED_CONFIG_DIR = "WEB-INF/appengine-generated";
+
   private Project project;
-  private CloudSdkOperations cloudSdkOperations;
+  private Supplier<CloudSdkOperations> cloudSdkOperations;
   private AppEngineStandardExtension appengineExtension;
   private AppEngineCorePluginConfiguration appEngineCorePluginConfiguration;
   private RunExtension runExtension;
@@ -68,6 +81,7 @@ public class AppEngineStandardPlugin implements Plugin<Project> {
     appEngineCorePluginConfiguration = new AppEngineCorePluginConfiguration();
     appEngineCorePluginConfiguration.configureCoreProperties(
         project, appengineExtension, APP_ENGINE_STANDARD_TASK_GROUP, true);
+    cloudSdkOperations = appengineExtension.getTools().getCloudSdkOperations();
 
     explodedWarDir = new File(project.getBuildDir(), "exploded-" + project.getName());
 
@@ -88,84 +102,79 @@ public class AppEngineStandardPlugin implements Plugin<Project> {
 
     // create the stage extension and set defaults.
     stageExtension = appengineExtension.getStage();
-    File defaultStagedAppDir = new File(project.getBuildDir(), STAGED_APP_DIR_NAME);
     stageExtension.setSourceDirectory(explodedWarDir);
-    stageExtension.setStagingDirectory(defaultStagedAppDir);
-
-    project.afterEvaluate(
-        project -> {
-          // tools extension required to initialize cloudSdkOperations
-          ToolsExtension tools = appengineExtension.getTools();
-          try {
-            cloudSdkOperations = new CloudSdkOperations(tools.getCloudSdkHome(), null);
-          } catch (CloudSdkNotFoundException ex) {
-            // this should be caught in AppEngineCorePluginConfig before it can ever reach here.
-            throw new GradleException("Could not find CloudSDK: ", ex);
-          }
-
-          DeployExtension deploy = appengineExtension.getDeploy();
-          if (deploy.getAppEngineDirectory() == null) {
-            deploy.setAppEngineDirectory(
-                new File(stageExtension.getStagingDirectory(), "WEB-INF/appengine-generated"));
-          }
-
-          DeployAllTask deployAllTask =
-              (DeployAllTask)
-                  project
-                      .getTasks()
-                      .getByName(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME);
-          deployAllTask.setStageDirectory(stageExtension.getStagingDirectory());
-          deployAllTask.setDeployExtension(deploy);
-
-          DeployTask deployTask =
-              (DeployTask)
-                  project.getTasks().getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME);
-          deployTask.setDeployConfig(deploy);
-          deployTask.setAppYaml(stageExtension.getStagingDirectory().toPath().resolve("app.yaml"));
-
-          // configure the runExtension's project parameter
-          // assign the run projectId to the deploy projectId if none is specified
-          if (Strings.isNullOrEmpty(runExtension.getProjectId())) {
-            runExtension.setProjectId(deploy.getProjectId());
-          }
-          runExtension.setDeployTargetResolver(new DeployTargetResolver(cloudSdkOperations));
-        });
-  }
+    stageExtension
+        .getStagingDirectoryProperty()
+        .set(project.getLayout().getBuildDirectory().dir(STAGED_APP_DIR_NAME));
+
+    DeployExtension deploy = appengineExtension.getDeploy();
+    deploy
+        .getAppEngineDirectoryProperty()
+        .set(stageExtension.getStagingDirectoryProperty().dir(GENERATED_CONFIG_DIR));
 
-  private void createExplodedWarTask() {
     project
         .getTasks()
-        .create(
-            EXPLODE_WAR_TASK_NAME,
-            ExplodeWarTask.class,
-            explodeWar -> {
-              explodeWar.setExplodedAppDirectory(explodedWarDir);
-              explodeWar.dependsOn(WarPlugin.WAR_TASK_NAME);
-              explodeWar.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
-              explodeWar.setDescription("Explode a war into a directory");
-
-              project.afterEvaluate(
-                  project ->
-                      explodeWar.setWarFile(
-                          ((War) project.getTasks().getByPath(WarPlugin.WAR_TASK_NAME))
-                              .getArchivePath()));
-            });
-    project.getTasks().getByName(BasePlugin.ASSEMBLE_TASK_NAME).dependsOn(EXPLODE_WAR_TASK_NAME);
+        .withType(DeployAllTask.class)
+        .named(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
+        .configure(
+            deployAllTask ->
+                deployAllTask.setStageDirectory(stageExtension.getStagingDirectoryProperty()));
+
+    project
+        .getTasks()
+        .withType(DeployPlanTask.class)
+        .named(AppEngineCorePluginConfiguration.DEPLOY_PLAN_TASK_NAME)
+        .configure(
+            deployPlanTask ->
+                deployPlanTask.setStageDirectory(stageExtension.getStagingDirectoryProperty()));
+
+    project
+        .getTasks()
+        .withType(DeployTask.class)
+        .named(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
+        .configure(
+            deployTask ->
+                deployTask.setAppYaml(
+                    stageExtension.getStagingDirectoryProperty().file("app.yaml")));
+
+    // assign the run projectId to the deploy projectId if none is specified
+    runExtension.getProjectIdProperty().set(deploy.getProjectIdProperty());
+
+    runExtension.setDeployTargetResolver(
+        new DeployTargetResolver(
+            cloudSdkOperations, SharedCloudSdk.get(project).getGcloudConfig()));
   }
 
-  private void createStageTask() {
+  private void createExplodedWarTask() {
+    TaskProvider<ExplodeWarTask> explodeWarTask =
+        project
+            .getTasks()
+            .register(
+                EXPLODE_WAR_TASK_NAME,
+                ExplodeWarTask.class,
+                explodeWar -> {
+                  explodeWar.setExplodedAppDirectory(explodedWarDir);
+                  explodeWar.setWarFile(
+                      project.provider(
+                          () ->
+                              ((War) project.getTasks().getByPath(WarPlugin.WAR_TASK_NAME))
+                                  .getArchivePath()));
+                  explodeWar.dependsOn(WarPlugin.WAR_TASK_NAME);
+                  explodeWar.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
+                  explodeWar.setDescription("Explode a war into a directory");
+                });
+
     project
         .getTasks()
-        .withType(StageStandardTask.class)
-        .whenTaskAdded(
-            stageStandardTask ->
-                project.afterEvaluate(
-                    ignored -> stageStandardTask.setAppCfg(cloudSdkOperations.getAppcfg())));
+        .named(BasePlugin.ASSEMBLE_TASK_NAME)
+        .configure(assemble -> assemble.dependsOn(explodeWarTask));
+  }
 
-    StageStandardTask stageTask =
+  private void createStageTask() {
+    TaskProvider<StageStandardTask> stageTask =
         project
             .getTasks()
-            .create(
+            .register(
                 STAGE_TASK_NAME,
                 StageStandardTask.class,
                 stageTask1 -> {
@@ -173,97 +182,153 @@ public class AppEngineStandardPlugin implements Plugin<Project> {
                   stageTask1.setDescription(
                       "Stage an App Engine standard environment application for deployment");
                   stageTask1.dependsOn(BasePlugin.ASSEMBLE_TASK_NAME);
+                  stageTask1.setStageStandardExtension(stageExtension);
+                  Supplier<CloudSdkOperations> operations = cloudSdkOperations;
+                  stageTask1.setAppCfg(() -> operations.get().getAppcfg());
+                });
 
-                  project.afterEvaluate(
-                      project -> {
-                        stageTask1.setStageStandardExtension(stageExtension);
-                      });
+    // The configuration files only need the WEB-INF descriptors converted, not a full staging
+    TaskProvider<Sync> collectConfigTask =
+        project
+            .getTasks()
+            .register(
+                COLLECT_CONFIG_TASK_NAME,
+                Sync.class,
+                collectConfig -> {
+                  collectConfig.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
+                  collectConfig.setDescription(
+                      "Collect the App Engine configuration descriptors for staging");
+                  collectConfig.from(
+                      (Callable<File>) this::getWebAppDir,
+                      spec -> spec.include("WEB-INF/*.xml", GENERATED_CONFIG_DIR + "/*.xml"));
+                  collectConfig.into(new File(project.getBuildDir(), CONFIG_SOURCES_DIR_NAME));
                 });
 
-    // All deployment tasks depend on the stage task.
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_CRON_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_DISPATCH_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_DOS_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_INDEX_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_QUEUE_TASK_NAME)
-        .dependsOn(stageTask);
-    project
-        .getTasks()
-        .getByName(AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME)
-        .dependsOn(stageTask);
+    TaskProvider<StageStandardTask> stageConfigTask =
+        project
+            .getTasks()
+            .register(
+                STAGE_CONFIG_TASK_NAME,
+                StageStandardTask.class,
+                stageConfig -> {
+                  stageConfig.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
+                  stageConfig.setDescription(
+                      "Convert the App Engine configuration descriptors for deployment");
+                  stageConfig.dependsOn(collectConfigTask);
+                  StageStandardExtension configExtension = new StageStandardExtension(project);
+                  configExtension.setSourceDirectory(
+                      new File(project.getBuildDir(), CONFIG_SOURCES_DIR_NAME));
+                  configExtension.setStagingDirectory(
+                      new File(project.getBuildDir(), STAGED_CONFIG_DIR_NAME));
+                  configExtension.setRuntime(stageExtension.getRuntime());
+                  configExtension.setDisableUpdateCheck(stageExtension.getDisableUpdateCheck());
+                  stageConfig.setStageStandardExtension(configExtension);
+                  Supplier<CloudSdkOperations> operations = cloudSdkOperations;
+                  stageConfig.setAppCfg(() -> operations.get().getAppcfg());
+                });
+
+    // With stage.configFromSources, deploying configuration files converts the descriptors from
+    // the sources instead of staging the application, if the descriptors are sources.
+    Callable<TaskProvider<?>> configStage =
+        () -> useConfigSources() ? stageConfigTask : stageTask;
+    Provider<Directory> configSourcesDirectory =
+        project.provider(
+            () ->
+                useConfigSources()
+                    ? project
+                        .getLayout()
+                        .getBuildDirectory()
+                        .dir(STAGED_CONFIG_DIR_NAME + "/" + GENERATED_CONFIG_DIR)
+                        .get()
+                    : null);
+    Stream.of(
+            AppEngineCorePluginConfiguration.DEPLOY_CRON_TASK_NAME,
+            AppEngineCorePluginConfiguration.DEPLOY_DISPATCH_TASK_NAME,
+            AppEngineCorePluginConfiguration.DEPLOY_DOS_TASK_NAME,
+            AppEngineCorePluginConfiguration.DEPLOY_INDEX_TASK_NAME,
+            AppEngineCorePluginConfiguration.DEPLOY_QUEUE_TASK_NAME)
+        .forEach(
+            taskName ->
+                project
+                    .getTasks()
+                    .withType(DeployConfigTask.class)
+                    .named(taskName)
+                    .configure(
+                        deployTask -> {
+                          deployTask.dependsOn(configStage);
+                          deployTask.setAppEngineDirectory(configSourcesDirectory);
+                        }));
+
+    Stream.of(
+            AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME,
+            AppEngineCorePluginConfiguration.DEPLOY_ALL_TASK_NAME,
+            AppEngineCorePluginConfiguration.DEPLOY_PLAN_TASK_NAME)
+        .forEach(
+            taskName ->
+                project
+                    .getTasks()
+                    .named(taskName)
+                    .configure(deployTask -> deployTask.dependsOn(stageTask)));
+  }
+
+  private File getWebAppDir() {
+    WarPluginConvention warConfig =
+        project.getConvention().findPlugin(WarPluginConvention.class);
+    return warConfig == null ? null : warConfig.getWebAppDir();
+  }
+
+  /** Returns true if the configuration descriptors are converted without a full staging. */
+  private boolean useConfigSources() {
+    File webAppDir = getWebAppDir();
+    return stageExtension.getConfigFromSources()
+        && webAppDir != null
+        && new File(webAppDir, "WEB-INF/appengine-web.xml").isFile();
   }
 
   private void createRunTasks() {
     project
         .getTasks()
-        .create(
+        .register(
             RUN_TASK_NAME,
             DevAppServerRunTask.class,
-            runTask -> {
-              runTask.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
-              runTask.setDescription("Run an App Engine standard environment application locally");
-              runTask.dependsOn(project.getTasks().findByName(BasePlugin.ASSEMBLE_TASK_NAME));
-
-              project.afterEvaluate(
-                  project -> {
-                    runTask.setRunConfig(runExtension);
-                    runTask.setDevServers(cloudSdkOperations.getDevServers());
-                  });
+            task -> {
+              task.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
+              task.setDescription("Run an App Engine standard environment application locally");
+              task.dependsOn(project.getTasks().findByName(BasePlugin.ASSEMBLE_TASK_NAME));
+              task.setRunConfig(runExtension);
+              Supplier<CloudSdkOperations> operations = cloudSdkOperations;
+              task.setDevServers(() -> operations.get().getDevServers());
             });
 
     project
         .getTasks()
-        .create(
+        .register(
             START_TASK_NAME,
             DevAppServerStartTask.class,
-            startTask -> {
-              startTask.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
-              startTask.setDescription(
+            task -> {
+              task.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
+              task.setDescription(
                   "Run an App Engine standard environment application locally in the background");
-              startTask.dependsOn(project.getTasks().findByName(BasePlugin.ASSEMBLE_TASK_NAME));
-
-              project.afterEvaluate(
-                  project -> {
-                    startTask.setRunConfig(runExtension);
-                    startTask.setDevServers(cloudSdkOperations.getDevServers());
-                    startTask.setDevAppServerLoggingDir(
-                        new File(project.getBuildDir(), DEV_APP_SERVER_OUTPUT_DIR_NAME));
-                  });
+              task.dependsOn(project.getTasks().findByName(BasePlugin.ASSEMBLE_TASK_NAME));
+              task.setRunConfig(runExtension);
+              Supplier<CloudSdkOperations> operations = cloudSdkOperations;
+              task.setDevServers(() -> operations.get().getDevServers());
+              task.setDevAppServerLoggingDir(
+                  new File(project.getBuildDir(), DEV_APP_SERVER_OUTPUT_DIR_NAME));
             });
 
     project
         .getTasks()
-        .create(
+        .register(
             STOP_TASK_NAME,
             DevAppServerStopTask.class,
-            stopTask -> {
-              stopTask.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
-              stopTask.setDescription(
+            task -> {
+              task.setGroup(APP_ENGINE_STANDARD_TASK_GROUP);
+              task.setDescription(
                   "Stop a locally running App Engine standard environment application");
-
-              project.afterEvaluate(
-                  project -> {
-                    stopTask.setRunConfig(runExtension);
-                    stopTask.setDevServers(cloudSdkOperations.getDevServers());
-                  });
+              task.setRunConfig(runExtension);
+              Supplier<CloudSdkOperations> operations = cloudSdkOperations;
+              task.setDevServers(() -> operations.get().getDevServers());
             });
   }
 }
@@ -20,21 +20,23 @@ package com.google.cloud.tools.gradle.appengine.standard;
 import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.operations.DevServers;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
+import com.google.cloud.tools.gradle.appengine.core.CloudSdkTask;
+import java.util.function.Supplier;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.ProjectConfigurationException;
 import org.gradle.api.tasks.TaskAction;
 
 /** RunExtension App Engine Standard Environment applications locally. */
-public class DevAppServerRunTask extends DefaultTask {
+public class DevAppServerRunTask extends DefaultTask implements CloudSdkTask {
 
   private RunExtension runConfig;
-  private DevServers devServers;
+  private Supplier<DevServers> devServers;
 
   public void setRunConfig(RunExtension runConfig) {
     this.runConfig = runConfig;
   }
 
-  public void setDevServers(DevServers devServers) {
+  public void setDevServers(Supplier<DevServers> devServers) {
     this.devServers = devServers;
   }
 
@@ -42,6 +44,7 @@ public class DevAppServerRunTask extends DefaultTask {
   @TaskAction
   public void runAction() throws AppEngineException, ProjectConfigurationException {
     devServers
+        .get()
         .newDevAppServer(CloudSdkOperations.getDefaultHandler(getLogger()))
         .run(runConfig.toRunConfiguration());
   }
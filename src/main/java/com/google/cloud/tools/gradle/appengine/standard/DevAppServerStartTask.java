@@ -22,19 +22,21 @@ import com.google.cloud.tools.appengine.operations.DevServers;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.LegacyProcessHandler;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.NonZeroExceptionExitListener;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
+import com.google.cloud.tools.gradle.appengine.core.CloudSdkTask;
 import com.google.cloud.tools.gradle.appengine.util.io.FileOutputLineListener;
 import java.io.File;
 import java.io.IOException;
+import java.util.function.Supplier;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.TaskAction;
 
 /** Start the App Engine development server asynchronously. */
-public class DevAppServerStartTask extends DefaultTask {
+public class DevAppServerStartTask extends DefaultTask implements CloudSdkTask {
 
   private RunExtension runConfig;
-  private DevServers devServers;
+  private Supplier<DevServers> devServers;
   private File devAppServerLoggingDir;
 
   public DevAppServerStartTask() {
@@ -46,7 +48,7 @@ public class DevAppServerStartTask extends DefaultTask {
     this.runConfig = runConfig;
   }
 
-  public void setDevServers(DevServers devServers) {
+  public void setDevServers(Supplier<DevServers> devServers) {
     this.devServers = devServers;
   }
 
@@ -78,7 +80,7 @@ public class DevAppServerStartTask extends DefaultTask {
             .setExitListener(new NonZeroExceptionExitListener())
             .buildDevAppServerAsync(runConfig.getStartSuccessTimeout());
 
-    devServers.newDevAppServer(processHandler).run(runConfig.toRunConfiguration());
+    devServers.get().newDevAppServer(processHandler).run(runConfig.toRunConfiguration());
 
     getLogger().lifecycle("Dev App Server output written to : " + logFile.getAbsolutePath());
   }
@@ -21,20 +21,22 @@ import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.operations.DevServer;
 import com.google.cloud.tools.appengine.operations.DevServers;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
+import com.google.cloud.tools.gradle.appengine.core.CloudSdkTask;
+import java.util.function.Supplier;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.TaskAction;
 
 /** Stop the App Engine development server. */
-public class DevAppServerStopTask extends DefaultTask {
+public class DevAppServerStopTask extends DefaultTask implements CloudSdkTask {
 
   private RunExtension runConfig;
-  private DevServers devServers;
+  private Supplier<DevServers> devServers;
 
   public void setRunConfig(RunExtension runConfig) {
     this.runConfig = runConfig;
   }
 
-  public void setDevServers(DevServers devServers) {
+  public void setDevServers(Supplier<DevServers> devServers) {
     this.devServers = devServers;
   }
 
@@ -42,7 +44,7 @@ public class DevAppServerStopTask extends DefaultTask {
   @TaskAction
   public void stopAction() {
     DevServer server =
-        devServers.newDevAppServer(CloudSdkOperations.getDefaultHandler(getLogger()));
+        devServers.get().newDevAppServer(CloudSdkOperations.getDefaultHandler(getLogger()));
     try {
       server.stop(runConfig.toStopConfiguration());
     } catch (AppEngineException ex) {
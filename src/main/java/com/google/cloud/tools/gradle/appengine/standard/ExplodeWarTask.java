@@ -18,6 +18,9 @@
 package com.google.cloud.tools.gradle.appengine.standard;
 
 import java.io.File;
+import java.util.concurrent.Callable;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.provider.Provider;
 import org.gradle.api.tasks.OutputDirectory;
 import org.gradle.api.tasks.Sync;
 
@@ -30,6 +33,11 @@ public class ExplodeWarTask extends Sync {
     from(getProject().zipTree(warFile));
   }
 
+  /** Sets the war to expand, the location is only resolved when the task inputs are read. */
+  public void setWarFile(Provider<File> warFile) {
+    from((Callable<FileTree>) () -> getProject().zipTree(warFile.get()));
+  }
+
   /**
    * Sets the output directory of Sync Task and preserves the setting so it can be recovered later
    * via getter.
@@ -29,7 +29,10 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import org.gradle.api.Project;
 import org.gradle.api.ProjectConfigurationException;
+import org.gradle.api.Task;
 import org.gradle.api.plugins.BasePlugin;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
 
 /** Extension element to define Run configurations for App Engine Standard Environments. */
 public class RunExtension {
@@ -37,18 +40,18 @@ public class RunExtension {
   @InternalProperty private DeployTargetResolver deployTargetResolver;
 
   private final Project project;
-  private int startSuccessTimeout;
-  private String serverVersion;
-
-  private List<File> services;
-  private String host;
-  private Integer port;
-  private List<String> jvmFlags;
-  private Boolean automaticRestart;
-  private String defaultGcsBucketName;
+  private final Property<Integer> startSuccessTimeout;
+  private final Property<String> serverVersion;
+
+  private final ListProperty<File> services;
+  private final Property<String> host;
+  private final Property<Integer> port;
+  private final ListProperty<String> jvmFlags;
+  private final Property<Boolean> automaticRestart;
+  private final Property<String> defaultGcsBucketName;
   private Map<String, String> environment;
-  private List<String> additionalArguments;
-  private String projectId;
+  private final ListProperty<String> additionalArguments;
+  private final Property<String> projectId;
 
   /**
    * Constructor.
@@ -57,6 +60,19 @@ public class RunExtension {
    */
   public RunExtension(Project project) {
     this.project = project;
+    startSuccessTimeout = project.getObjects().property(Integer.class);
+    serverVersion = project.getObjects().property(String.class);
+    services = project.getObjects().listProperty(File.class);
+    host = project.getObjects().property(String.class);
+    port = project.getObjects().property(Integer.class);
+    jvmFlags = project.getObjects().listProperty(String.class);
+    automaticRestart = project.getObjects().property(Boolean.class);
+    defaultGcsBucketName = project.getObjects().property(String.class);
+    additionalArguments = project.getObjects().listProperty(String.class);
+    projectId = project.getObjects().property(String.class);
+    // list options are passed to the dev server only when configured, so start with no value
+    jvmFlags.set((List<String>) null);
+    additionalArguments.set((List<String>) null);
   }
 
   public void setDeployTargetResolver(DeployTargetResolver deployTargetResolver) {
@@ -64,67 +80,67 @@ public class RunExtension {
   }
 
   public int getStartSuccessTimeout() {
-    return startSuccessTimeout;
+    return startSuccessTimeout.getOrElse(0);
   }
 
   public void setStartSuccessTimeout(int startSuccessTimeout) {
-    this.startSuccessTimeout = startSuccessTimeout;
+    this.startSuccessTimeout.set(startSuccessTimeout);
   }
 
   public String getServerVersion() {
-    return serverVersion;
+    return serverVersion.getOrNull();
   }
 
   public void setServerVersion(String serverVersion) throws ProjectConfigurationException {
-    this.serverVersion = serverVersion;
+    this.serverVersion.set(serverVersion);
   }
 
   public String getHost() {
-    return host;
+    return host.getOrNull();
   }
 
   public void setHost(String host) {
-    this.host = host;
+    this.host.set(host);
   }
 
   public Integer getPort() {
-    return port;
+    return port.getOrNull();
   }
 
   public void setPort(Integer port) {
-    this.port = port;
+    this.port.set(port);
   }
 
   public List<String> getJvmFlags() {
-    return jvmFlags;
+    return jvmFlags.getOrNull();
   }
 
   public void setJvmFlags(List<String> jvmFlags) {
-    this.jvmFlags = jvmFlags;
+    this.jvmFlags.set(jvmFlags);
   }
 
   public Boolean getAutomaticRestart() {
-    return automaticRestart;
+    return automaticRestart.getOrNull();
   }
 
   public void setAutomaticRestart(Boolean automaticRestart) {
-    this.automaticRestart = automaticRestart;
+    this.automaticRestart.set(automaticRestart);
   }
 
   public String getDefaultGcsBucketName() {
-    return defaultGcsBucketName;
+    return defaultGcsBucketName.getOrNull();
   }
 
   public void setDefaultGcsBucketName(String defaultGcsBucketName) {
-    this.defaultGcsBucketName = defaultGcsBucketName;
+    this.defaultGcsBucketName.set(defaultGcsBucketName);
   }
 
   public List<File> getServices() {
-    return services;
+    return services.getOrNull();
   }
 
   public void setServices(Object services) {
-    this.services = new ArrayList<>(project.files(services).getFiles());
+    this.services.set(new ArrayList<>(project.files(services).getFiles()));
   }
 
   /**
@@ -143,14 +159,15 @@ public class RunExtension {
     if (!serviceProject.equals(project)) {
       project.evaluationDependsOn(serviceProject.getPath());
     }
+    Task serviceAssemble = serviceProject.getTasks().findByPath(BasePlugin.ASSEMBLE_TASK_NAME);
     project
         .getTasks()
-        .findByName(AppEngineStandardPlugin.RUN_TASK_NAME)
-        .dependsOn(serviceProject.getTasks().findByPath(BasePlugin.ASSEMBLE_TASK_NAME));
+        .named(AppEngineStandardPlugin.RUN_TASK_NAME)
+        .configure(task -> task.dependsOn(serviceAssemble));
     project
         .getTasks()
-        .findByName(AppEngineStandardPlugin.START_TASK_NAME)
-        .dependsOn(serviceProject.getTasks().findByPath(BasePlugin.ASSEMBLE_TASK_NAME));
+        .named(AppEngineStandardPlugin.START_TASK_NAME)
+        .configure(task -> task.dependsOn(serviceAssemble));
     return serviceProject
         .getTasks()
         .findByName(AppEngineStandardPlugin.EXPLODE_WAR_TASK_NAME)
@@ -168,38 +185,42 @@ public class RunExtension {
   }
 
   public List<String> getAdditionalArguments() {
-    return additionalArguments;
+    return additionalArguments.getOrNull();
   }
 
   public void setAdditionalArguments(List<String> additionalArguments) {
-    this.additionalArguments =
-        additionalArguments != null ? ImmutableList.copyOf(additionalArguments) : null;
+    this.additionalArguments.set(
+        additionalArguments != null ? ImmutableList.copyOf(additionalArguments) : null);
   }
 
   public String getProjectId() {
-    return projectId;
+    return projectId.getOrNull();
   }
 
   public void setProjectId(String projectId) {
-    this.projectId = projectId;
+    this.projectId.set(projectId);
+  }
+
+  public Property<String> getProjectIdProperty() {
+    return projectId;
   }
 
   RunConfiguration toRunConfiguration() {
-    String processedProjectId = deployTargetResolver.getProject(projectId);
+    String processedProjectId = deployTargetResolver.getProject(getProjectId());
     return RunConfiguration.builder(
-            services.stream().map(File::toPath).collect(Collectors.toList()))
-        .additionalArguments(additionalArguments)
-        .automaticRestart(automaticRestart)
-        .defaultGcsBucketName(defaultGcsBucketName)
+            getServices().stream().map(File::toPath).collect(Collectors.toList()))
+        .additionalArguments(getAdditionalArguments())
+        .automaticRestart(getAutomaticRestart())
+        .defaultGcsBucketName(getDefaultGcsBucketName())
         .environment(environment)
-        .host(host)
-        .jvmFlags(jvmFlags)
-        .port(port)
+        .host(getHost())
+        .jvmFlags(getJvmFlags())
+        .port(getPort())
         .projectId(processedProjectId)
         .build();
   }
 
   StopConfiguration toStopConfiguration() {
-    return StopConfiguration.builder().host(host).port(port).build();
+    return StopConfiguration.builder().host(getHost()).port(getPort()).build();
   }
 }
@@ -18,169 +18,214 @@
 package com.google.cloud.tools.gradle.appengine.standard;
 
 import com.google.cloud.tools.appengine.configuration.AppEngineWebXmlProjectStageConfiguration;
+import com.google.cloud.tools.gradle.appengine.core.InternalProperty;
 import com.google.cloud.tools.gradle.appengine.util.NullSafe;
 import java.io.File;
 import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.ProjectLayout;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.InputDirectory;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 import org.gradle.api.tasks.OutputDirectory;
 
 /** Extension element to define Stage configurations for App Engine Standard Environments. */
 public class StageStandardExtension {
 
-  private final Project project;
-
-  private File sourceDirectory;
-  private File stagingDirectory;
-  private File dockerfile;
-  private Boolean enableQuickstart;
-  private Boolean disableUpdateCheck;
-  private Boolean enableJarSplitting;
-  private String jarSplittingExcludes;
-  private String compileEncoding;
-  private Boolean deleteJsps;
-  private Boolean enableJarClasses;
-  private Boolean disableJarJsps;
-  private String runtime;
+  @InternalProperty private final ProjectLayout layout;
+
+  private final DirectoryProperty sourceDirectory;
+  private final DirectoryProperty stagingDirectory;
+  private final RegularFileProperty dockerfile;
+  private final Property<Boolean> enableQuickstart;
+  private final Property<Boolean> disableUpdateCheck;
+  private final Property<Boolean> enableJarSplitting;
+  private final Property<String> jarSplittingExcludes;
+  private final Property<String> compileEncoding;
+  private final Property<Boolean> deleteJsps;
+  private final Property<Boolean> enableJarClasses;
+  private final Property<Boolean> disableJarJsps;
+  private final Property<String> runtime;
+  private final Property<Boolean> configFromSources;
 
   /** Constuctor. */
   public StageStandardExtension(Project project) {
-    this.project = project;
+    layout = project.getLayout();
+    sourceDirectory = project.getLayout().directoryProperty();
+    stagingDirectory = project.getLayout().directoryProperty();
+    dockerfile = project.getLayout().fileProperty();
+    enableQuickstart = project.getObjects().property(Boolean.class);
+    disableUpdateCheck = project.getObjects().property(Boolean.class);
+    enableJarSplitting = project.getObjects().property(Boolean.class);
+    jarSplittingExcludes = project.getObjects().property(String.class);
+    compileEncoding = project.getObjects().property(String.class);
+    deleteJsps = project.getObjects().property(Boolean.class);
+    enableJarClasses = project.getObjects().property(Boolean.class);
+    disableJarJsps = project.getObjects().property(Boolean.class);
+    runtime = project.getObjects().property(String.class);
+    configFromSources = project.getObjects().property(Boolean.class);
+    configFromSources.set(false);
   }
 
   @InputDirectory
   public File getSourceDirectory() {
-    return sourceDirectory;
+    return sourceDirectory.getAsFile().getOrNull();
   }
 
   public void setSourceDirectory(Object sourceDirectory) {
-    this.sourceDirectory = project.file(sourceDirectory);
+    this.sourceDirectory.set(layout.files(sourceDirectory).getSingleFile());
+  }
+
+  @Internal("covered by getSourceDirectory")
+  public DirectoryProperty getSourceDirectoryProperty() {
+    return sourceDirectory;
   }
 
   @OutputDirectory
   public File getStagingDirectory() {
-    return stagingDirectory;
+    return stagingDirectory.getAsFile().getOrNull();
   }
 
   public void setStagingDirectory(Object stagingDirectory) {
-    this.stagingDirectory = project.file(stagingDirectory);
+    this.stagingDirectory.set(layout.files(stagingDirectory).getSingleFile());
+  }
+
+  @Internal("covered by getStagingDirectory")
+  public DirectoryProperty getStagingDirectoryProperty() {
+    return stagingDirectory;
   }
 
   @InputFile
   @Optional
   public File getDockerfile() {
-    return dockerfile;
+    return dockerfile.getAsFile().getOrNull();
   }
 
   public void setDockerfile(Object dockerfile) {
-    this.dockerfile = project.file(dockerfile);
+    this.dockerfile.set(layout.files(dockerfile).getSingleFile());
   }
 
   @Input
   @Optional
   public Boolean getEnableQuickstart() {
-    return enableQuickstart;
+    return enableQuickstart.getOrNull();
   }
 
   public void setEnableQuickstart(Boolean enableQuickstart) {
-    this.enableQuickstart = enableQuickstart;
+    this.enableQuickstart.set(enableQuickstart);
   }
 
   @Input
   @Optional
   public Boolean getDisableUpdateCheck() {
-    return disableUpdateCheck;
+    return disableUpdateCheck.getOrNull();
   }
 
   public void setDisableUpdateCheck(Boolean disableUpdateCheck) {
-    this.disableUpdateCheck = disableUpdateCheck;
+    this.disableUpdateCheck.set(disableUpdateCheck);
   }
 
   @Input
   @Optional
   public Boolean getEnableJarSplitting() {
-    return enableJarSplitting;
+    return enableJarSplitting.getOrNull();
   }
 
   public void setEnableJarSplitting(Boolean enableJarSplitting) {
-    this.enableJarSplitting = enableJarSplitting;
+    this.enableJarSplitting.set(enableJarSplitting);
   }
 
   @Input
   @Optional
   public String getJarSplittingExcludes() {
-    return jarSplittingExcludes;
+    return jarSplittingExcludes.getOrNull();
   }
 
   public void setJarSplittingExcludes(String jarSplittingExcludes) {
-    this.jarSplittingExcludes = jarSplittingExcludes;
+    this.jarSplittingExcludes.set(jarSplittingExcludes);
   }
 
   @Input
   @Optional
   public String getCompileEncoding() {
-    return compileEncoding;
+    return compileEncoding.getOrNull();
   }
 
   public void setCompileEncoding(String compileEncoding) {
-    this.compileEncoding = compileEncoding;
+    this.compileEncoding.set(compileEncoding);
   }
 
   @Input
   @Optional
   public Boolean getDeleteJsps() {
-    return deleteJsps;
+    return deleteJsps.getOrNull();
   }
 
   public void setDeleteJsps(Boolean deleteJsps) {
-    this.deleteJsps = deleteJsps;
+    this.deleteJsps.set(deleteJsps);
   }
 
   @Input
   @Optional
   public Boolean getEnableJarClasses() {
-    return enableJarClasses;
+    return enableJarClasses.getOrNull();
   }
 
   public void setEnableJarClasses(Boolean enableJarClasses) {
-    this.enableJarClasses = enableJarClasses;
+    this.enableJarClasses.set(enableJarClasses);
   }
 
   @Input
   @Optional
   public Boolean getDisableJarJsps() {
-    return disableJarJsps;
+    return disableJarJsps.getOrNull();
   }
 
   public void setDisableJarJsps(Boolean disableJarJsps) {
-    this.disableJarJsps = disableJarJsps;
+    this.disableJarJsps.set(disableJarJsps);
   }
 
   @Input
   @Optional
   public String getRuntime() {
-    return runtime;
+    return runtime.getOrNull();
   }
 
   public void setRuntime(String runtime) {
-    this.runtime = runtime;
+    this.runtime.set(runtime);
+  }
+
+  /**
+   * Convert the configuration descriptors for the configuration deploy tasks from the war's
+   * webAppDir, without staging the application. Descriptors the war task filters or generates are
+   * not seen. Defaults to false.
+   */
+  @Internal("only selects the directory configuration is deployed from")
+  public boolean getConfigFromSources() {
+    return configFromSources.get();
+  }
+
+  public void setConfigFromSources(boolean configFromSources) {
+    this.configFromSources.set(configFromSources);
   }
 
   AppEngineWebXmlProjectStageConfiguration toStageStandardConfiguration() {
     return AppEngineWebXmlProjectStageConfiguration.builder(
-            sourceDirectory.toPath(), stagingDirectory.toPath())
-        .compileEncoding(compileEncoding)
-        .deleteJsps(deleteJsps)
-        .disableJarJsps(disableJarJsps)
-        .dockerfile(NullSafe.convert(dockerfile, File::toPath))
-        .disableUpdateCheck(disableUpdateCheck)
-        .enableJarClasses(enableJarClasses)
-        .enableJarSplitting(enableJarSplitting)
-        .enableQuickstart(enableQuickstart)
-        .jarSplittingExcludes(jarSplittingExcludes)
-        .runtime(runtime)
+            getSourceDirectory().toPath(), getStagingDirectory().toPath())
+        .compileEncoding(getCompileEncoding())
+        .deleteJsps(getDeleteJsps())
+        .disableJarJsps(getDisableJarJsps())
+        .dockerfile(NullSafe.convert(getDockerfile(), File::toPath))
+        .disableUpdateCheck(getDisableUpdateCheck())
+        .enableJarClasses(getEnableJarClasses())
+        .enableJarSplitting(getEnableJarSplitting())
+        .enableQuickstart(getEnableQuickstart())
+        .jarSplittingExcludes(getJarSplittingExcludes())
+        .runtime(getRuntime())
         .build();
   }
 }
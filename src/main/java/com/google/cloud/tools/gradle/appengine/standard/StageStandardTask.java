@@ -20,15 +20,19 @@ package com.google.cloud.tools.gradle.appengine.standard;
 import com.google.cloud.tools.appengine.AppEngineException;
 import com.google.cloud.tools.appengine.operations.AppCfg;
 import com.google.cloud.tools.gradle.appengine.core.CloudSdkOperations;
+import com.google.cloud.tools.gradle.appengine.core.CloudSdkTask;
+import com.google.cloud.tools.gradle.appengine.util.FileUtil;
+import java.io.IOException;
+import java.util.function.Supplier;
 import org.gradle.api.DefaultTask;
 import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.TaskAction;
 
 /** Stage App Engine Standard Environment applications for deployment. */
-public class StageStandardTask extends DefaultTask {
+public class StageStandardTask extends DefaultTask implements CloudSdkTask {
 
   private StageStandardExtension stageStandardExtension;
-  private AppCfg appCfg;
+  private Supplier<AppCfg> appCfg;
 
   @Nested
   public StageStandardExtension getStageStandardExtension() {
@@ -39,15 +43,16 @@ public class StageStandardTask extends DefaultTask {
     this.stageStandardExtension = stageStandardExtension;
   }
 
-  public void setAppCfg(AppCfg appCfg) {
+  public void setAppCfg(Supplier<AppCfg> appCfg) {
     this.appCfg = appCfg;
   }
 
   /** Task entrypoint : stage the standard app. */
   @TaskAction
-  public void stageAction() throws AppEngineException {
-    getProject().delete(stageStandardExtension.getStagingDirectory());
+  public void stageAction() throws AppEngineException, IOException {
+    FileUtil.deleteRecursively(stageStandardExtension.getStagingDirectory());
     appCfg
+        .get()
         .newStaging(CloudSdkOperations.getDefaultHandler(getLogger()))
         .stageStandard(stageStandardExtension.toStageStandardConfiguration());
   }
@@ -23,11 +23,13 @@ import com.google.cloud.tools.gradle.appengine.appyaml.AppEngineAppYamlPlugin;
 import com.google.cloud.tools.gradle.appengine.core.DeployExtension;
 import com.google.cloud.tools.gradle.appengine.standard.AppEngineStandardPlugin;
 import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import org.gradle.api.Project;
 import org.gradle.api.internal.project.ProjectInternal;
 import org.gradle.api.plugins.ExtensionAware;
@@ -97,6 +99,18 @@ public class TestProject {
     Files.copy(buildFileContent, buildFile);
   }
 
+  /** Append a hook to the build file that logs every App Engine task that is realized. */
+  public TestProject addTaskRealizationLogger() throws IOException {
+    Path buildFile = projectRoot.toPath().resolve("build.gradle");
+    try (InputStream loggerContent =
+        getClass()
+            .getClassLoader()
+            .getResourceAsStream("projects/AppEnginePluginTest/task-realization-logger.gradle")) {
+      Files.write(buildFile, ByteStreams.toByteArray(loggerContent), StandardOpenOption.APPEND);
+    }
+    return this;
+  }
+
   /** Add a minimal appengine-web.xml file in the standard location. */
   public TestProject addAppEngineWebXml() throws IOException {
     Path webInf = projectRoot.toPath().resolve("src/main/webapp/WEB-INF");
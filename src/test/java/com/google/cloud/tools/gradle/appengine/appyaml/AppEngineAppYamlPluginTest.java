@@ -18,6 +18,7 @@
 package com.google.cloud.tools.gradle.appengine.appyaml;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -82,6 +83,28 @@ public class AppEngineAppYamlPluginTest {
     }
   }
 
+  @Test
+  public void testHelp_noAppEngineTasksRealized() throws IOException {
+    BuildResult buildResult =
+        createTestProject().addTaskRealizationLogger().applyGradleRunner("help");
+
+    assertThat(buildResult.getOutput(), not(containsString("Realized App Engine task")));
+  }
+
+  @Test
+  public void testDeploy_onlyTaskGraphRealized() throws IOException {
+    BuildResult buildResult =
+        createTestProject()
+            .addTaskRealizationLogger()
+            .applyGradleRunner("appengineDeploy", "--dry-run");
+
+    assertThat(
+        buildResult.getOutput(), containsString("Realized App Engine task: :appengineDeploy"));
+    assertThat(
+        buildResult.getOutput(),
+        not(containsString("Realized App Engine task: :appengineShowConfiguration")));
+  }
+
   @Test
   public void testLogin_taskTree() throws IOException {
     BuildResult buildResult =
@@ -103,8 +126,8 @@ public class AppEngineAppYamlPluginTest {
             ":classes",
             ":war",
             ":assemble",
-            ":downloadCloudSdk",
             ":appengineStage",
+            ":downloadCloudSdk",
             ":appengineDeploy");
     assertEquals(expected, BuildResultFilter.extractTasks(buildResult));
   }
@@ -121,8 +144,8 @@ public class AppEngineAppYamlPluginTest {
             ":classes",
             ":war",
             ":assemble",
-            ":checkCloudSdk",
             ":appengineStage",
+            ":checkCloudSdk",
             ":appengineDeploy");
     assertEquals(expected, BuildResultFilter.extractTasks(buildResult));
   }
@@ -17,10 +17,19 @@
 package com.google.cloud.tools.gradle.appengine.core;
 
 import com.google.cloud.tools.gradle.appengine.TestProject;
+import com.google.cloud.tools.gradle.appengine.appyaml.AppEngineAppYamlPlugin;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import org.gradle.api.Project;
+import org.gradle.api.Task;
+import org.gradle.api.internal.project.ProjectInternal;
+import org.gradle.api.plugins.ExtensionAware;
+import org.gradle.api.plugins.JavaPlugin;
+import org.gradle.testfixtures.ProjectBuilder;
 import org.hamcrest.Matchers;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -59,4 +68,176 @@ public class AppEngineCorePluginConfigurationTest {
                 .getByPath(AppEngineCorePluginConfiguration.DOWNLOAD_CLOUD_SDK_TASK_NAME);
     Assert.assertEquals(0, task.getComponents().size());
   }
+
+  @Test
+  public void testCreateDownloadSdkTask_installProfile() {
+    Project project = ProjectBuilder.builder().withProjectDir(testProjectDir.getRoot()).build();
+    project.getPluginManager().apply(JavaPlugin.class);
+    project.getPluginManager().apply(AppEngineAppYamlPlugin.class);
+    Object appengineExt =
+        project.getExtensions().getByName(AppEngineCorePluginConfiguration.APPENGINE_EXTENSION);
+    ((ExtensionAware) appengineExt)
+        .getExtensions()
+        .getByType(ToolsExtension.class)
+        .setInstallProfile("local-run");
+    ((ProjectInternal) project).evaluate();
+
+    DownloadCloudSdkTask task =
+        (DownloadCloudSdkTask)
+            project
+                .getTasks()
+                .getByPath(AppEngineCorePluginConfiguration.DOWNLOAD_CLOUD_SDK_TASK_NAME);
+    Assert.assertEquals(
+        Collections.singletonList(SdkComponent.APP_ENGINE_JAVA), task.getComponents());
+  }
+
+  @Test
+  public void testCreateDownloadSdkTask_batchComponentInstall() {
+    Project project = ProjectBuilder.builder().withProjectDir(testProjectDir.getRoot()).build();
+    project.getPluginManager().apply(JavaPlugin.class);
+    project.getPluginManager().apply(AppEngineAppYamlPlugin.class);
+    Object appengineExt =
+        project.getExtensions().getByName(AppEngineCorePluginConfiguration.APPENGINE_EXTENSION);
+    ((ExtensionAware) appengineExt)
+        .getExtensions()
+        .getByType(ToolsExtension.class)
+        .setBatchComponentInstall(true);
+    ((ProjectInternal) project).evaluate();
+
+    Assert.assertTrue(SharedCloudSdk.get(project).isBatchComponentInstall());
+  }
+
+  @Test
+  public void testCreateCleanCloudSdkCacheTask_managedCloudSdk() {
+    Project project = new TestProject(testProjectDir.getRoot()).applyAppYamlProjectBuilder();
+
+    Assert.assertNotNull(
+        project
+            .getTasks()
+            .findByName(AppEngineCorePluginConfiguration.CLEAN_CLOUD_SDK_CACHE_TASK_NAME));
+  }
+
+  @Test
+  public void testCreateCleanCloudSdkCacheTask_userCloudSdk() throws IOException {
+    Project project = ProjectBuilder.builder().withProjectDir(testProjectDir.getRoot()).build();
+    project.getPluginManager().apply(JavaPlugin.class);
+    project.getPluginManager().apply(AppEngineAppYamlPlugin.class);
+    Object appengineExt =
+        project.getExtensions().getByName(AppEngineCorePluginConfiguration.APPENGINE_EXTENSION);
+    ToolsExtension tools =
+        ((ExtensionAware) appengineExt).getExtensions().getByType(ToolsExtension.class);
+    tools.setCloudSdkHome(testProjectDir.newFolder("google-cloud-sdk"));
+    tools.setCloudSdkCacheMaxVersions(1);
+    ((ProjectInternal) project).evaluate();
+
+    // the user's own Cloud SDK is never cleaned
+    Assert.assertNull(
+        project
+            .getTasks()
+            .findByName(AppEngineCorePluginConfiguration.CLEAN_CLOUD_SDK_CACHE_TASK_NAME));
+  }
+
+  @Test
+  public void testCreateDeployServicesTask_onRootProject() {
+    Project rootProject = ProjectBuilder.builder().withProjectDir(testProjectDir.getRoot()).build();
+    Project service = ProjectBuilder.builder().withName("service").withParent(rootProject).build();
+    service.getPluginManager().apply(JavaPlugin.class);
+    service.getPluginManager().apply(AppEngineAppYamlPlugin.class);
+
+    Task deployServicesTask =
+        rootProject
+            .getTasks()
+            .findByName(AppEngineCorePluginConfiguration.DEPLOY_SERVICES_TASK_NAME);
+    Assert.assertNotNull(deployServicesTask);
+    Assert.assertEquals(AppEngineRootPlugin.TASK_GROUP, deployServicesTask.getGroup());
+    Assert.assertNull(
+        service.getTasks().findByName(AppEngineCorePluginConfiguration.DEPLOY_SERVICES_TASK_NAME));
+  }
+
+  @Test
+  public void testCreateDeployServicesTask_doesNotCreateDeployTasks() {
+    Project rootProject = ProjectBuilder.builder().withProjectDir(testProjectDir.getRoot()).build();
+    rootProject.getPluginManager().apply(JavaPlugin.class);
+    rootProject.getPluginManager().apply(AppEngineAppYamlPlugin.class);
+    List<Task> created = new ArrayList<>();
+    rootProject.getTasks().withType(DeployTask.class).configureEach(created::add);
+
+    Task deployServicesTask =
+        rootProject
+            .getTasks()
+            .getByName(AppEngineCorePluginConfiguration.DEPLOY_SERVICES_TASK_NAME);
+
+    Assert.assertEquals(
+        AppEngineAppYamlPlugin.APP_ENGINE_APP_YAML_TASK_GROUP, deployServicesTask.getGroup());
+    Assert.assertTrue(created.isEmpty());
+  }
+
+  @Test
+  public void testCreateDeployWaitTask_onRootProject() {
+    Project rootProject = ProjectBuilder.builder().withProjectDir(testProjectDir.getRoot()).build();
+    Project service = ProjectBuilder.builder().withName("service").withParent(rootProject).build();
+    service.getPluginManager().apply(JavaPlugin.class);
+    service.getPluginManager().apply(AppEngineAppYamlPlugin.class);
+
+    Task deployWaitTask =
+        rootProject.getTasks().findByName(AppEngineCorePluginConfiguration.DEPLOY_WAIT_TASK_NAME);
+    Assert.assertNotNull(deployWaitTask);
+    Assert.assertNull(
+        service.getTasks().findByName(AppEngineCorePluginConfiguration.DEPLOY_WAIT_TASK_NAME));
+    Assert.assertTrue(
+        deployWaitTask
+            .getMustRunAfter()
+            .getDependencies(deployWaitTask)
+            .contains(
+                service.getTasks().getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME)));
+  }
+
+  @Test
+  public void testDeployWaitTask_findsProjectsLazily() {
+    Project rootProject = ProjectBuilder.builder().withProjectDir(testProjectDir.getRoot()).build();
+    Project first = ProjectBuilder.builder().withName("first").withParent(rootProject).build();
+    first.getPluginManager().apply(JavaPlugin.class);
+    first.getPluginManager().apply(AppEngineAppYamlPlugin.class);
+    Task deployWaitTask =
+        rootProject.getTasks().getByName(AppEngineCorePluginConfiguration.DEPLOY_WAIT_TASK_NAME);
+
+    // configured after the root project's task was realized
+    Project second = ProjectBuilder.builder().withName("second").withParent(rootProject).build();
+    second.getPluginManager().apply(JavaPlugin.class);
+    second.getPluginManager().apply(AppEngineAppYamlPlugin.class);
+
+    Assert.assertTrue(
+        deployWaitTask
+            .getMustRunAfter()
+            .getDependencies(deployWaitTask)
+            .containsAll(
+                Arrays.asList(
+                    first.getTasks().getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME),
+                    second
+                        .getTasks()
+                        .getByName(AppEngineCorePluginConfiguration.DEPLOY_TASK_NAME))));
+  }
+
+  @Test
+  public void testCloudSdkTasks_dependOnDownloadSdkTask() {
+    Project project = new TestProject(testProjectDir.getRoot()).applyAppYamlProjectBuilder();
+
+    // registered after evaluation, the dependency must still be wired
+    Task lateCloudSdkTask = project.getTasks().create("customDeployCron", DeployCronTask.class);
+    Task showConfigurationTask =
+        project.getTasks().getByPath(AppEngineCorePluginConfiguration.SHOW_CONFIG_TASK_NAME);
+    Task downloadCloudSdkTask =
+        project.getTasks().getByPath(AppEngineCorePluginConfiguration.DOWNLOAD_CLOUD_SDK_TASK_NAME);
+
+    Assert.assertTrue(
+        lateCloudSdkTask
+            .getTaskDependencies()
+            .getDependencies(lateCloudSdkTask)
+            .contains(downloadCloudSdkTask));
+    Assert.assertFalse(
+        showConfigurationTask
+            .getTaskDependencies()
+            .getDependencies(showConfigurationTask)
+            .contains(downloadCloudSdkTask));
+  }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
+import com.google.cloud.tools.appengine.operations.Gcloud;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import org.gradle.api.logging.Logger;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+public class AsyncDeploymentTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private final Logger logger = Mockito.mock(Logger.class);
+  private DeployOperations deployOperations;
+  private Path argsFile;
+  private Path appYaml;
+
+  /** Setup AsyncDeploymentTest. */
+  @Before
+  public void setUp() throws IOException {
+    // the fake gcloud is a shell script
+    Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+    deployOperations = new DeployOperations(tmpDir.getRoot().toPath().resolve("operations"));
+    argsFile = tmpDir.getRoot().toPath().resolve("args");
+    appYaml = tmpDir.newFile("app.yaml").toPath();
+  }
+
+  @Test
+  public void testDeploy_recordsOperation() throws AppEngineException, IOException {
+    AsyncDeployment deployment =
+        new AsyncDeployment(
+            newAsyncGcloud(
+                "echo \"$@\" > '" + argsFile + "'",
+                "echo 'Updating service [default]...' >&2",
+                "echo 'Operation [apps/my-project/operations/op-1] is running.' >&2"),
+            deployOperations,
+            logger);
+
+    List<String> operations = deployment.deploy(newRetrier(), newConfig());
+
+    Assert.assertEquals(ImmutableList.of("apps/my-project/operations/op-1"), operations);
+    Assert.assertEquals(operations, deployOperations.getPending());
+    String args = new String(Files.readAllBytes(argsFile), StandardCharsets.UTF_8);
+    Assert.assertTrue(args, args.startsWith("app deploy " + appYaml + " --project my-project"));
+  }
+
+  @Test
+  public void testDeploy_addsAsyncFlag() throws AppEngineException, IOException {
+    Path flagsFile = tmpDir.getRoot().toPath().resolve("flags");
+    AsyncDeployment deployment =
+        new AsyncDeployment(
+            newAsyncGcloud(
+                "while [ $# -gt 0 ]; do",
+                "  if [ \"$1\" = --flags-file ]; then cat \"$2\" > '" + flagsFile + "'; fi",
+                "  shift",
+                "done"),
+            deployOperations,
+            logger);
+
+    deployment.deploy(newRetrier(), newConfig());
+
+    Assert.assertEquals(
+        ImmutableList.of("--async: true"), Files.readAllLines(flagsFile, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testDeploy_noOperationReported() throws AppEngineException, IOException {
+    AsyncDeployment deployment =
+        new AsyncDeployment(
+            newAsyncGcloud("echo 'Updating service [default]...'"), deployOperations, logger);
+
+    List<String> operations = deployment.deploy(newRetrier(), newConfig());
+
+    Assert.assertTrue(operations.isEmpty());
+    Assert.assertTrue(deployOperations.getPending().isEmpty());
+    Mockito.verify(logger).warn(Mockito.contains("appengineDeployWait can't wait for it"));
+  }
+
+  @Test
+  public void testDeploy_failure() throws IOException {
+    AsyncDeployment deployment =
+        new AsyncDeployment(
+            newAsyncGcloud("echo 'ERROR: (gcloud.app.deploy) Permission denied' >&2", "exit 1"),
+            deployOperations,
+            logger);
+
+    try {
+      deployment.deploy(newRetrier(), newConfig());
+      Assert.fail();
+    } catch (AppEngineException ex) {
+      Assert.assertTrue(ex.getMessage(), ex.getMessage().startsWith("Deployment failed"));
+    }
+    Assert.assertTrue(deployOperations.getPending().isEmpty());
+  }
+
+  private DeployConfiguration newConfig() {
+    return DeployConfiguration.builder(ImmutableList.of(appYaml)).projectId("my-project").build();
+  }
+
+  private DeployRetrier newRetrier() {
+    return new DeployRetrier(
+        logger, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO, duration -> {});
+  }
+
+  /** The async gcloud of a Cloud SDK whose gcloud runs {@code lines}. */
+  private Gcloud newAsyncGcloud(String... lines) throws IOException {
+    Path sdkHome = FakeCloudSdk.create(tmpDir.newFolder("sdk").toPath(), lines);
+    return new CloudSdkOperations(sdkHome.toFile(), new GcloudSettings(null, null, null, null))
+        .getAsyncGcloud();
+  }
+}
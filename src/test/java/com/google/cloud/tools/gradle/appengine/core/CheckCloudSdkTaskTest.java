@@ -25,12 +25,18 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundExce
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkOutOfDateException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.CloudSdkVersion;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -39,6 +45,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class CheckCloudSdkTaskTest {
 
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
   @Mock private CloudSdk sdk;
 
   private CheckCloudSdkTask checkCloudSdkTask;
@@ -112,4 +120,49 @@ public class CheckCloudSdkTaskTest {
     Mockito.verify(sdk, Mockito.never()).validateAppEngineJavaComponents();
     Mockito.verifyNoMoreInteractions(sdk);
   }
+
+  @Test
+  public void testCheckCloudSdkAction_recordsValidatedVersion()
+      throws CloudSdkVersionFileException, CloudSdkNotFoundException, CloudSdkOutOfDateException,
+          AppEngineJavaComponentsNotInstalledException, IOException {
+    checkCloudSdkTask.setVersion("192.0.0");
+    when(sdk.getVersion()).thenReturn(new CloudSdkVersion("192.0.0"));
+    Assert.assertFalse(checkCloudSdkTask.getValidatedVersion().isPresent());
+
+    checkCloudSdkTask.checkCloudSdkAction();
+
+    File marker = checkCloudSdkTask.getMarkerFile().getAsFile().get();
+    Assert.assertEquals(
+        "192.0.0", new String(Files.readAllBytes(marker.toPath()), StandardCharsets.UTF_8));
+    Assert.assertEquals("192.0.0", checkCloudSdkTask.getValidatedVersion().get());
+  }
+
+  @Test
+  public void testCheckCloudSdkAction_failureRecordsNothing()
+      throws CloudSdkVersionFileException, CloudSdkNotFoundException, CloudSdkOutOfDateException,
+          AppEngineJavaComponentsNotInstalledException {
+    checkCloudSdkTask.setVersion("192.0.0");
+    checkCloudSdkTask.requiresAppEngineJava(true);
+    when(sdk.getVersion()).thenReturn(new CloudSdkVersion("192.0.0"));
+    Mockito.doThrow(new AppEngineJavaComponentsNotInstalledException("missing"))
+        .when(sdk)
+        .validateAppEngineJavaComponents();
+    try {
+      checkCloudSdkTask.checkCloudSdkAction();
+      Assert.fail();
+    } catch (AppEngineJavaComponentsNotInstalledException ex) {
+      Assert.assertFalse(checkCloudSdkTask.getValidatedVersion().isPresent());
+    }
+  }
+
+  @Test
+  public void testGetVersionFile() throws IOException {
+    File sdkHome = tmpDir.newFolder("sdk");
+    checkCloudSdkTask.setCloudSdkHome(sdkHome);
+    Assert.assertNull(checkCloudSdkTask.getVersionFile());
+
+    File versionFile = new File(sdkHome, "VERSION");
+    Files.write(versionFile.toPath(), "192.0.0".getBytes(StandardCharsets.UTF_8));
+    Assert.assertEquals(versionFile, checkCloudSdkTask.getVersionFile());
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import org.gradle.api.GradleException;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CloudSdkArchiveTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Path sdkHome;
+  private CloudSdkArchive archive;
+
+  /** Setup CloudSdkArchiveTest. */
+  @Before
+  public void setup() throws IOException {
+    // executable bits and symlinks are only packed on posix systems
+    Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+
+    sdkHome = tmpDir.getRoot().toPath().resolve("managed/192.0.0/google-cloud-sdk");
+    Files.createDirectories(sdkHome.resolve("bin"));
+    Path gcloud = sdkHome.resolve("bin/gcloud");
+    Files.write(gcloud, "#!/bin/sh\n".getBytes(StandardCharsets.UTF_8));
+    Assert.assertTrue(gcloud.toFile().setExecutable(true));
+    Files.write(sdkHome.resolve("VERSION"), "192.0.0".getBytes(StandardCharsets.UTF_8));
+    Files.createSymbolicLink(sdkHome.resolve("bin/gcloud-link"), Paths.get("gcloud"));
+
+    archive = new CloudSdkArchive(new File(tmpDir.getRoot(), "cache/google-cloud-sdk.tar.gz"));
+  }
+
+  @Test
+  public void testPackUnpack() throws IOException {
+    archive.pack(sdkHome, Collections.singletonList(SdkComponent.APP_ENGINE_JAVA));
+    Path restored = tmpDir.getRoot().toPath().resolve("restored/192.0.0/google-cloud-sdk");
+
+    archive.unpack(restored);
+
+    Assert.assertEquals(
+        "192.0.0",
+        new String(Files.readAllBytes(restored.resolve("VERSION")), StandardCharsets.UTF_8));
+    Assert.assertTrue(Files.isExecutable(restored.resolve("bin/gcloud")));
+    Assert.assertTrue(Files.isSymbolicLink(restored.resolve("bin/gcloud-link")));
+  }
+
+  @Test
+  public void testMatches() throws IOException {
+    Path other = tmpDir.getRoot().toPath().resolve("restored/193.0.0/google-cloud-sdk");
+    Assert.assertFalse(archive.matches(sdkHome, Collections.emptyList()));
+
+    archive.pack(sdkHome, Collections.singletonList(SdkComponent.APP_ENGINE_JAVA));
+
+    Assert.assertTrue(archive.matches(sdkHome, Collections.emptyList()));
+    Assert.assertTrue(
+        archive.matches(sdkHome, Collections.singletonList(SdkComponent.APP_ENGINE_JAVA)));
+    Assert.assertFalse(
+        archive.matches(sdkHome, Arrays.asList(SdkComponent.APP_ENGINE_JAVA, SdkComponent.BETA)));
+    Assert.assertFalse(archive.matches(other, Collections.emptyList()));
+  }
+
+  @Test
+  public void testUnpack_checksumMismatch() throws IOException {
+    archive.pack(sdkHome, Collections.emptyList());
+    try (OutputStream out =
+        Files.newOutputStream(archive.getArchive().toPath(), StandardOpenOption.APPEND)) {
+      out.write(0);
+    }
+    Path restored = tmpDir.getRoot().toPath().resolve("restored/192.0.0/google-cloud-sdk");
+
+    try {
+      archive.unpack(restored);
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertTrue(ex.getMessage().startsWith("Checksum mismatch for "));
+    }
+    Assert.assertFalse(Files.exists(restored));
+  }
+
+  @Test
+  public void testUnpack_missingManifest() throws IOException {
+    archive.pack(sdkHome, Collections.emptyList());
+    Files.delete(archive.getManifest().toPath());
+
+    try {
+      archive.unpack(sdkHome.resolveSibling("restored"));
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals(
+          "Missing manifest " + archive.getManifest() + " for " + archive.getArchive(),
+          ex.getMessage());
+    }
+  }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.common.hash.Hashing;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.gradle.api.GradleException;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CloudSdkMirrorTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private File mirrorDirectory;
+  private File cacheDirectory;
+  private CloudSdkMirror mirror;
+  private String os;
+
+  /** Setup CloudSdkMirrorTest. */
+  @Before
+  public void setup() throws IOException {
+    // tar.gz archives are published for linux and mac only
+    String osName = System.getProperty("os.name").toLowerCase();
+    Assume.assumeFalse(osName.startsWith("windows"));
+    os = osName.startsWith("mac") ? "darwin" : "linux";
+
+    mirrorDirectory = tmpDir.newFolder("mirror");
+    cacheDirectory = tmpDir.newFolder("cache");
+    mirror = new CloudSdkMirror(mirrorDirectory, cacheDirectory);
+  }
+
+  private File writeFakeSdkArchive(String version) throws IOException {
+    return writeFakeSdkArchive(version, CloudSdkMirror.getArchName());
+  }
+
+  private File writeFakeSdkArchive(String version, String arch) throws IOException {
+    File archive =
+        new File(
+            mirrorDirectory, "google-cloud-sdk-" + version + "-" + os + "-" + arch + ".tar.gz");
+    try (OutputStream out = Files.newOutputStream(archive.toPath());
+        TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+      TarArchiveEntry directory = new TarArchiveEntry("google-cloud-sdk/bin/");
+      tar.putArchiveEntry(directory);
+      tar.closeArchiveEntry();
+      writeEntry(tar, "google-cloud-sdk/bin/gcloud", "#!/bin/sh\n", 0755);
+      writeEntry(tar, "google-cloud-sdk/VERSION", version, 0644);
+    }
+    return archive;
+  }
+
+  private static void writeEntry(TarArchiveOutputStream tar, String name, String content, int mode)
+      throws IOException {
+    byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    TarArchiveEntry entry = new TarArchiveEntry(name);
+    entry.setSize(bytes.length);
+    entry.setMode(mode);
+    tar.putArchiveEntry(entry);
+    tar.write(bytes);
+    tar.closeArchiveEntry();
+  }
+
+  private static void writeLink(TarArchiveOutputStream tar, String name, String linkName)
+      throws IOException {
+    TarArchiveEntry entry = new TarArchiveEntry(name, TarArchiveEntry.LF_SYMLINK);
+    entry.setLinkName(linkName);
+    tar.putArchiveEntry(entry);
+    tar.closeArchiveEntry();
+  }
+
+  private static String sha256(File file) throws IOException {
+    return com.google.common.io.Files.asByteSource(file).hash(Hashing.sha256()).toString();
+  }
+
+  @Test
+  public void testInstall_version() throws IOException {
+    File archive = writeFakeSdkArchive("192.0.0");
+    Path sdkHome = tmpDir.getRoot().toPath().resolve("managed/192.0.0/google-cloud-sdk");
+
+    mirror.install(sdkHome);
+
+    Assert.assertEquals(
+        "192.0.0",
+        new String(Files.readAllBytes(sdkHome.resolve("VERSION")), StandardCharsets.UTF_8));
+    Assert.assertTrue(Files.isExecutable(sdkHome.resolve("bin/gcloud")));
+    Assert.assertTrue(new File(cacheDirectory, sha256(archive) + "/" + archive.getName()).isFile());
+    Assert.assertFalse(Files.exists(sdkHome.resolveSibling("google-cloud-sdk.extract")));
+  }
+
+  @Test
+  public void testInstall_latestWithSingleArchive() throws IOException {
+    writeFakeSdkArchive("192.0.0");
+    Path sdkHome = tmpDir.getRoot().toPath().resolve("managed/LATEST/google-cloud-sdk");
+
+    mirror.install(sdkHome);
+
+    Assert.assertTrue(Files.isRegularFile(sdkHome.resolve("bin/gcloud")));
+  }
+
+  @Test
+  public void testFindArchive_latestWithManyArchives() throws IOException {
+    writeFakeSdkArchive("192.0.0");
+    writeFakeSdkArchive("193.0.0");
+    try {
+      mirror.findArchive(null);
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertTrue(ex.getMessage().contains("configure tools.cloudSdkVersion"));
+    }
+    Assert.assertEquals(
+        "google-cloud-sdk-193.0.0-" + os + "-" + CloudSdkMirror.getArchName() + ".tar.gz",
+        mirror.findArchive("193.0.0").getName());
+  }
+
+  @Test
+  public void testFindArchive_ignoresOtherArchitectures() throws IOException {
+    File archive = writeFakeSdkArchive("192.0.0");
+    writeFakeSdkArchive("192.0.0", "arm".equals(CloudSdkMirror.getArchName()) ? "x86_64" : "arm");
+
+    Assert.assertEquals(archive, mirror.findArchive(null));
+    Assert.assertEquals(archive, mirror.findArchive("192.0.0"));
+  }
+
+  @Test
+  public void testFindArchive_missingVersion() throws IOException {
+    writeFakeSdkArchive("192.0.0");
+    try {
+      mirror.findArchive("200.0.0");
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertTrue(ex.getMessage().startsWith("No Cloud SDK archive for version 200.0.0"));
+    }
+  }
+
+  @Test
+  public void testCache_checksumVerified() throws IOException {
+    File archive = writeFakeSdkArchive("192.0.0");
+    File checksum = new File(archive.getPath() + ".sha256");
+    Files.write(
+        checksum.toPath(),
+        (sha256(archive) + "  " + archive.getName()).getBytes(StandardCharsets.UTF_8));
+
+    File cached = mirror.cache(archive);
+
+    Assert.assertEquals(sha256(archive), sha256(cached));
+  }
+
+  @Test
+  public void testCache_checksumMismatch() throws IOException {
+    File archive = writeFakeSdkArchive("192.0.0");
+    Files.write(
+        new File(archive.getPath() + ".sha256").toPath(),
+        "0000".getBytes(StandardCharsets.UTF_8));
+    try {
+      mirror.cache(archive);
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertTrue(ex.getMessage().startsWith("Checksum mismatch for " + archive));
+    }
+    Assert.assertEquals(0, cacheDirectory.list().length);
+  }
+
+  @Test
+  public void testCache_doesNotReadCachedArchiveAgain() throws IOException {
+    File archive = writeFakeSdkArchive("192.0.0");
+    String sha256 = sha256(archive);
+    File cached = mirror.cache(archive);
+
+    // same name, size and modification time: the mirror copy is not read again
+    long lastModified = archive.lastModified();
+    Files.write(archive.toPath(), new byte[(int) archive.length()]);
+    Assert.assertTrue(archive.setLastModified(lastModified));
+
+    Assert.assertEquals(cached, mirror.cache(archive));
+    Assert.assertEquals(sha256, sha256(cached));
+  }
+
+  @Test
+  public void testCache_changedArchiveIsCachedAgain() throws IOException {
+    File archive = writeFakeSdkArchive("192.0.0");
+    File cached = mirror.cache(archive);
+
+    Files.write(archive.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+
+    File recached = mirror.cache(archive);
+    Assert.assertNotEquals(cached, recached);
+    Assert.assertEquals(sha256(archive), sha256(recached));
+  }
+
+  @Test
+  public void testGetComponentsSnapshot() throws IOException {
+    Assert.assertNull(mirror.getComponentsSnapshot());
+    File snapshot = new File(mirrorDirectory, CloudSdkMirror.COMPONENTS_SNAPSHOT);
+    Files.write(snapshot.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+    Assert.assertEquals(snapshot, mirror.getComponentsSnapshot());
+  }
+
+  @Test
+  public void testExtract_rejectsEntriesOutsideDestination() throws IOException {
+    File archive = new File(mirrorDirectory, "evil.tar.gz");
+    try (OutputStream out = Files.newOutputStream(archive.toPath());
+        TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+      writeEntry(tar, "../evil", "evil", 0644);
+    }
+    try {
+      CloudSdkMirror.extract(archive, tmpDir.newFolder("extract").toPath());
+      Assert.fail();
+    } catch (IOException ex) {
+      Assert.assertEquals(
+          "Archive entry is outside of the target directory: ../evil", ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testExtract_rejectsAbsoluteLinks() throws IOException {
+    File archive = new File(mirrorDirectory, "evil.tar.gz");
+    File outside = tmpDir.newFolder("outside");
+    try (OutputStream out = Files.newOutputStream(archive.toPath());
+        TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+      writeLink(tar, "dir", outside.getAbsolutePath());
+      writeEntry(tar, "dir/evil", "evil", 0644);
+    }
+    try {
+      CloudSdkMirror.extract(archive, tmpDir.newFolder("extract").toPath());
+      Assert.fail();
+    } catch (IOException ex) {
+      Assert.assertEquals(
+          "Archive link is outside of the target directory: dir -> " + outside.getAbsolutePath(),
+          ex.getMessage());
+    }
+    Assert.assertEquals(0, outside.list().length);
+  }
+
+  @Test
+  public void testExtract_rejectsRelativeLinksOutsideDestination() throws IOException {
+    File archive = new File(mirrorDirectory, "evil.tar.gz");
+    try (OutputStream out = Files.newOutputStream(archive.toPath());
+        TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+      writeLink(tar, "google-cloud-sdk/dir", "../..");
+      writeEntry(tar, "google-cloud-sdk/dir/evil", "evil", 0644);
+    }
+    try {
+      CloudSdkMirror.extract(archive, tmpDir.newFolder("extract").toPath());
+      Assert.fail();
+    } catch (IOException ex) {
+      Assert.assertEquals(
+          "Archive link is outside of the target directory: google-cloud-sdk/dir -> ../..",
+          ex.getMessage());
+    }
+    Assert.assertFalse(new File(tmpDir.getRoot(), "evil").exists());
+  }
+
+  @Test
+  public void testExtract_relativeLinksInsideDestination() throws IOException {
+    File archive = new File(mirrorDirectory, "links.tar.gz");
+    try (OutputStream out = Files.newOutputStream(archive.toPath());
+        TarArchiveOutputStream tar = new TarArchiveOutputStream(new GZIPOutputStream(out))) {
+      writeEntry(tar, "google-cloud-sdk/lib/gcloud.py", "print()", 0644);
+      writeLink(tar, "google-cloud-sdk/bin/gcloud.py", "../lib/gcloud.py");
+    }
+    Path destination = tmpDir.newFolder("extract").toPath();
+
+    CloudSdkMirror.extract(archive, destination);
+
+    Assert.assertTrue(Files.isSymbolicLink(destination.resolve("google-cloud-sdk/bin/gcloud.py")));
+    Assert.assertTrue(Files.isRegularFile(destination.resolve("google-cloud-sdk/bin/gcloud.py")));
+  }
+}
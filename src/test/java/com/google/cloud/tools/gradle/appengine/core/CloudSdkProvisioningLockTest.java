@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gradle.api.logging.Logging;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CloudSdkProvisioningLockTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Path sdkHome;
+  private Path lockFile;
+
+  @Before
+  public void setup() {
+    sdkHome = tmpDir.getRoot().toPath().resolve("LATEST/google-cloud-sdk");
+    lockFile = CloudSdkProvisioningLock.forSdkHome(sdkHome);
+  }
+
+  @Test
+  public void testAcquire_holdsFileLock() throws IOException, InterruptedException {
+    try (CloudSdkProvisioningLock ignored =
+            CloudSdkProvisioningLock.acquire(lockFile, Logging.getLogger(getClass()));
+        FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+      // the file is locked by this jvm, so another lock attempt on it must fail
+      channel.tryLock();
+      Assert.fail();
+    } catch (OverlappingFileLockException ex) {
+      // expected
+    }
+
+    // and after release, the file can be locked again
+    try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+      Assert.assertNotNull(channel.tryLock());
+    }
+  }
+
+  @Test
+  public void testAcquire_concurrentProvisionersInstallOnce() throws Exception {
+    AtomicInteger installs = new AtomicInteger();
+    AtomicInteger holders = new AtomicInteger();
+    AtomicInteger maxHolders = new AtomicInteger();
+
+    // each provisioner installs a fake sdk only if no other provisioner already did
+    Callable<Void> provisioner =
+        () -> {
+          try (CloudSdkProvisioningLock ignored =
+              CloudSdkProvisioningLock.acquire(lockFile, Logging.getLogger(getClass()))) {
+            maxHolders.accumulateAndGet(holders.incrementAndGet(), Math::max);
+            if (!Files.exists(sdkHome)) {
+              Thread.sleep(50);
+              Files.createDirectories(sdkHome);
+              installs.incrementAndGet();
+            }
+            holders.decrementAndGet();
+          }
+          return null;
+        };
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Void>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        results.add(executor.submit(provisioner));
+      }
+      for (Future<Void> result : results) {
+        result.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assert.assertEquals(1, installs.get());
+    Assert.assertEquals(1, maxHolders.get());
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CloudSdkPythonCompilerTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Path sdkHome;
+
+  @Before
+  public void setup() {
+    sdkHome = tmpDir.getRoot().toPath().resolve("google-cloud-sdk");
+  }
+
+  @Test
+  public void testFindPython_cloudSdkPython() {
+    Assert.assertEquals(
+        "/opt/python3.12",
+        CloudSdkPythonCompiler.findPython(
+            sdkHome, ImmutableMap.of("CLOUDSDK_PYTHON", "/opt/python3.12"), false));
+  }
+
+  @Test
+  public void testFindPython_bundled() throws IOException {
+    Path bundledPython = sdkHome.resolve("platform/bundledpythonunix/bin/python3");
+    Files.createDirectories(bundledPython.getParent());
+    Files.createFile(bundledPython);
+
+    Assert.assertEquals(
+        bundledPython.toString(),
+        CloudSdkPythonCompiler.findPython(sdkHome, Collections.emptyMap(), false));
+  }
+
+  @Test
+  public void testFindPython_bundledWindows() throws IOException {
+    Path bundledPython = sdkHome.resolve("platform/bundledpython/python.exe");
+    Files.createDirectories(bundledPython.getParent());
+    Files.createFile(bundledPython);
+
+    Assert.assertEquals(
+        bundledPython.toString(),
+        CloudSdkPythonCompiler.findPython(sdkHome, Collections.emptyMap(), true));
+  }
+
+  @Test
+  public void testFindPython_path() {
+    Assert.assertEquals(
+        "python3", CloudSdkPythonCompiler.findPython(sdkHome, Collections.emptyMap(), false));
+    Assert.assertEquals(
+        "python", CloudSdkPythonCompiler.findPython(sdkHome, Collections.emptyMap(), true));
+  }
+}
@@ -16,8 +16,10 @@
 
 package com.google.cloud.tools.gradle.appengine.core;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,7 +30,10 @@ import com.google.cloud.tools.appengine.operations.Gcloud;
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import org.gradle.api.Project;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.junit.Before;
@@ -63,6 +68,7 @@ public class DeployAllTaskTest {
     Project tempProject = ProjectBuilder.builder().build();
     deployExtension = new DeployExtension(tempProject);
     deployExtension.setDeployTargetResolver(deployTargetResolver);
+    deployExtension.setProjectId("test-project");
     deployCapture = ArgumentCaptor.forClass(DeployConfiguration.class);
     stageDir = tempFolder.newFolder("staging");
 
@@ -72,6 +78,7 @@ public class DeployAllTaskTest {
     deployAllTask.setStageDirectory(stageDir);
 
     when(gcloud.newDeployment(Mockito.any(ProcessHandler.class))).thenReturn(deploy);
+    when(deployTargetResolver.getProject("test-project")).thenReturn("test-project");
   }
 
   @Test
@@ -156,4 +163,52 @@ public class DeployAllTaskTest {
     assertTrue(captured.getDeployables().contains(appYaml));
     assertFalse(captured.getDeployables().contains(validInDifferentDirYaml));
   }
+
+  @Test
+  public void testDeployAllAction_skipUnchanged() throws AppEngineException, IOException {
+    when(deployTargetResolver.getVersion("v1")).thenReturn("v1");
+    deployExtension.setVersion("v1");
+    deployExtension.setSkipUnchanged(true);
+    deployExtension.setAppEngineDirectory(stageDir);
+    tempFolder.newFile("staging/app.yaml");
+    tempFolder.newFile("staging/cron.yaml");
+
+    deployAllTask.deployAllAction();
+    deployAllTask.deployAllAction();
+
+    verify(deploy, times(1)).deploy(Mockito.any(DeployConfiguration.class));
+  }
+
+  @Test
+  public void testDeployAllAction_redeployByDefault() throws AppEngineException, IOException {
+    when(deployTargetResolver.getVersion("v1")).thenReturn("v1");
+    deployExtension.setVersion("v1");
+    deployExtension.setAppEngineDirectory(stageDir);
+    tempFolder.newFile("staging/app.yaml");
+
+    deployAllTask.deployAllAction();
+    deployAllTask.deployAllAction();
+
+    verify(deploy, times(2)).deploy(Mockito.any(DeployConfiguration.class));
+  }
+
+  @Test
+  public void testDeployAllAction_unchangedConfigYaml() throws AppEngineException, IOException {
+    deployExtension.setSkipUnchanged(true);
+    deployExtension.setAppEngineDirectory(stageDir);
+    final Path appYaml = tempFolder.newFile("staging/app.yaml").toPath();
+    final Path cronYaml = tempFolder.newFile("staging/cron.yaml").toPath();
+    final Path queueYaml = tempFolder.newFile("staging/queue.yaml").toPath();
+
+    deployAllTask.deployAllAction();
+    Files.write(queueYaml, "queue: []".getBytes(StandardCharsets.UTF_8));
+    deployAllTask.deployAllAction();
+
+    verify(deploy, times(2)).deploy(deployCapture.capture());
+    assertEquals(
+        Arrays.asList(appYaml, cronYaml, queueYaml),
+        deployCapture.getAllValues().get(0).getDeployables());
+    assertEquals(
+        Arrays.asList(appYaml, queueYaml), deployCapture.getAllValues().get(1).getDeployables());
+  }
 }
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
+import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
+import com.google.cloud.tools.appengine.operations.Deployment;
+import com.google.cloud.tools.appengine.operations.Gcloud;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DeployConfigTaskTest {
+
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Mock private Gcloud gcloud;
+  @Mock private Deployment deployment;
+  @Mock private DeployTargetResolver deployTargetResolver;
+
+  private DeployExtension deployExtension;
+  private DeployCronTask cronTask;
+  private DeployQueueTask queueTask;
+  private File appEngineDir;
+
+  /** Setup DeployConfigTaskTest. */
+  @Before
+  public void setup() throws IOException {
+    Project tempProject = ProjectBuilder.builder().build();
+    appEngineDir = tempFolder.newFolder("appengine");
+    deployExtension = new DeployExtension(tempProject);
+    deployExtension.setDeployTargetResolver(deployTargetResolver);
+    deployExtension.setAppEngineDirectory(appEngineDir);
+    deployExtension.setServer("https://example.com");
+
+    cronTask = tempProject.getTasks().create("tempDeployCronTask", DeployCronTask.class);
+    cronTask.setDeployExtension(deployExtension);
+    cronTask.setGcloud(gcloud);
+    queueTask = tempProject.getTasks().create("tempDeployQueueTask", DeployQueueTask.class);
+    queueTask.setDeployExtension(deployExtension);
+    queueTask.setGcloud(gcloud);
+
+    when(gcloud.newDeployment(Mockito.any(ProcessHandler.class))).thenReturn(deployment);
+    when(deployTargetResolver.getProject(null)).thenReturn("test-project");
+  }
+
+  @Test
+  public void testDeployAction_single() throws AppEngineException, IOException {
+    tempFolder.newFile("appengine/cron.yaml");
+
+    cronTask.deployAction();
+
+    ArgumentCaptor<DeployProjectConfigurationConfiguration> captor =
+        ArgumentCaptor.forClass(DeployProjectConfigurationConfiguration.class);
+    verify(deployment).deployCron(captor.capture());
+    assertEquals(appEngineDir.toPath(), captor.getValue().getAppEngineDirectory());
+    assertEquals("test-project", captor.getValue().getProjectId());
+    verifyNoMoreInteractions(deployment);
+  }
+
+  @Test
+  public void testDeployAction_batch() throws AppEngineException, IOException {
+    Path cronYaml = tempFolder.newFile("appengine/cron.yaml").toPath();
+    Path queueYaml = tempFolder.newFile("appengine/queue.yaml").toPath();
+    setBatch();
+
+    cronTask.deployAction();
+    queueTask.deployAction();
+
+    ArgumentCaptor<DeployConfiguration> captor = ArgumentCaptor.forClass(DeployConfiguration.class);
+    verify(gcloud, times(1)).newDeployment(Mockito.any(ProcessHandler.class));
+    verify(deployment).deploy(captor.capture());
+    assertEquals(Arrays.asList(cronYaml, queueYaml), captor.getValue().getDeployables());
+    assertEquals("test-project", captor.getValue().getProjectId());
+    assertEquals("https://example.com", captor.getValue().getServer());
+    verifyNoMoreInteractions(deployment);
+  }
+
+  @Test
+  public void testDeployAction_batchMissingFile() throws AppEngineException, IOException {
+    tempFolder.newFile("appengine/cron.yaml");
+    setBatch();
+
+    try {
+      cronTask.deployAction();
+      fail();
+    } catch (GradleException ex) {
+      assertEquals(
+          "Failed to deploy configuration: "
+              + appEngineDir.toPath().resolve("queue.yaml")
+              + " not found.",
+          ex.getMessage());
+    }
+    verifyNoMoreInteractions(deployment);
+  }
+
+  @Test
+  public void testDeployAction_batchFailure() throws AppEngineException, IOException {
+    tempFolder.newFile("appengine/cron.yaml");
+    tempFolder.newFile("appengine/queue.yaml");
+    AppEngineException failure = new AppEngineException("deploy failed");
+    doThrow(failure).when(deployment).deploy(Mockito.any(DeployConfiguration.class));
+    setBatch();
+
+    for (DeployConfigTask task : Arrays.asList(cronTask, queueTask)) {
+      try {
+        task.deployAction();
+        fail();
+      } catch (AppEngineException ex) {
+        assertSame(failure, ex);
+      }
+    }
+    verify(deployment, times(1)).deploy(Mockito.any(DeployConfiguration.class));
+  }
+
+  @Test
+  public void testDeployAction_unchanged() throws AppEngineException, IOException {
+    Path cronYaml = tempFolder.newFile("appengine/cron.yaml").toPath();
+    deployExtension.setSkipUnchanged(true);
+
+    cronTask.deployAction();
+    cronTask.deployAction();
+    Files.write(cronYaml, "cron: []".getBytes(StandardCharsets.UTF_8));
+    cronTask.deployAction();
+
+    verify(deployment, times(2)).deployCron(Mockito.any());
+    assertEquals(
+        "test-project",
+        new String(
+            Files.readAllBytes(cronTask.getDeployedRecordFile().toPath()),
+            StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testInputs_projectNotResolved() throws AppEngineException, IOException {
+    assertNull(cronTask.getProjectId());
+    assertEquals("https://example.com", cronTask.getServer());
+    assertNull(cronTask.getConfigFile());
+    assertEquals("cron.yaml.deployed", cronTask.getDeployedRecordFile().getName());
+    verifyZeroInteractions(deployTargetResolver);
+
+    File cronYaml = tempFolder.newFile("appengine/cron.yaml");
+    cronTask.deployAction();
+
+    assertEquals(cronYaml, cronTask.getConfigFile());
+    verify(deployTargetResolver).getProject(null);
+  }
+
+  @Test
+  public void testDeployAction_missingFile() throws AppEngineException, IOException {
+    AppEngineException failure = new AppEngineException("cron.yaml not found");
+    doThrow(failure).when(deployment).deployCron(Mockito.any());
+
+    try {
+      cronTask.deployAction();
+      fail();
+    } catch (AppEngineException ex) {
+      assertSame(failure, ex);
+    }
+    assertFalse(cronTask.getDeployedRecordFile().exists());
+  }
+
+  @Test
+  public void testDeployAction_redeployByDefault() throws AppEngineException, IOException {
+    tempFolder.newFile("appengine/cron.yaml");
+
+    cronTask.deployAction();
+    cronTask.deployAction();
+
+    verify(deployment, times(2)).deployCron(Mockito.any());
+  }
+
+  @Test
+  public void testDeployAction_batchUnchanged() throws AppEngineException, IOException {
+    deployExtension.setSkipUnchanged(true);
+    tempFolder.newFile("appengine/cron.yaml");
+    Path queueYaml = tempFolder.newFile("appengine/queue.yaml").toPath();
+    cronTask.deployAction();
+    setBatch();
+
+    cronTask.deployAction();
+    queueTask.deployAction();
+
+    ArgumentCaptor<DeployConfiguration> captor = ArgumentCaptor.forClass(DeployConfiguration.class);
+    verify(deployment).deploy(captor.capture());
+    assertEquals(Arrays.asList(queueYaml), captor.getValue().getDeployables());
+  }
+
+  private void setBatch() {
+    DeployConfigBatch batch =
+        new DeployConfigBatch(deployExtension, Arrays.asList(cronTask, queueTask));
+    cronTask.setBatch(batch);
+    queueTask.setBatch(batch);
+  }
+}
@@ -21,6 +21,7 @@ import com.google.common.collect.ImmutableList;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import org.gradle.api.GradleException;
 import org.gradle.api.Project;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.junit.Assert;
@@ -106,4 +107,49 @@ public class DeployExtensionTest {
     Mockito.verify(deployTargetResolver).getVersion("test-version");
     Mockito.verifyNoMoreInteractions(deployTargetResolver);
   }
+
+  @Test
+  public void testToDeployConfiguration_contentHashVersion() {
+    DeployExtension testExtension = new DeployExtension(testProject);
+    testExtension.setDeployTargetResolver(deployTargetResolver);
+
+    testExtension.setProjectId("test-project-id");
+    testExtension.setVersion("CONTENT_HASH");
+
+    List<Path> projects = ImmutableList.of(Paths.get("project1"));
+    DeployConfiguration config = testExtension.toDeployConfiguration(projects, () -> "c0123");
+
+    Assert.assertEquals("processed-project-id", config.getProjectId());
+    Assert.assertEquals("c0123", config.getVersion());
+
+    Mockito.verify(deployTargetResolver).getProject("test-project-id");
+    Mockito.verifyNoMoreInteractions(deployTargetResolver);
+  }
+
+  @Test
+  public void testToDeployConfiguration_contentHashVersionUnsupported() {
+    DeployExtension testExtension = new DeployExtension(testProject);
+    testExtension.setDeployTargetResolver(deployTargetResolver);
+
+    testExtension.setProjectId("test-project-id");
+    testExtension.setVersion("CONTENT_HASH");
+
+    try {
+      testExtension.toDeployConfiguration(ImmutableList.of(Paths.get("project1")));
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals(
+          "appengine.deploy.version = 'CONTENT_HASH' is only supported by appengineDeploy and "
+              + "appengineDeployAll",
+          ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testDefaults_singleAttempt() {
+    DeployExtension testExtension = new DeployExtension(testProject);
+
+    Assert.assertEquals(1, testExtension.getMaxAttempts());
+    Assert.assertEquals(0, testExtension.getAttemptTimeoutSeconds());
+  }
 }
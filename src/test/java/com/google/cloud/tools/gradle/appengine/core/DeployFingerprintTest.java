@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeployFingerprintTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Path stageDirectory;
+  private Path storeDirectory;
+  private Path manifestDirectory;
+  private Path appYaml;
+
+  /** Setup DeployFingerprintTest. */
+  @Before
+  public void setUp() throws IOException {
+    stageDirectory = tmpDir.newFolder("staged-app").toPath();
+    storeDirectory = tmpDir.getRoot().toPath().resolve("fingerprints");
+    manifestDirectory = tmpDir.getRoot().toPath().resolve("manifests");
+    appYaml = write("app.yaml", "runtime: java8\nservice: api\n");
+    write("lib/app.jar", "classes");
+  }
+
+  private Path write(String path, String content) throws IOException {
+    Path file = stageDirectory.resolve(path);
+    Files.createDirectories(file.getParent());
+    return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private DeployFingerprint newFingerprint() {
+    return new DeployFingerprint(stageDirectory, storeDirectory, manifestDirectory);
+  }
+
+  private DeployConfiguration newConfig(String version) {
+    return DeployConfiguration.builder(ImmutableList.of(appYaml))
+        .projectId("test-project")
+        .version(version)
+        .build();
+  }
+
+  @Test
+  public void testGetContentHash_identicalContent() throws IOException {
+    String contentHash = newFingerprint().getContentHash();
+
+    Assert.assertEquals(contentHash, newFingerprint().getContentHash());
+    Assert.assertEquals("c" + contentHash.substring(0, 16), newFingerprint().getContentVersion());
+  }
+
+  @Test
+  public void testGetContentHash_changedContent() throws IOException {
+    String contentHash = newFingerprint().getContentHash();
+    write("lib/app.jar", "other classes");
+
+    Assert.assertNotEquals(contentHash, newFingerprint().getContentHash());
+  }
+
+  @Test
+  public void testGetContentHash_renamedFile() throws IOException {
+    String contentHash = newFingerprint().getContentHash();
+    Files.move(stageDirectory.resolve("lib/app.jar"), stageDirectory.resolve("lib/other.jar"));
+
+    Assert.assertNotEquals(contentHash, newFingerprint().getContentHash());
+  }
+
+  @Test
+  public void testIsDeployed() throws IOException {
+    DeployConfiguration config = newConfig("v1");
+    Assert.assertFalse(newFingerprint().isDeployed(config));
+
+    newFingerprint().recordDeployed(config);
+
+    Assert.assertTrue(newFingerprint().isDeployed(config));
+    Assert.assertTrue(Files.isRegularFile(storeDirectory.resolve("test-project/api/v1")));
+    Assert.assertFalse(newFingerprint().isDeployed(newConfig("v2")));
+  }
+
+  @Test
+  public void testIsDeployed_changedContent() throws IOException {
+    DeployConfiguration config = newConfig("v1");
+    newFingerprint().recordDeployed(config);
+    write("lib/app.jar", "other classes");
+
+    Assert.assertFalse(newFingerprint().isDeployed(config));
+  }
+
+  @Test
+  public void testIsDeployed_changedConfiguration() throws IOException {
+    newFingerprint().recordDeployed(newConfig("v1"));
+
+    DeployConfiguration promoted =
+        DeployConfiguration.builder(ImmutableList.of(appYaml))
+            .projectId("test-project")
+            .version("v1")
+            .promote(true)
+            .build();
+    Assert.assertFalse(newFingerprint().isDeployed(promoted));
+  }
+
+  @Test
+  public void testIsDeployed_noVersion() throws IOException {
+    DeployConfiguration config = newConfig(null);
+    newFingerprint().recordDeployed(config);
+
+    Assert.assertFalse(newFingerprint().isDeployed(config));
+    Assert.assertFalse(Files.exists(storeDirectory));
+  }
+
+  @Test
+  public void testGetService_default() throws IOException {
+    write("app.yaml", "runtime: java8\n");
+
+    Assert.assertEquals("default", newFingerprint().getService());
+  }
+
+  @Test
+  public void testGetService_module() throws IOException {
+    write("app.yaml", "runtime: java8\nmodule: 'backend'\n");
+
+    Assert.assertEquals("backend", newFingerprint().getService());
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeployManifestTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Path stageDirectory;
+  private Path manifestDirectory;
+
+  /** Setup DeployManifestTest. */
+  @Before
+  public void setUp() throws IOException {
+    stageDirectory = tmpDir.newFolder("staged-app").toPath();
+    manifestDirectory = tmpDir.getRoot().toPath().resolve("manifest");
+    write("app.yaml", "runtime: java8\n");
+    write("lib/app.jar", "classes");
+  }
+
+  private Path write(String path, String content) throws IOException {
+    Path file = stageDirectory.resolve(path);
+    Files.createDirectories(file.getParent());
+    return Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static DeployManifest empty() {
+    return new DeployManifest(Collections.emptyMap());
+  }
+
+  @Test
+  public void testScan() throws IOException {
+    DeployManifest manifest = DeployManifest.scan(stageDirectory, empty());
+
+    Assert.assertEquals(
+        Arrays.asList("app.yaml", "lib/app.jar"), new ArrayList<>(manifest.getEntries().keySet()));
+    DeployManifest.Entry jar = manifest.getEntries().get("lib/app.jar");
+    Assert.assertEquals(7, jar.getSize());
+    Assert.assertEquals("1adaa84dc07a16d34ede5b9a70713ff832a0f853", jar.getSha1());
+    Assert.assertEquals(22, manifest.getTotalSize());
+  }
+
+  @Test
+  public void testScan_reusesUnchangedHashes() throws IOException {
+    DeployManifest first = DeployManifest.scan(stageDirectory, empty());
+    Path jar = stageDirectory.resolve("lib/app.jar");
+    FileTime lastModified = Files.getLastModifiedTime(jar);
+
+    // same size and modification time, so the file is trusted to be unchanged
+    write("lib/app.jar", "CLASSES");
+    Files.setLastModifiedTime(jar, lastModified);
+    DeployManifest cached = DeployManifest.scan(stageDirectory, first);
+    DeployManifest rehashed = DeployManifest.scan(stageDirectory, empty());
+
+    Assert.assertEquals(
+        first.getEntries().get("lib/app.jar").getSha1(),
+        cached.getEntries().get("lib/app.jar").getSha1());
+    Assert.assertNotEquals(
+        first.getEntries().get("lib/app.jar").getSha1(),
+        rehashed.getEntries().get("lib/app.jar").getSha1());
+  }
+
+  @Test
+  public void testScanStaged_writesCache() throws IOException {
+    DeployManifest manifest = DeployManifest.scanStaged(stageDirectory, manifestDirectory);
+
+    DeployManifest cache =
+        DeployManifest.read(manifestDirectory.resolve(DeployManifest.STAGED_MANIFEST_FILE_NAME));
+    Assert.assertEquals(manifest.getContentHash(), cache.getContentHash());
+  }
+
+  @Test
+  public void testRead_missing() {
+    DeployManifest manifest = DeployManifest.readDeployed(manifestDirectory);
+
+    Assert.assertTrue(manifest.getEntries().isEmpty());
+  }
+
+  @Test
+  public void testRead_corrupt() throws IOException {
+    Files.createDirectories(manifestDirectory);
+    Files.write(
+        manifestDirectory.resolve(DeployManifest.DEPLOYED_MANIFEST_FILE_NAME),
+        "not a manifest".getBytes(StandardCharsets.UTF_8));
+
+    Assert.assertTrue(DeployManifest.readDeployed(manifestDirectory).getEntries().isEmpty());
+  }
+
+  @Test
+  public void testWriteDeployed_roundTrip() throws IOException {
+    write("dir with space/file.txt", "text");
+    DeployManifest manifest = DeployManifest.scan(stageDirectory, empty());
+
+    manifest.writeDeployed(manifestDirectory);
+    DeployManifest deployed = DeployManifest.readDeployed(manifestDirectory);
+
+    Assert.assertEquals(manifest.getEntries().keySet(), deployed.getEntries().keySet());
+    Assert.assertEquals(manifest.getContentHash(), deployed.getContentHash());
+  }
+
+  @Test
+  public void testDiff() throws IOException {
+    write("static/removed.css", "body {}");
+    DeployManifest deployed = DeployManifest.scan(stageDirectory, empty());
+    Files.delete(stageDirectory.resolve("static/removed.css"));
+    write("lib/app.jar", "more classes");
+    write("lib/new.jar", "new classes!");
+
+    DeployManifest.Diff diff = DeployManifest.scan(stageDirectory, deployed).diff(deployed);
+
+    Assert.assertEquals(Collections.singletonList("lib/new.jar"), diff.getAdded());
+    Assert.assertEquals(12, diff.getAddedBytes());
+    Assert.assertEquals(Collections.singletonList("lib/app.jar"), diff.getChanged());
+    Assert.assertEquals(12, diff.getChangedBytes());
+    Assert.assertEquals(Collections.singletonList("static/removed.css"), diff.getRemoved());
+    Assert.assertEquals(7, diff.getRemovedBytes());
+  }
+}
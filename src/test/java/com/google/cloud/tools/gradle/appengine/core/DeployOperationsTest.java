@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeployOperationsTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private DeployOperations deployOperations;
+
+  @Before
+  public void setUp() {
+    deployOperations = new DeployOperations(tmpDir.getRoot().toPath().resolve("operations"));
+  }
+
+  @Test
+  public void testParse() {
+    Assert.assertEquals(
+        ImmutableSet.of("apps/my-project/operations/0a1b-2c3d"),
+        DeployOperations.parse(
+            "Updating service [default]...Operation [apps/my-project/operations/0a1b-2c3d]"));
+    Assert.assertEquals(
+        ImmutableSet.of(), DeployOperations.parse("Deployed service [default] to [https://a]"));
+  }
+
+  @Test
+  public void testGetProjectAndId() {
+    Assert.assertEquals("my-project", DeployOperations.getProject("apps/my-project/operations/x1"));
+    Assert.assertEquals("x1", DeployOperations.getId("apps/my-project/operations/x1"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGetId_notAnOperation() {
+    DeployOperations.getId("operations/x1");
+  }
+
+  @Test
+  public void testGetPending_none() throws IOException {
+    Assert.assertEquals(ImmutableList.of(), deployOperations.getPending());
+  }
+
+  @Test
+  public void testRecordAndRemove() throws IOException {
+    deployOperations.record("apps/p/operations/b");
+    deployOperations.record("apps/p/operations/a");
+    deployOperations.record("apps/p/operations/a");
+
+    Assert.assertEquals(
+        ImmutableList.of("apps/p/operations/a", "apps/p/operations/b"),
+        deployOperations.getPending());
+
+    deployOperations.remove("apps/p/operations/a");
+    Assert.assertEquals(ImmutableList.of("apps/p/operations/b"), deployOperations.getPending());
+  }
+}
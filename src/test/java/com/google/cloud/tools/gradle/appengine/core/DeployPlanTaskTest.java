@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeployPlanTaskTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  @Test
+  public void testPlanAction_cachesManifest() throws IOException {
+    Project project = ProjectBuilder.builder().withProjectDir(tmpDir.newFolder("project")).build();
+    DeployExtension deployExtension = new DeployExtension(project);
+    File stageDirectory = tmpDir.newFolder("staged-app");
+    Assert.assertTrue(new File(stageDirectory, "app.yaml").createNewFile());
+    DeployPlanTask deployPlanTask =
+        project.getTasks().create("tempDeployPlanTask", DeployPlanTask.class);
+    deployPlanTask.setDeployExtension(deployExtension);
+    deployPlanTask.setStageDirectory(stageDirectory);
+
+    deployPlanTask.planAction();
+
+    Assert.assertTrue(
+        Files.isRegularFile(
+            deployExtension
+                .getManifestDirectory()
+                .toPath()
+                .resolve(DeployManifest.STAGED_MANIFEST_FILE_NAME)));
+  }
+
+  @Test
+  public void testFormatSize() {
+    Assert.assertEquals("512 B", DeployPlanTask.formatSize(512));
+    Assert.assertEquals("1.5 KB", DeployPlanTask.formatSize(1536));
+    Assert.assertEquals("300.0 MB", DeployPlanTask.formatSize(300L * 1024 * 1024));
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.gradle.api.logging.Logger;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+public class DeployRetrierTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private final Logger logger = Mockito.mock(Logger.class);
+  private final List<Duration> delays = new ArrayList<>();
+
+  /** The fake gcloud scripts need a POSIX shell. */
+  @Before
+  public void setUp() {
+    Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+  }
+
+  @Test
+  public void testDeploy_succeeds() throws AppEngineException, IOException {
+    DeployRetrier retrier = newRetrier(3, Duration.ZERO);
+
+    retrier.deploy(fakeGcloud("echo 'Deployed service [default]'"));
+
+    Assert.assertEquals(1, retrier.getAttempts().size());
+    Assert.assertEquals(0, retrier.getAttempts().get(0).getExitCode());
+    Assert.assertTrue(delays.isEmpty());
+  }
+
+  @Test
+  public void testDeploy_retriesTransientFailure() throws AppEngineException, IOException {
+    DeployRetrier retrier = newRetrier(3, Duration.ZERO);
+
+    retrier.deploy(failingGcloud(2, "ERROR: (gcloud.app.deploy) Error Response: [14] UNAVAILABLE"));
+
+    Assert.assertEquals(3, retrier.getAttempts().size());
+    Assert.assertTrue(retrier.getAttempts().get(0).isRetryable());
+    Assert.assertEquals(1, retrier.getAttempts().get(0).getExitCode());
+    Assert.assertEquals(0, retrier.getAttempts().get(2).getExitCode());
+    Assert.assertEquals(ImmutableList.of(Duration.ofSeconds(1), Duration.ofSeconds(2)), delays);
+  }
+
+  @Test
+  public void testDeploy_backoffIsCapped() throws AppEngineException, IOException {
+    DeployRetrier retrier = newRetrier(5, Duration.ZERO);
+
+    retrier.deploy(failingGcloud(4, "ERROR: (gcloud.app.deploy) RESOURCE_EXHAUSTED"));
+
+    Assert.assertEquals(
+        ImmutableList.of(
+            Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(3),
+            Duration.ofSeconds(3)),
+        delays);
+  }
+
+  @Test
+  public void testDeploy_givesUpAfterMaxAttempts() throws IOException {
+    DeployRetrier retrier = newRetrier(2, Duration.ZERO);
+
+    try {
+      retrier.deploy(failingGcloud(5, "ERROR: (gcloud.app.deploy) Error Response: [8] quota"));
+      Assert.fail();
+    } catch (AppEngineException ex) {
+      Assert.assertTrue(ex.getMessage(), ex.getMessage().contains("after 2 attempts"));
+    }
+    Assert.assertEquals(2, retrier.getAttempts().size());
+    Assert.assertEquals(1, delays.size());
+  }
+
+  @Test
+  public void testDeploy_doesNotRetryPermanentFailure() throws IOException {
+    DeployRetrier retrier = newRetrier(3, Duration.ZERO);
+
+    try {
+      retrier.deploy(
+          failingGcloud(1, "ERROR: (gcloud.app.deploy) Permission denied on project [p]"));
+      Assert.fail();
+    } catch (AppEngineException ex) {
+      Assert.assertTrue(
+          ex.getMessage(), ex.getMessage().startsWith("Deployment failed (exit code 1)"));
+    }
+    Assert.assertEquals(1, retrier.getAttempts().size());
+    Assert.assertFalse(retrier.getAttempts().get(0).isRetryable());
+    Assert.assertTrue(delays.isEmpty());
+  }
+
+  @Test
+  public void testDeploy_retriesAttemptThatTimesOut() throws AppEngineException, IOException {
+    DeployRetrier retrier = newRetrier(2, Duration.ofMillis(500));
+    Path counter = tmpDir.getRoot().toPath().resolve("counter");
+
+    // the first attempt hangs, the second one succeeds
+    retrier.deploy(
+        fakeGcloud(
+            "if [ ! -f '" + counter + "' ]; then touch '" + counter + "'; exec sleep 30; fi",
+            "echo 'Deployed service [default]'"));
+
+    Assert.assertEquals(2, retrier.getAttempts().size());
+    Assert.assertTrue(retrier.getAttempts().get(0).isTimedOut());
+    Assert.assertNotEquals(0, retrier.getAttempts().get(0).getExitCode());
+    Assert.assertTrue(retrier.getAttempts().get(0).getDuration().getSeconds() < 30);
+    Assert.assertFalse(retrier.getAttempts().get(1).isTimedOut());
+  }
+
+  @Test
+  public void testIsRetryable() {
+    Assert.assertTrue(
+        DeployRetrier.isRetryable(
+            ImmutableList.of("Updating service [default]...", "ERROR: Error Response: [13] ")));
+    Assert.assertTrue(
+        DeployRetrier.isRetryable(ImmutableList.of("HttpError accessing <...>: 'status': '503'")));
+    Assert.assertTrue(DeployRetrier.isRetryable(ImmutableList.of("429 Too Many Requests")));
+    Assert.assertTrue(
+        DeployRetrier.isRetryable(
+            ImmutableList.of("ERROR: Operation [apps/p/operations/1] timed out")));
+    Assert.assertFalse(
+        DeployRetrier.isRetryable(ImmutableList.of("ERROR: Error Response: [7] No permission")));
+    Assert.assertFalse(
+        DeployRetrier.isRetryable(ImmutableList.of("ERROR: Error Response: [3] Invalid yaml")));
+  }
+
+  private DeployRetrier newRetrier(int maxAttempts, Duration attemptTimeout) {
+    return new DeployRetrier(
+        logger,
+        maxAttempts,
+        Duration.ofSeconds(1),
+        Duration.ofSeconds(3),
+        attemptTimeout,
+        delays::add);
+  }
+
+  /** A gcloud that fails with {@code error} the first {@code failures} times it runs. */
+  private DeployRetrier.Attempt failingGcloud(int failures, String error) throws IOException {
+    Path counter = tmpDir.getRoot().toPath().resolve("counter");
+    return fakeGcloud(
+        "count=$(cat '" + counter + "' 2>/dev/null || echo 0)",
+        "echo $((count + 1)) > '" + counter + "'",
+        "if [ \"$count\" -lt " + failures + " ]; then echo '" + error + "' >&2; exit 1; fi",
+        "echo 'Deployed service [default]'");
+  }
+
+  private DeployRetrier.Attempt fakeGcloud(String... lines) throws IOException {
+    Path script = tmpDir.newFile().toPath();
+    Files.write(script, ImmutableList.copyOf(lines), StandardCharsets.UTF_8);
+    return processHandler -> {
+      try {
+        processHandler.handleProcess(new ProcessBuilder("sh", script.toString()).start());
+      } catch (Exception ex) {
+        throw new AppEngineException(ex);
+      }
+    };
+  }
+}
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.DeployConfiguration;
+import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
+import com.google.cloud.tools.appengine.operations.Deployment;
+import com.google.cloud.tools.appengine.operations.Gcloud;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandler;
+import com.google.common.collect.ImmutableList;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DeployServicesTaskTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  @Mock private Gcloud gcloud;
+  @Mock private Deployment deployment;
+  @Mock private DeployTargetResolver deployTargetResolver;
+
+  private Project rootProject;
+  private DeployServicesTask deployServicesTask;
+  private final List<DeployTask> deployTasks = new ArrayList<>();
+
+  // a fake gcloud that takes a while to deploy, and tracks how many deployments run at once
+  private final AtomicInteger running = new AtomicInteger();
+  private final AtomicInteger maxRunning = new AtomicInteger();
+  private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+  /** Setup DeployServicesTaskTest. */
+  @Before
+  public void setup() throws AppEngineException {
+    rootProject = ProjectBuilder.builder().withProjectDir(tmpDir.getRoot()).build();
+    deployServicesTask = rootProject.getTasks().create("deployServices", DeployServicesTask.class);
+    deployServicesTask.setServices(() -> deployTasks);
+
+    when(deployTargetResolver.getProject("test-project")).thenReturn("test-project");
+    // CONTENT_HASH versions are not resolved
+    lenient().when(deployTargetResolver.getVersion("test-version")).thenReturn("test-version");
+    when(gcloud.newDeployment(any(ProcessHandler.class))).thenReturn(deployment);
+    doAnswer(
+            invocation -> {
+              int now = running.incrementAndGet();
+              maxRunning.accumulateAndGet(now, Math::max);
+              Thread.sleep(200);
+              running.decrementAndGet();
+              events.add("deploy");
+              return null;
+            })
+        .when(deployment)
+        .deploy(any(DeployConfiguration.class));
+  }
+
+  private DeployTask addService(String name) throws IOException {
+    Project service =
+        ProjectBuilder.builder()
+            .withName(name)
+            .withParent(rootProject)
+            .withProjectDir(tmpDir.newFolder(name))
+            .build();
+    DeployExtension deployExtension = new DeployExtension(service);
+    deployExtension.setDeployTargetResolver(deployTargetResolver);
+    deployExtension.setProjectId("test-project");
+    deployExtension.setVersion("test-version");
+    deployExtension.setAppEngineDirectory(tmpDir.newFolder(name, "appengine"));
+
+    DeployTask deployTask = service.getTasks().create("appengineDeploy", DeployTask.class);
+    deployTask.setDeployConfig(deployExtension);
+    deployTask.setGcloud(gcloud);
+    deployTask.setAppYaml(tmpDir.newFile(name + "/app.yaml").toPath());
+    deployTasks.add(deployTask);
+    return deployTask;
+  }
+
+  @Test
+  public void testDeployServicesAction_boundedConcurrency()
+      throws IOException, AppEngineException, InterruptedException {
+    for (int i = 0; i < 6; i++) {
+      addService("service" + i);
+    }
+    deployServicesTask.setParallelism(3);
+
+    deployServicesTask.deployServicesAction();
+
+    Assert.assertEquals(6, events.size());
+    Assert.assertEquals(3, maxRunning.get());
+  }
+
+  @Test
+  public void testDeployServicesAction_dispatchLast()
+      throws IOException, AppEngineException, InterruptedException {
+    addService("default");
+    addService("api");
+    File dispatchYaml = new File(tmpDir.getRoot(), "default/appengine/dispatch.yaml");
+    Assert.assertTrue(dispatchYaml.createNewFile());
+    doAnswer(
+            invocation -> {
+              events.add("dispatch");
+              return null;
+            })
+        .when(deployment)
+        .deployDispatch(any(DeployProjectConfigurationConfiguration.class));
+
+    deployServicesTask.deployServicesAction();
+
+    Assert.assertEquals(3, events.size());
+    Assert.assertEquals("dispatch", events.get(2));
+  }
+
+  @Test
+  public void testDeployServicesAction_dispatchInManyServices()
+      throws IOException, AppEngineException, InterruptedException {
+    addService("default");
+    addService("api");
+    Assert.assertTrue(
+        new File(tmpDir.getRoot(), "default/appengine/dispatch.yaml").createNewFile());
+    Assert.assertTrue(new File(tmpDir.getRoot(), "api/appengine/dispatch.yaml").createNewFile());
+
+    try {
+      deployServicesTask.deployServicesAction();
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals(
+          "dispatch.yaml is defined by more than one service: "
+              + "[:default:appengineDeploy, :api:appengineDeploy]",
+          ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testDeployServicesAction_failedService()
+      throws IOException, AppEngineException, InterruptedException {
+    addService("default");
+    addService("api");
+    Assert.assertTrue(
+        new File(tmpDir.getRoot(), "default/appengine/dispatch.yaml").createNewFile());
+    doAnswer(
+            invocation -> {
+              DeployConfiguration config = invocation.getArgument(0);
+              Path appYaml = config.getDeployables().get(0);
+              if (appYaml.getParent().getFileName().toString().equals("api")) {
+                throw new AppEngineException("deploy failed");
+              }
+              return null;
+            })
+        .when(deployment)
+        .deploy(any(DeployConfiguration.class));
+
+    try {
+      deployServicesTask.deployServicesAction();
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals("Failed to deploy [:api:appengineDeploy]", ex.getMessage());
+    }
+    verify(deployment, never()).deployDispatch(any());
+  }
+
+  @Test
+  public void testDeployServicesAction_singleDeployment()
+      throws IOException, AppEngineException, InterruptedException {
+    addService("default");
+    addService("api");
+    deployServicesTask.setSingleDeployment(true);
+
+    deployServicesTask.deployServicesAction();
+
+    ArgumentCaptor<DeployConfiguration> deployCapture =
+        ArgumentCaptor.forClass(DeployConfiguration.class);
+    verify(deployment).deploy(deployCapture.capture());
+    List<Path> deployables = deployCapture.getValue().getDeployables();
+    Assert.assertEquals(2, deployables.size());
+    Assert.assertEquals(deployTasks.get(0).getAppYamlPath(), deployables.get(0));
+    Assert.assertEquals(deployTasks.get(1).getAppYamlPath(), deployables.get(1));
+    Assert.assertEquals("test-project", deployCapture.getValue().getProjectId());
+  }
+
+  @Test
+  public void testDeployServicesAction_singleDeploymentDifferentTargets()
+      throws IOException, AppEngineException, InterruptedException {
+    addService("default");
+    addService("api").getDeployConfig().setPromote(false);
+    deployServicesTask.setSingleDeployment(true);
+
+    try {
+      deployServicesTask.deployServicesAction();
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals(
+          "A single deployment requires services to share their deploy configuration, but "
+              + ":api:appengineDeploy differs from :default:appengineDeploy",
+          ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testDeployServicesAction_singleDeploymentContentHash()
+      throws IOException, AppEngineException, InterruptedException {
+    addService("default").getDeployConfig().setVersion("CONTENT_HASH");
+    addService("api").getDeployConfig().setVersion("CONTENT_HASH");
+    deployServicesTask.setSingleDeployment(true);
+
+    deployServicesTask.deployServicesAction();
+
+    ArgumentCaptor<DeployConfiguration> deployCapture =
+        ArgumentCaptor.forClass(DeployConfiguration.class);
+    verify(deployment).deploy(deployCapture.capture());
+    Assert.assertEquals(
+        DeployFingerprint.getContentVersion(
+            ImmutableList.of(
+                deployTasks.get(0).getFingerprint(), deployTasks.get(1).getFingerprint())),
+        deployCapture.getValue().getVersion());
+  }
+
+  @Test
+  public void testDeployServicesAction_async()
+      throws IOException, AppEngineException, InterruptedException {
+    Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+    addService("default");
+    DeployTask apiTask = addService("api");
+    apiTask.getDeployConfig().setAsync(true);
+    Gcloud asyncGcloud = Mockito.mock(Gcloud.class);
+    when(asyncGcloud.newDeployment(any(ProcessHandler.class)))
+        .thenAnswer(
+            newDeployment -> {
+              ProcessHandler processHandler = newDeployment.getArgument(0);
+              Deployment asyncDeployment = Mockito.mock(Deployment.class);
+              doAnswer(
+                      invocation -> {
+                        processHandler.handleProcess(
+                            new ProcessBuilder(
+                                    "sh",
+                                    "-c",
+                                    "echo 'Operation [apps/test-project/operations/op-1]"
+                                        + " is running.' >&2")
+                                .start());
+                        return null;
+                      })
+                  .when(asyncDeployment)
+                  .deploy(any(DeployConfiguration.class));
+              return asyncDeployment;
+            });
+    apiTask.setAsyncGcloud(() -> asyncGcloud);
+    Assert.assertTrue(
+        new File(tmpDir.getRoot(), "default/appengine/dispatch.yaml").createNewFile());
+
+    deployServicesTask.deployServicesAction();
+
+    verify(deployment).deploy(any(DeployConfiguration.class));
+    Assert.assertEquals(
+        ImmutableList.of("apps/test-project/operations/op-1"),
+        apiTask.getDeployConfig().getDeployOperations().getPending());
+    // the services dispatch.yaml routes to may not exist yet
+    verify(deployment, never()).deployDispatch(any());
+  }
+
+  @Test
+  public void testDeployServicesAction_noServices()
+      throws AppEngineException, IOException, InterruptedException {
+    deployServicesTask.deployServicesAction();
+
+    verify(gcloud, never()).newDeployment(any(ProcessHandler.class));
+  }
+
+  @Test
+  public void testSetParallelism_invalid() {
+    try {
+      deployServicesTask.setParallelism(0);
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals("parallelism must be at least 1, but was 0", ex.getMessage());
+    }
+  }
+}
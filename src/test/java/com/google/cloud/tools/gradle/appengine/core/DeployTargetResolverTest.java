@@ -24,6 +24,10 @@ import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkVersionFileE
 import com.google.cloud.tools.appengine.operations.cloudsdk.process.ProcessHandlerException;
 import com.google.cloud.tools.appengine.operations.cloudsdk.serialization.CloudSdkConfig;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import org.gradle.api.GradleException;
 import org.junit.Assert;
 import org.junit.Before;
@@ -44,10 +48,15 @@ public class DeployTargetResolverTest {
   @Mock CloudSdkOperations cloudSdkOperations;
   @Mock CloudSdkConfig cloudSdkConfig;
 
+  // reads an empty user home, so every project is read through gcloud
+  private GcloudConfig gcloudConfig;
+
   @Before
   public void setup()
       throws CloudSdkNotFoundException, ProcessHandlerException, CloudSdkOutOfDateException,
           CloudSdkVersionFileException, IOException {
+    gcloudConfig =
+        new GcloudConfig(Collections.emptyMap(), temporaryFolder.getRoot().toPath(), false);
     Mockito.when(cloudSdkOperations.getGcloud()).thenReturn(gcloud);
     Mockito.when(gcloud.getConfig()).thenReturn(cloudSdkConfig);
     Mockito.when(cloudSdkConfig.getProject()).thenReturn(PROJECT_GCLOUD);
@@ -55,14 +64,28 @@ public class DeployTargetResolverTest {
 
   @Test
   public void testGetProject_buildConfig() {
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
+    String result = deployTargetResolver.getProject("some-project");
+    Assert.assertEquals("some-project", result);
+  }
+
+  @Test
+  public void testGetProject_buildConfigDoesNotResolveCloudSdk() {
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(
+            () -> {
+              throw new AssertionError("Cloud SDK should not be resolved");
+            },
+            gcloudConfig);
     String result = deployTargetResolver.getProject("some-project");
     Assert.assertEquals("some-project", result);
   }
 
   @Test
   public void testGetProject_appengineConfig() {
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     try {
       deployTargetResolver.getProject(DeployTargetResolver.APPENGINE_CONFIG);
       Assert.fail();
@@ -73,16 +96,47 @@ public class DeployTargetResolverTest {
 
   @Test
   public void testGetProject_gcloudConfig() {
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     String result = deployTargetResolver.getProject(DeployTargetResolver.GCLOUD_CONFIG);
     Assert.assertEquals(PROJECT_GCLOUD, result);
   }
 
+  @Test
+  public void testGetProject_gcloudConfigReadOnce() throws Exception {
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
+    deployTargetResolver.getProject(DeployTargetResolver.GCLOUD_CONFIG);
+    String result = deployTargetResolver.getProject(DeployTargetResolver.GCLOUD_CONFIG);
+    Assert.assertEquals(PROJECT_GCLOUD, result);
+    Mockito.verify(gcloud, Mockito.times(1)).getConfig();
+  }
+
+  @Test
+  public void testGetProject_gcloudConfigFile() throws Exception {
+    Path configurations =
+        temporaryFolder.getRoot().toPath().resolve(".config/gcloud/configurations");
+    Files.createDirectories(configurations);
+    Files.write(
+        configurations.resolve("config_default"),
+        "[core]\nproject = project-file\n".getBytes(StandardCharsets.UTF_8));
+
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(
+            () -> {
+              throw new AssertionError("Cloud SDK should not be resolved");
+            },
+            gcloudConfig);
+    String result = deployTargetResolver.getProject(DeployTargetResolver.GCLOUD_CONFIG);
+    Assert.assertEquals("project-file", result);
+  }
+
   @Test
   public void testGetProject_gcloudProjectEmpty() {
     Mockito.when(cloudSdkConfig.getProject()).thenReturn(" ");
 
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     try {
       deployTargetResolver.getProject(DeployTargetResolver.GCLOUD_CONFIG);
       Assert.fail();
@@ -95,7 +149,8 @@ public class DeployTargetResolverTest {
   public void testGetProject_gcloudProjectNull() {
     Mockito.when(cloudSdkConfig.getProject()).thenReturn(null);
 
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     try {
       deployTargetResolver.getProject(DeployTargetResolver.GCLOUD_CONFIG);
       Assert.fail();
@@ -109,7 +164,8 @@ public class DeployTargetResolverTest {
     IOException forcedException = new IOException();
     Mockito.when(gcloud.getConfig()).thenThrow(forcedException);
 
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     try {
       deployTargetResolver.getProject(DeployTargetResolver.GCLOUD_CONFIG);
       Assert.fail();
@@ -121,7 +177,8 @@ public class DeployTargetResolverTest {
 
   @Test
   public void testGetProject_nothingSet() {
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     try {
       deployTargetResolver.getProject(null);
       Assert.fail();
@@ -132,14 +189,16 @@ public class DeployTargetResolverTest {
 
   @Test
   public void testGetVersion_buildConfig() {
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     String result = deployTargetResolver.getVersion("some-version");
     Assert.assertEquals("some-version", result);
   }
 
   @Test
   public void testGetVersion_appengineConfig() {
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     try {
       deployTargetResolver.getVersion(DeployTargetResolver.APPENGINE_CONFIG);
       Assert.fail();
@@ -150,14 +209,16 @@ public class DeployTargetResolverTest {
 
   @Test
   public void testGetVersion_gcloudConfig() {
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     String result = deployTargetResolver.getVersion(DeployTargetResolver.GCLOUD_CONFIG);
     Assert.assertNull(result);
   }
 
   @Test
   public void testGetVersion_nothingSet() {
-    DeployTargetResolver deployTargetResolver = new DeployTargetResolver(cloudSdkOperations);
+    DeployTargetResolver deployTargetResolver =
+        new DeployTargetResolver(() -> cloudSdkOperations, gcloudConfig);
     try {
       deployTargetResolver.getVersion(null);
       Assert.fail();
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.gradle.api.GradleException;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DeployWaitTaskTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Project project;
+  private DeployExtension deployExtension;
+  private DeployOperations deployOperations;
+  private DeployWaitTask deployWaitTask;
+  private Path argsFile;
+
+  /** Setup DeployWaitTaskTest. */
+  @Before
+  public void setUp() {
+    Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+    project = ProjectBuilder.builder().withProjectDir(tmpDir.getRoot()).build();
+    deployExtension = new DeployExtension(project);
+    deployOperations = deployExtension.getDeployOperations();
+    deployWaitTask = project.getTasks().create("tempDeployWaitTask", DeployWaitTask.class);
+    argsFile = tmpDir.getRoot().toPath().resolve("args");
+  }
+
+  @Test
+  public void testWaitAction_nothingToWaitFor() throws IOException, InterruptedException {
+    deployWaitTask.setDeployTasks(
+        () ->
+            ImmutableList.of(
+                newDeployTask(
+                    args -> {
+                      throw new AssertionError("gcloud is not needed");
+                    })));
+
+    deployWaitTask.waitAction();
+  }
+
+  @Test
+  public void testWaitAction_waitsForAll() throws IOException, InterruptedException {
+    deployOperations.record("apps/p/operations/a");
+    deployOperations.record("apps/p/operations/b");
+    deployWaitTask.setDeployTasks(() -> ImmutableList.of(newDeployTask(fakeGcloud())));
+
+    deployWaitTask.waitAction();
+
+    List<String> waits = Files.readAllLines(argsFile, StandardCharsets.UTF_8);
+    Collections.sort(waits);
+    Assert.assertEquals(
+        ImmutableList.of(
+            "app operations wait a --project=p --quiet",
+            "app operations wait b --project=p --quiet"),
+        waits);
+    Assert.assertTrue(deployOperations.getPending().isEmpty());
+  }
+
+  @Test
+  public void testWaitAction_failedOperation() throws IOException, InterruptedException {
+    deployOperations.record("apps/p/operations/a");
+    deployOperations.record("apps/p/operations/failed");
+    deployWaitTask.setDeployTasks(() -> ImmutableList.of(newDeployTask(fakeGcloud())));
+
+    try {
+      deployWaitTask.waitAction();
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals("Failed to deploy [apps/p/operations/failed]", ex.getMessage());
+    }
+    // both operations are done, so neither is waited for again
+    Assert.assertTrue(deployOperations.getPending().isEmpty());
+  }
+
+  @Test
+  public void testWaitAction_boundedPool() throws IOException, InterruptedException {
+    deployOperations.record("apps/p/operations/a");
+    deployOperations.record("apps/p/operations/b");
+    deployOperations.record("apps/p/operations/c");
+    deployWaitTask.setDeployTasks(() -> ImmutableList.of(newDeployTask(fakeGcloud())));
+    deployWaitTask.setParallelism(1);
+
+    deployWaitTask.waitAction();
+
+    Assert.assertEquals(
+        ImmutableList.of(
+            "app operations wait a --project=p --quiet",
+            "app operations wait b --project=p --quiet",
+            "app operations wait c --project=p --quiet"),
+        Files.readAllLines(argsFile, StandardCharsets.UTF_8));
+    Assert.assertTrue(deployOperations.getPending().isEmpty());
+  }
+
+  @Test
+  public void testSetParallelism_invalid() {
+    try {
+      deployWaitTask.setParallelism(0);
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals("parallelism must be at least 1, but was 0", ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testWaitAction_launchFailure() throws IOException, InterruptedException {
+    deployOperations.record("apps/p/operations/a");
+    deployOperations.record("apps/p/operations/failed");
+    GcloudLauncher gcloud = fakeGcloud();
+    deployWaitTask.setDeployTasks(
+        () ->
+            ImmutableList.of(
+                newDeployTask(
+                    args -> {
+                      if (args.contains("a")) {
+                        throw new IOException("gcloud not found");
+                      }
+                      return gcloud.launch(args);
+                    })));
+
+    try {
+      deployWaitTask.waitAction();
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals(
+          "Failed to deploy [apps/p/operations/failed], Failed to wait for [apps/p/operations/a]",
+          ex.getMessage());
+    }
+    // the operation that couldn't be waited for is reported, not waited for on every run
+    Assert.assertTrue(deployOperations.getPending().isEmpty());
+  }
+
+  private DeployTask newDeployTask(GcloudLauncher gcloudLauncher) {
+    DeployTask deployTask = project.getTasks().create("tempDeployTask", DeployTask.class);
+    deployTask.setDeployConfig(deployExtension);
+    deployTask.setGcloudLauncher(() -> gcloudLauncher);
+    return deployTask;
+  }
+
+  /** A gcloud that records how it was launched and fails to wait for operation "failed". */
+  private GcloudLauncher fakeGcloud() {
+    Path script = tmpDir.getRoot().toPath().resolve("gcloud.sh");
+    try {
+      Files.write(
+          script,
+          ImmutableList.of(
+              "echo \"$@\" >> '" + argsFile + "'",
+              "if [ \"$4\" = failed ]; then echo 'ERROR: deployment failed' >&2; exit 1; fi"),
+          StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      throw new AssertionError(ex);
+    }
+    return args -> {
+      List<String> command = new ArrayList<>();
+      command.add("sh");
+      command.add(script.toString());
+      command.addAll(args);
+      return new ProcessBuilder(command).start();
+    };
+  }
+}
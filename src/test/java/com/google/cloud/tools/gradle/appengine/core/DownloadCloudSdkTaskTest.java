@@ -19,9 +19,11 @@ package com.google.cloud.tools.gradle.appengine.core;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
@@ -29,18 +31,31 @@ import com.google.cloud.tools.managedcloudsdk.ManagedSdkVerificationException;
 import com.google.cloud.tools.managedcloudsdk.ManagedSdkVersionMismatchException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExecutionException;
 import com.google.cloud.tools.managedcloudsdk.command.CommandExitException;
+import com.google.cloud.tools.managedcloudsdk.command.CommandRunner;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
 import com.google.cloud.tools.managedcloudsdk.components.SdkComponentInstaller;
 import com.google.cloud.tools.managedcloudsdk.components.SdkUpdater;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstaller;
 import com.google.cloud.tools.managedcloudsdk.install.SdkInstallerException;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
 import org.gradle.api.GradleException;
 import org.gradle.api.Project;
 import org.gradle.testfixtures.ProjectBuilder;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
@@ -48,11 +63,16 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class DownloadCloudSdkTaskTest {
 
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
   @Mock private ManagedCloudSdk managedCloudSdk;
 
   @Mock private SdkInstaller installer;
   @Mock private SdkComponentInstaller componentInstaller;
   @Mock private SdkUpdater updater;
+  @Mock private CommandRunner commandRunner;
+  @Mock private CloudSdkMirror mirror;
+  @Mock private CloudSdkArchive archive;
 
   private DownloadCloudSdkTask downloadCloudSdkTask;
 
@@ -62,7 +82,12 @@ public class DownloadCloudSdkTaskTest {
     Project tempProject = ProjectBuilder.builder().build();
     downloadCloudSdkTask =
         tempProject.getTasks().create("tempDownloadTask", DownloadCloudSdkTask.class);
+    downloadCloudSdkTask.setProgressListener(new NoOpProgressListener());
+    // precompilation is covered by its own tests, it would run python in all others
+    downloadCloudSdkTask.setPrecompilePython(false);
 
+    when(managedCloudSdk.getSdkHome())
+        .thenReturn(tmpDir.getRoot().toPath().resolve("LATEST/google-cloud-sdk"));
     when(managedCloudSdk.newInstaller()).thenReturn(installer);
     when(managedCloudSdk.newComponentInstaller()).thenReturn(componentInstaller);
     when(managedCloudSdk.newUpdater()).thenReturn(updater);
@@ -172,4 +197,287 @@ public class DownloadCloudSdkTaskTest {
     verify(managedCloudSdk, never()).newComponentInstaller();
     verify(managedCloudSdk).newUpdater();
   }
+
+  @Test
+  public void testDownloadCloudSdkAction_sharedOncePerBuild()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    SharedCloudSdk sharedCloudSdk = new SharedCloudSdk();
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    downloadCloudSdkTask.setSharedCloudSdk(sharedCloudSdk);
+    downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(managedCloudSdk).newInstaller();
+    verify(managedCloudSdk).newComponentInstaller();
+    verify(managedCloudSdk).newUpdater();
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_latestCheckedOncePerInterval()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    downloadCloudSdkTask.setLatestCheckInterval(Duration.ofHours(1));
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.isUpToDate()).thenReturn(false);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(managedCloudSdk, times(1)).isUpToDate();
+    verify(managedCloudSdk, times(1)).newUpdater();
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_noLatestCheckInterval()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.isUpToDate()).thenReturn(true);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(managedCloudSdk, times(2)).isUpToDate();
+    verify(managedCloudSdk, never()).newUpdater();
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_batchInstallComponents()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+    Path gcloud = Paths.get("sdk/bin/gcloud");
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    SharedCloudSdk sharedCloudSdk = new SharedCloudSdk();
+    sharedCloudSdk.enableBatchComponentInstall();
+    downloadCloudSdkTask.setSharedCloudSdk(sharedCloudSdk);
+    downloadCloudSdkTask.setCommandRunner(commandRunner);
+    downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
+    downloadCloudSdkTask.requiresComponent(SdkComponent.BETA);
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.getGcloudPath()).thenReturn(gcloud);
+    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
+    when(managedCloudSdk.hasComponent(SdkComponent.BETA)).thenReturn(false);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(managedCloudSdk, never()).newComponentInstaller();
+    verify(commandRunner)
+        .run(
+            eq(
+                Arrays.asList(
+                    gcloud.toString(),
+                    "components",
+                    "install",
+                    SdkComponent.APP_ENGINE_JAVA.toString(),
+                    SdkComponent.BETA.toString(),
+                    "--quiet")),
+            any(),
+            any(),
+            any());
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_batchInstallSingleComponent()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    SharedCloudSdk sharedCloudSdk = new SharedCloudSdk();
+    sharedCloudSdk.enableBatchComponentInstall();
+    downloadCloudSdkTask.setSharedCloudSdk(sharedCloudSdk);
+    downloadCloudSdkTask.setCommandRunner(commandRunner);
+    downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
+    downloadCloudSdkTask.requiresComponent(SdkComponent.BETA);
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
+    when(managedCloudSdk.hasComponent(SdkComponent.BETA)).thenReturn(true);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(componentInstaller).installComponent(eq(SdkComponent.APP_ENGINE_JAVA), any(), any());
+    verifyZeroInteractions(commandRunner);
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_keepsInstalledComponents()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    // the managed sdk is shared with other builds, nothing they may use is removed
+    Path sdkHome = managedCloudSdk.getSdkHome();
+    Files.createDirectories(sdkHome.resolve(".install"));
+    Files.createFile(sdkHome.resolve(".install/bq.manifest"));
+    Files.createFile(sdkHome.resolve(".install/gsutil.manifest"));
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    downloadCloudSdkTask.setCommandRunner(commandRunner);
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.isUpToDate()).thenReturn(true);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verifyZeroInteractions(commandRunner);
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_precompileAfterUpdate()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    Path sdkHome = managedCloudSdk.getSdkHome();
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    downloadCloudSdkTask.setCommandRunner(commandRunner);
+    downloadCloudSdkTask.setPrecompilePython(true);
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.isUpToDate()).thenReturn(false);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(updater).update(any(), any());
+    verify(commandRunner)
+        .run(
+            eq(
+                Arrays.asList(
+                    CloudSdkPythonCompiler.findPython(sdkHome, System.getenv(), isWindows()),
+                    "-m",
+                    "compileall",
+                    "-q",
+                    "-j",
+                    "0",
+                    sdkHome.resolve("lib").toString())),
+            any(),
+            any(),
+            any());
+    Assert.assertTrue(downloadCloudSdkTask.getMetrics().getPhaseMillis().containsKey("precompile"));
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_noPrecompileWhenUnchanged()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    downloadCloudSdkTask.setCommandRunner(commandRunner);
+    downloadCloudSdkTask.setPrecompilePython(true);
+    when(managedCloudSdk.isInstalled()).thenReturn(true);
+    when(managedCloudSdk.isUpToDate()).thenReturn(true);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verifyZeroInteractions(commandRunner);
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_precompileFailureIsNotFatal()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    downloadCloudSdkTask.setCommandRunner(commandRunner);
+    downloadCloudSdkTask.setPrecompilePython(true);
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    when(managedCloudSdk.isUpToDate()).thenReturn(true);
+    doThrow(new CommandExitException(1, "compileall failed"))
+        .when(commandRunner)
+        .run(any(), any(), any(), any());
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(installer).install(any(), any());
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_unpackArchive()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    Path sdkHome = managedCloudSdk.getSdkHome();
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    downloadCloudSdkTask.setMirror(mirror);
+    downloadCloudSdkTask.setArchive(archive);
+    downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
+    when(archive.matches(sdkHome, Collections.singletonList(SdkComponent.APP_ENGINE_JAVA)))
+        .thenReturn(true);
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(true);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(archive).unpack(sdkHome);
+    verify(mirror, never()).install(any());
+    verify(managedCloudSdk, never()).newInstaller();
+    verify(managedCloudSdk, never()).newComponentInstaller();
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_archiveMismatch()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    Path sdkHome = managedCloudSdk.getSdkHome();
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    downloadCloudSdkTask.setMirror(mirror);
+    downloadCloudSdkTask.setArchive(archive);
+    when(archive.matches(sdkHome, Collections.emptyList())).thenReturn(false);
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(archive, never()).unpack(any());
+    verify(mirror).install(sdkHome);
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_installFromMirror()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    File snapshot = tmpDir.newFile("components-2.json");
+    Path sdkHome = managedCloudSdk.getSdkHome();
+    Path gcloud = Paths.get("sdk/bin/gcloud");
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    downloadCloudSdkTask.setMirror(mirror);
+    downloadCloudSdkTask.setCommandRunner(commandRunner);
+    downloadCloudSdkTask.requiresComponent(SdkComponent.APP_ENGINE_JAVA);
+    when(mirror.getComponentsSnapshot()).thenReturn(snapshot);
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    when(managedCloudSdk.getGcloudPath()).thenReturn(gcloud);
+    when(managedCloudSdk.hasComponent(SdkComponent.APP_ENGINE_JAVA)).thenReturn(false);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+    verify(mirror).install(sdkHome);
+    verify(managedCloudSdk, never()).newInstaller();
+    verify(managedCloudSdk, never()).newComponentInstaller();
+    verify(managedCloudSdk, never()).isUpToDate();
+    verify(commandRunner)
+        .run(
+            eq(
+                Arrays.asList(
+                    gcloud.toString(),
+                    "components",
+                    "install",
+                    SdkComponent.APP_ENGINE_JAVA.toString(),
+                    "--quiet")),
+            any(),
+            eq(
+                Collections.singletonMap(
+                    "CLOUDSDK_COMPONENT_MANAGER_SNAPSHOT_URL", snapshot.toURI().toString())),
+            any());
+  }
+
+  @Test
+  public void testDownloadCloudSdkAction_writesMetrics()
+      throws ManagedSdkVerificationException, ManagedSdkVersionMismatchException,
+          InterruptedException, CommandExecutionException, SdkInstallerException, IOException,
+          CommandExitException {
+    downloadCloudSdkTask.setManagedCloudSdk(managedCloudSdk);
+    when(managedCloudSdk.isInstalled()).thenReturn(false);
+    when(managedCloudSdk.isUpToDate()).thenReturn(true);
+    downloadCloudSdkTask.downloadCloudSdkAction();
+
+    Properties metrics = new Properties();
+    try (InputStream in =
+        Files.newInputStream(downloadCloudSdkTask.getMetricsFile().getAsFile().get().toPath())) {
+      metrics.load(in);
+    }
+    Assert.assertTrue(metrics.containsKey("installMillis"));
+    Assert.assertTrue(metrics.containsKey("updateCheckMillis"));
+    Assert.assertFalse(metrics.containsKey("componentsMillis"));
+    Assert.assertEquals(
+        Long.toString(downloadCloudSdkTask.getMetrics().getTotalMillis()),
+        metrics.getProperty("totalMillis"));
+    Assert.assertEquals("0", metrics.getProperty("downloadedBytes"));
+  }
+
+  private static boolean isWindows() {
+    return System.getProperty("os.name").toLowerCase().startsWith("windows");
+  }
 }
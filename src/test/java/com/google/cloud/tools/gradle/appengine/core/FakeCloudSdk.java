@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A Cloud SDK whose gcloud is a shell script, so tests can run gcloud through the Cloud SDK
+ * library and see how it was started.
+ */
+class FakeCloudSdk {
+
+  /** Creates the Cloud SDK at {@code sdkHome}, its gcloud runs {@code gcloudLines}. */
+  static Path create(Path sdkHome, String... gcloudLines) throws IOException {
+    Path bin = Files.createDirectories(sdkHome.resolve("bin"));
+    Path gcloud = bin.resolve("gcloud");
+    List<String> script = new ArrayList<>();
+    script.add("#!/bin/sh");
+    script.addAll(Arrays.asList(gcloudLines));
+    Files.write(gcloud, script, StandardCharsets.UTF_8);
+    if (!gcloud.toFile().setExecutable(true)) {
+      throw new IOException("Failed to make " + gcloud + " executable");
+    }
+    // the library validates these before it runs gcloud
+    Files.createFile(bin.resolve("dev_appserver.py"));
+    Files.write(sdkHome.resolve("VERSION"), ImmutableList.of("999.0.0"), StandardCharsets.UTF_8);
+    return sdkHome;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GcloudConfigTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private Path userHome;
+  private Path configDirectory;
+
+  /** Setup GcloudConfigTest. */
+  @Before
+  public void setup() throws IOException {
+    userHome = tmpDir.getRoot().toPath();
+    configDirectory = userHome.resolve(".config/gcloud");
+    Files.createDirectories(configDirectory.resolve("configurations"));
+  }
+
+  private void writeConfiguration(String name, String content) throws IOException {
+    Files.write(
+        configDirectory.resolve("configurations/config_" + name),
+        content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private String readProject(Map<String, String> environment) throws IOException {
+    return new GcloudConfig(environment, userHome, false).readProject();
+  }
+
+  @Test
+  public void testReadProject_defaultConfiguration() throws IOException {
+    writeConfiguration("default", "[core]\naccount = someone@example.com\nproject = my-project\n");
+
+    Assert.assertEquals("my-project", readProject(Collections.emptyMap()));
+  }
+
+  @Test
+  public void testReadProject_activeConfiguration() throws IOException {
+    writeConfiguration("default", "[core]\nproject = default-project\n");
+    writeConfiguration("other", "[core]\nproject: other-project\n");
+    Files.write(
+        configDirectory.resolve("active_config"), "other\n".getBytes(StandardCharsets.UTF_8));
+
+    Assert.assertEquals("other-project", readProject(Collections.emptyMap()));
+  }
+
+  @Test
+  public void testReadProject_activeConfigurationFromEnvironment() throws IOException {
+    writeConfiguration("default", "[core]\nproject = default-project\n");
+    writeConfiguration("other", "[core]\nproject = other-project\n");
+
+    Assert.assertEquals(
+        "other-project", readProject(ImmutableMap.of("CLOUDSDK_ACTIVE_CONFIG_NAME", "other")));
+  }
+
+  @Test
+  public void testReadProject_projectFromEnvironment() throws IOException {
+    writeConfiguration("default", "[core]\nproject = default-project\n");
+
+    Assert.assertEquals(
+        "env-project", readProject(ImmutableMap.of("CLOUDSDK_CORE_PROJECT", "env-project")));
+  }
+
+  @Test
+  public void testReadProject_cloudSdkConfig() throws IOException {
+    Path otherDirectory = tmpDir.newFolder("other-config").toPath();
+    Files.createDirectories(otherDirectory.resolve("configurations"));
+    Files.write(
+        otherDirectory.resolve("configurations/config_default"),
+        "[core]\nproject = other-project\n".getBytes(StandardCharsets.UTF_8));
+
+    Assert.assertEquals(
+        "other-project",
+        readProject(ImmutableMap.of("CLOUDSDK_CONFIG", otherDirectory.toString())));
+  }
+
+  @Test
+  public void testReadProject_otherSection() throws IOException {
+    writeConfiguration("default", "# comment\n[compute]\nproject = not-a-project\n[core]\n");
+
+    Assert.assertNull(readProject(Collections.emptyMap()));
+  }
+
+  @Test
+  public void testReadProject_noConfiguration() throws IOException {
+    Assert.assertNull(readProject(Collections.emptyMap()));
+  }
+
+  @Test
+  public void testReadProject_windowsWithoutAppData() throws IOException {
+    Assert.assertNull(new GcloudConfig(Collections.emptyMap(), userHome, true).readProject());
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.AppEngineException;
+import com.google.cloud.tools.appengine.configuration.DeployProjectConfigurationConfiguration;
+import com.google.cloud.tools.appengine.operations.CloudSdk;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.LegacyProcessHandler;
+import com.google.cloud.tools.appengine.operations.cloudsdk.process.NonZeroExceptionExitListener;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class GcloudSettingsTest {
+
+  @Rule public final TemporaryFolder tmpDir = new TemporaryFolder();
+
+  @Test
+  public void testGetEnvironment() {
+    GcloudSettings settings =
+        new GcloudSettings(Paths.get("credentials.json"), "gradle-plugin", "2.0", "always");
+
+    Assert.assertEquals(
+        ImmutableMap.<String, String>builder()
+            .put("CLOUDSDK_APP_USE_GSUTIL", "0")
+            .put("CLOUDSDK_METRICS_ENVIRONMENT", "gradle-plugin")
+            .put("CLOUDSDK_METRICS_ENVIRONMENT_VERSION", "2.0")
+            .put("CLOUDSDK_CORE_SHOW_STRUCTURED_LOGS", "always")
+            .put("CLOUDSDK_CORE_DISABLE_PROMPTS", "1")
+            .build(),
+        settings.getEnvironment("Linux"));
+  }
+
+  @Test
+  public void testGetEnvironment_windows() {
+    GcloudSettings settings = new GcloudSettings(null, null, null, null);
+
+    Assert.assertEquals(
+        ImmutableMap.of(
+            "CLOUDSDK_APP_NUM_FILE_UPLOAD_PROCESSES", "1", "CLOUDSDK_CORE_DISABLE_PROMPTS", "1"),
+        settings.getEnvironment("Windows 10"));
+  }
+
+  @Test
+  public void testGetEnvironment_defaults() {
+    GcloudSettings settings = new GcloudSettings(null, null, null, null);
+
+    Assert.assertEquals(
+        ImmutableMap.of("CLOUDSDK_CORE_DISABLE_PROMPTS", "1"), settings.getEnvironment("Linux"));
+  }
+
+  @Test
+  public void testLaunch_matchesLibrary()
+      throws AppEngineException, IOException, InterruptedException {
+    // the fake gcloud is a shell script
+    Assume.assumeFalse(System.getProperty("os.name").toLowerCase().startsWith("windows"));
+    Path output = tmpDir.getRoot().toPath().resolve("output");
+    Path sdkHome =
+        FakeCloudSdk.create(
+            tmpDir.newFolder("sdk").toPath(),
+            "echo \"$@\" > '" + output + "'",
+            "env | grep '^CLOUDSDK_' | sort >> '" + output + "'");
+    Path appengineDir = tmpDir.newFolder("appengine").toPath();
+    Path cronYaml = Files.createFile(appengineDir.resolve("cron.yaml"));
+    GcloudSettings settings =
+        new GcloudSettings(
+            tmpDir.newFile("credentials.json").toPath(), "gradle-plugin", "2.0", "always");
+
+    // the library starts gcloud for app deploy
+    settings
+        .newGcloud(new CloudSdk.Builder().sdkPath(sdkHome).build())
+        .newDeployment(
+            LegacyProcessHandler.builder()
+                .setExitListener(new NonZeroExceptionExitListener())
+                .build())
+        .deployCron(
+            DeployProjectConfigurationConfiguration.builder(appengineDir).projectId("p").build());
+    List<String> library = Files.readAllLines(output, StandardCharsets.UTF_8);
+    Files.delete(output);
+
+    // the plugin launches the same command
+    Assert.assertEquals(
+        0,
+        new CloudSdkOperations(sdkHome.toFile(), settings)
+            .launch(ImmutableList.of("app", "deploy", cronYaml.toString(), "--project", "p"))
+            .waitFor());
+
+    Assert.assertEquals(library, Files.readAllLines(output, StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+
+import com.google.cloud.tools.managedcloudsdk.ProgressListener;
+import java.util.concurrent.TimeUnit;
+import org.gradle.api.logging.Logger;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GradleProgressListenerTest {
+
+  @Mock private Logger logger;
+
+  private CloudSdkProvisioningMetrics metrics;
+  private GradleProgressListener listener;
+
+  /** Setup GradleProgressListenerTest. */
+  @Before
+  public void setup() {
+    metrics = new CloudSdkProvisioningMetrics();
+    listener = new GradleProgressListener(logger, metrics);
+  }
+
+  @Test
+  public void testStart() {
+    listener.start("Installing Cloud SDK", -1);
+    listener.update("Running installer");
+    listener.done();
+    verify(logger).lifecycle("Installing Cloud SDK");
+    verify(logger).info("Running installer");
+  }
+
+  @Test
+  public void testChild_countsDownloadedBytes() {
+    listener.start("Installing Cloud SDK", -1);
+
+    ProgressListener download = listener.newChild(1);
+    download.start("Downloading https://example.com/sdk.tar.gz", 2048);
+    download.update(1024);
+    download.update(1024);
+    download.done();
+
+    ProgressListener extract = listener.newChild(1);
+    extract.start("Extracting archive", 10);
+    extract.update(10);
+    extract.done();
+
+    verify(logger).lifecycle("Downloading https://example.com/sdk.tar.gz");
+    verify(logger)
+        .lifecycle(startsWith("Downloading https://example.com/sdk.tar.gz: done, 2.0 KB"));
+    verify(logger).info("Extracting archive");
+    Assert.assertEquals(2048, metrics.getDownloadedBytes());
+  }
+
+  @Test
+  public void testFormatStatus_bytesWithTotal() {
+    Assert.assertEquals(
+        "1.0 MB/4.0 MB, 512.0 KB/s, 6s left",
+        GradleProgressListener.formatStatus(
+            1024 * 1024, 4 * 1024 * 1024, TimeUnit.SECONDS.toNanos(2), true));
+  }
+
+  @Test
+  public void testFormatStatus_bytesUnknownTotal() {
+    Assert.assertEquals(
+        "100 B, 50 B/s",
+        GradleProgressListener.formatStatus(100, -1, TimeUnit.SECONDS.toNanos(2), true));
+  }
+
+  @Test
+  public void testFormatStatus_workUnits() {
+    Assert.assertEquals(
+        "5/10, 2m 5s left",
+        GradleProgressListener.formatStatus(5, 10, TimeUnit.SECONDS.toNanos(125), false));
+  }
+
+  @Test
+  public void testFormatStatus_nothingDone() {
+    Assert.assertEquals("0 B/2.0 KB", GradleProgressListener.formatStatus(0, 2048, 0, true));
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import java.util.Collections;
+import org.gradle.api.GradleException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InstallProfileTest {
+
+  @Test
+  public void testFromName() {
+    Assert.assertEquals(InstallProfile.FULL, InstallProfile.fromName("full"));
+    Assert.assertEquals(InstallProfile.LOCAL_RUN, InstallProfile.fromName("local-run"));
+  }
+
+  @Test
+  public void testFromName_unknown() {
+    try {
+      InstallProfile.fromName("deploy-only");
+      Assert.fail();
+    } catch (GradleException ex) {
+      Assert.assertEquals(
+          "Unknown installProfile 'deploy-only', expected one of [full, local-run]",
+          ex.getMessage());
+    }
+  }
+
+  @Test
+  public void testGetRequiredComponents() {
+    Assert.assertEquals(Collections.emptyList(), InstallProfile.FULL.getRequiredComponents(false));
+    Assert.assertEquals(
+        Collections.singletonList(SdkComponent.APP_ENGINE_JAVA),
+        InstallProfile.FULL.getRequiredComponents(true));
+    Assert.assertEquals(
+        Collections.singletonList(SdkComponent.APP_ENGINE_JAVA),
+        InstallProfile.LOCAL_RUN.getRequiredComponents(false));
+  }
+}
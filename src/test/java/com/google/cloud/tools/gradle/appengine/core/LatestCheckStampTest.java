@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LatestCheckStampTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+  private Path stampFile;
+
+  @Before
+  public void setup() {
+    stampFile = tmpDir.getRoot().toPath().resolve("stamp/" + LatestCheckStamp.STAMP_FILE_NAME);
+  }
+
+  private LatestCheckStamp stampAt(Instant instant) {
+    return new LatestCheckStamp(stampFile, Clock.fixed(instant, ZoneOffset.UTC));
+  }
+
+  @Test
+  public void testIsFresh_noStamp() {
+    Assert.assertFalse(stampAt(NOW).isFresh(Duration.ofHours(1)));
+  }
+
+  @Test
+  public void testIsFresh_withinInterval() throws IOException {
+    stampAt(NOW).update();
+    Assert.assertTrue(stampAt(NOW.plus(Duration.ofMinutes(59))).isFresh(Duration.ofHours(1)));
+  }
+
+  @Test
+  public void testIsFresh_intervalElapsed() throws IOException {
+    stampAt(NOW).update();
+    Assert.assertFalse(stampAt(NOW.plus(Duration.ofHours(1))).isFresh(Duration.ofHours(1)));
+  }
+
+  @Test
+  public void testIsFresh_stampInFuture() throws IOException {
+    stampAt(NOW).update();
+    Assert.assertFalse(stampAt(NOW.minus(Duration.ofMinutes(1))).isFresh(Duration.ofHours(1)));
+  }
+
+  @Test
+  public void testIsFresh_corruptStamp() throws IOException {
+    Files.createDirectories(stampFile.getParent());
+    Files.write(stampFile, "garbage".getBytes(StandardCharsets.UTF_8));
+    Assert.assertFalse(stampAt(NOW).isFresh(Duration.ofHours(1)));
+  }
+
+  @Test
+  public void testForSdkHome() throws IOException {
+    Path sdkHome = tmpDir.getRoot().toPath().resolve("LATEST/google-cloud-sdk");
+    LatestCheckStamp.forSdkHome(sdkHome).update();
+    Assert.assertTrue(
+        Files.isRegularFile(sdkHome.resolveSibling(LatestCheckStamp.STAMP_FILE_NAME)));
+    Assert.assertFalse(Files.exists(sdkHome));
+  }
+}
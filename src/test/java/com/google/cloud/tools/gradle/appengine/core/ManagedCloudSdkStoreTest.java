@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ManagedCloudSdkStoreTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+  private static final Logger logger = Logging.getLogger(ManagedCloudSdkStoreTest.class);
+
+  private Path storeDirectory;
+
+  @Before
+  public void setup() {
+    storeDirectory = tmpDir.getRoot().toPath().resolve("managed-cloud-sdk");
+  }
+
+  private ManagedCloudSdkStore storeAt(Instant instant) {
+    return new ManagedCloudSdkStore(storeDirectory, Clock.fixed(instant, ZoneOffset.UTC));
+  }
+
+  // installs a fake sdk of sizeInBytes and records its use at lastUsed
+  private void install(String version, int sizeInBytes, Instant lastUsed) throws IOException {
+    Path sdkHome = storeDirectory.resolve(version).resolve("google-cloud-sdk");
+    Files.createDirectories(sdkHome);
+    Files.write(sdkHome.resolve("data"), new byte[sizeInBytes]);
+    storeAt(lastUsed).recordUse(version);
+  }
+
+  private List<String> versions() throws IOException {
+    return storeAt(NOW)
+        .list()
+        .stream()
+        .map(ManagedCloudSdkStore.Entry::getVersion)
+        .collect(Collectors.toList());
+  }
+
+  @Test
+  public void testList_leastRecentlyUsedFirst() throws IOException {
+    install("192.0.0", 10, NOW.minus(Duration.ofDays(1)));
+    install("190.0.0", 10, NOW);
+    install("LATEST", 10, NOW.minus(Duration.ofDays(2)));
+
+    Assert.assertEquals(Arrays.asList("LATEST", "192.0.0", "190.0.0"), versions());
+    Assert.assertEquals(10, storeAt(NOW).list().get(0).getSizeInBytes());
+  }
+
+  @Test
+  public void testList_emptyStore() throws IOException {
+    Assert.assertEquals(Collections.emptyList(), versions());
+  }
+
+  @Test
+  public void testEvict_maxVersions() throws IOException, InterruptedException {
+    install("190.0.0", 10, NOW.minus(Duration.ofDays(3)));
+    install("191.0.0", 10, NOW.minus(Duration.ofDays(2)));
+    install("192.0.0", 10, NOW.minus(Duration.ofDays(1)));
+
+    List<String> evicted = storeAt(NOW).evict(2, null, Collections.singleton("192.0.0"), logger);
+
+    Assert.assertEquals(Collections.singletonList("190.0.0"), evicted);
+    Assert.assertEquals(Arrays.asList("191.0.0", "192.0.0"), versions());
+    Path versionDirectory = storeDirectory.resolve("190.0.0");
+    Assert.assertFalse(Files.exists(versionDirectory.resolve("google-cloud-sdk")));
+    Assert.assertFalse(
+        Files.exists(versionDirectory.resolve(ManagedCloudSdkStore.LAST_USED_FILE_NAME)));
+    // a build waiting to provision the version must keep locking the same file
+    Assert.assertTrue(
+        Files.exists(versionDirectory.resolve(CloudSdkProvisioningLock.LOCK_FILE_NAME)));
+  }
+
+  @Test
+  public void testEvict_maxBytes() throws IOException, InterruptedException {
+    install("190.0.0", 100, NOW.minus(Duration.ofDays(3)));
+    install("191.0.0", 100, NOW.minus(Duration.ofDays(2)));
+    install("192.0.0", 100, NOW.minus(Duration.ofDays(1)));
+
+    List<String> evicted = storeAt(NOW).evict(null, 150L, Collections.singleton("192.0.0"), logger);
+
+    Assert.assertEquals(Arrays.asList("190.0.0", "191.0.0"), evicted);
+    Assert.assertEquals(Collections.singletonList("192.0.0"), versions());
+  }
+
+  @Test
+  public void testEvict_neverRemovesKeptVersion() throws IOException, InterruptedException {
+    install("190.0.0", 10, NOW.minus(Duration.ofDays(3)));
+    install("191.0.0", 10, NOW.minus(Duration.ofDays(2)));
+
+    List<String> evicted = storeAt(NOW).evict(1, null, Collections.singleton("190.0.0"), logger);
+
+    Assert.assertEquals(Collections.singletonList("191.0.0"), evicted);
+    Assert.assertEquals(Collections.singletonList("190.0.0"), versions());
+  }
+
+  @Test
+  public void testEvict_neverRemovesAnyKeptVersion() throws IOException, InterruptedException {
+    install("190.0.0", 10, NOW.minus(Duration.ofDays(3)));
+    install("191.0.0", 10, NOW.minus(Duration.ofDays(2)));
+    install("192.0.0", 10, NOW.minus(Duration.ofDays(1)));
+
+    List<String> evicted =
+        storeAt(NOW).evict(1, null, new HashSet<>(Arrays.asList("190.0.0", "192.0.0")), logger);
+
+    Assert.assertEquals(Collections.singletonList("191.0.0"), evicted);
+    Assert.assertEquals(Arrays.asList("190.0.0", "192.0.0"), versions());
+  }
+
+  @Test
+  public void testEvict_withinBudget() throws IOException, InterruptedException {
+    install("190.0.0", 10, NOW);
+
+    Assert.assertEquals(
+        Collections.emptyList(),
+        storeAt(NOW).evict(1, 1000L, Collections.singleton("LATEST"), logger));
+    Assert.assertEquals(Collections.singletonList("190.0.0"), versions());
+  }
+
+  @Test
+  public void testVersionOf() {
+    Path sdkHome = storeDirectory.resolve("192.0.0/google-cloud-sdk");
+    Assert.assertEquals("192.0.0", ManagedCloudSdkStore.versionOf(sdkHome));
+    Assert.assertEquals(sdkHome, storeAt(NOW).getSdkHome("192.0.0"));
+  }
+}
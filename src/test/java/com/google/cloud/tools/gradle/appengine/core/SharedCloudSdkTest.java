@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core;
+
+import com.google.cloud.tools.appengine.operations.cloudsdk.CloudSdkNotFoundException;
+import com.google.cloud.tools.managedcloudsdk.BadCloudSdkVersionException;
+import com.google.cloud.tools.managedcloudsdk.ManagedCloudSdk;
+import com.google.cloud.tools.managedcloudsdk.UnsupportedOsException;
+import com.google.cloud.tools.managedcloudsdk.components.SdkComponent;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+public class SharedCloudSdkTest {
+
+  @Rule public final TemporaryFolder testProjectDir = new TemporaryFolder();
+
+  @Test
+  public void testGet_sameInstanceForAllProjects() {
+    Project root = ProjectBuilder.builder().withProjectDir(testProjectDir.getRoot()).build();
+    Project frontend = ProjectBuilder.builder().withName("frontend").withParent(root).build();
+    Project backend = ProjectBuilder.builder().withName("backend").withParent(root).build();
+
+    SharedCloudSdk sharedCloudSdk = SharedCloudSdk.get(frontend);
+    Assert.assertSame(sharedCloudSdk, SharedCloudSdk.get(backend));
+    Assert.assertSame(sharedCloudSdk, SharedCloudSdk.get(root));
+  }
+
+  @Test
+  public void testGetManagedCloudSdk_reusedPerVersion()
+      throws UnsupportedOsException, BadCloudSdkVersionException {
+    SharedCloudSdk sharedCloudSdk = new SharedCloudSdk();
+
+    ManagedCloudSdk latest = sharedCloudSdk.getManagedCloudSdk(null);
+    Assert.assertSame(latest, sharedCloudSdk.getManagedCloudSdk(""));
+    Assert.assertNotSame(latest, sharedCloudSdk.getManagedCloudSdk("191.0.0"));
+  }
+
+  @Test
+  public void testGetManagedCloudSdkHomes_usedAndResolvedVersions()
+      throws UnsupportedOsException, BadCloudSdkVersionException {
+    SharedCloudSdk sharedCloudSdk = new SharedCloudSdk();
+
+    sharedCloudSdk.useManagedCloudSdk("191.0.0");
+    ManagedCloudSdk latest = sharedCloudSdk.getManagedCloudSdk(null);
+
+    Assert.assertEquals(
+        ImmutableSet.of(
+            latest.getSdkHome(), sharedCloudSdk.getManagedCloudSdk("191.0.0").getSdkHome()),
+        sharedCloudSdk.getManagedCloudSdkHomes());
+  }
+
+  @Test
+  public void testGetCloudSdkOperations_reusedPerConfiguration()
+      throws IOException, CloudSdkNotFoundException {
+    SharedCloudSdk sharedCloudSdk = new SharedCloudSdk();
+    File cloudSdkHome = testProjectDir.newFolder("sdk");
+    File credentialFile = testProjectDir.newFile("key.json");
+
+    CloudSdkOperations operations = sharedCloudSdk.getCloudSdkOperations(cloudSdkHome, null);
+    Assert.assertSame(operations, sharedCloudSdk.getCloudSdkOperations(cloudSdkHome, null));
+    Assert.assertNotSame(
+        operations, sharedCloudSdk.getCloudSdkOperations(cloudSdkHome, credentialFile));
+  }
+
+  @Test
+  public void testBatchComponentInstall() {
+    SharedCloudSdk sharedCloudSdk = new SharedCloudSdk();
+    Assert.assertFalse(sharedCloudSdk.isBatchComponentInstall());
+
+    sharedCloudSdk.enableBatchComponentInstall();
+    Assert.assertTrue(sharedCloudSdk.isBatchComponentInstall());
+  }
+
+  @Test
+  public void testIsProvisioned() {
+    SharedCloudSdk sharedCloudSdk = new SharedCloudSdk();
+    ManagedCloudSdk managedCloudSdk = Mockito.mock(ManagedCloudSdk.class);
+
+    Assert.assertFalse(sharedCloudSdk.isProvisioned(managedCloudSdk, ImmutableList.of()));
+
+    sharedCloudSdk.setProvisioned(managedCloudSdk, ImmutableList.of());
+    Assert.assertTrue(sharedCloudSdk.isProvisioned(managedCloudSdk, ImmutableList.of()));
+    Assert.assertFalse(
+        sharedCloudSdk.isProvisioned(
+            managedCloudSdk, ImmutableList.of(SdkComponent.APP_ENGINE_JAVA)));
+
+    sharedCloudSdk.setProvisioned(managedCloudSdk, ImmutableList.of(SdkComponent.APP_ENGINE_JAVA));
+    Assert.assertTrue(
+        sharedCloudSdk.isProvisioned(
+            managedCloudSdk, ImmutableList.of(SdkComponent.APP_ENGINE_JAVA)));
+  }
+
+  @Test
+  public void testForgetProvisioned() {
+    SharedCloudSdk sharedCloudSdk = new SharedCloudSdk();
+    ManagedCloudSdk managedCloudSdk = Mockito.mock(ManagedCloudSdk.class);
+    Path sdkHome = testProjectDir.getRoot().toPath().resolve("190.0.0/google-cloud-sdk");
+    Mockito.when(managedCloudSdk.getSdkHome()).thenReturn(sdkHome);
+    sharedCloudSdk.setProvisioned(managedCloudSdk, ImmutableList.of());
+
+    sharedCloudSdk.forgetProvisioned(sdkHome);
+
+    Assert.assertFalse(sharedCloudSdk.isProvisioned(managedCloudSdk, ImmutableList.of()));
+  }
+}
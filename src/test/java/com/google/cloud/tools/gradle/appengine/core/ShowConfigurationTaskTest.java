@@ -17,6 +17,7 @@
 
 package com.google.cloud.tools.gradle.appengine.core;
 
+import com.google.cloud.tools.gradle.appengine.core.model.ExtLazy;
 import com.google.cloud.tools.gradle.appengine.core.model.ExtX;
 import com.google.cloud.tools.gradle.appengine.core.model.ExtY;
 import com.google.cloud.tools.gradle.appengine.core.model.ExtZ;
@@ -53,4 +54,23 @@ public class ShowConfigurationTaskTest {
     String result = ShowConfigurationTask.getExtensionData("root", root, 0);
     Assert.assertEquals(expected, result);
   }
+
+  @Test
+  public void testGetAllFields_LazyProperties() throws IllegalAccessException {
+    Project p = ProjectBuilder.builder().build();
+    String expected =
+        ""
+            + "root {\n"
+            + "  (String) lazyString = hello\n"
+            + "  (File) lazyDirectory = "
+            + p.file("lazy")
+            + "\n"
+            + "  (List<String>) lazyList = [a, b]\n"
+            + "  (String) lazyUnset = null\n"
+            + "}\n";
+    ExtensionAware root = (ExtensionAware) p.getExtensions().create("root", ExtLazy.class, p);
+
+    String result = ShowConfigurationTask.getExtensionData("root", root, 0);
+    Assert.assertEquals(expected, result);
+  }
 }
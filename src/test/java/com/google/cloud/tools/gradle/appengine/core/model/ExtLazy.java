@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.core.model;
+
+import java.util.Arrays;
+import org.gradle.api.Project;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+
+public class ExtLazy {
+  private final Project project;
+  private final Property<String> lazyString;
+  private final DirectoryProperty lazyDirectory;
+  private final ListProperty<String> lazyList;
+  private final Property<String> lazyUnset;
+
+  /** Constructor. */
+  public ExtLazy(Project project) {
+    this.project = project;
+    lazyString = project.getObjects().property(String.class);
+    lazyString.set("hello");
+    lazyDirectory = project.getLayout().directoryProperty();
+    lazyDirectory.set(project.file("lazy"));
+    lazyList = project.getObjects().listProperty(String.class);
+    lazyList.set(Arrays.asList("a", "b"));
+    lazyUnset = project.getObjects().property(String.class);
+  }
+}
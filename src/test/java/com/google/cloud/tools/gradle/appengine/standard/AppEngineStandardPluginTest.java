@@ -18,6 +18,7 @@
 package com.google.cloud.tools.gradle.appengine.standard;
 
 import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -26,6 +27,7 @@ import static org.junit.Assume.assumeTrue;
 import com.google.cloud.tools.gradle.appengine.BuildResultFilter;
 import com.google.cloud.tools.gradle.appengine.TestProject;
 import com.google.cloud.tools.gradle.appengine.core.AppEngineCorePluginConfiguration;
+import com.google.cloud.tools.gradle.appengine.core.DeployConfigTask;
 import com.google.cloud.tools.gradle.appengine.core.DeployExtension;
 import com.google.common.collect.ImmutableList;
 import java.io.File;
@@ -88,6 +90,28 @@ public class AppEngineStandardPluginTest {
     }
   }
 
+  @Test
+  public void testHelp_noAppEngineTasksRealized() throws IOException {
+    BuildResult buildResult =
+        createTestProject().addTaskRealizationLogger().applyGradleRunner("help");
+
+    assertThat(buildResult.getOutput(), not(containsString("Realized App Engine task")));
+  }
+
+  @Test
+  public void testDeploy_onlyTaskGraphRealized() throws IOException {
+    BuildResult buildResult =
+        createTestProject()
+            .addTaskRealizationLogger()
+            .applyGradleRunner("appengineDeploy", "--dry-run");
+
+    assertThat(
+        buildResult.getOutput(), containsString("Realized App Engine task: :appengineDeploy"));
+    assertThat(
+        buildResult.getOutput(),
+        not(containsString("Realized App Engine task: :appengineShowConfiguration")));
+  }
+
   @Test
   public void testLogin_taskTree() throws IOException {
     BuildResult buildResult =
@@ -349,6 +373,27 @@ public class AppEngineStandardPluginTest {
     assertEquals("test-version", deployExt.getVersion());
   }
 
+  @Test
+  public void testConfigFromSources() throws IOException {
+    Project p =
+        new TestProject(testProjectDir.getRoot())
+            .addAppEngineWebXml()
+            .applyStandardProjectBuilder();
+
+    AppEngineStandardExtension ext = p.getExtensions().getByType(AppEngineStandardExtension.class);
+    ext.getStage().setConfigFromSources(true);
+    DeployConfigTask cronTask =
+        (DeployConfigTask)
+            p.getTasks().getByName(AppEngineCorePluginConfiguration.DEPLOY_CRON_TASK_NAME);
+
+    assertEquals(
+        new File(p.getBuildDir(), "staged-app-config/WEB-INF/appengine-generated"),
+        cronTask.getAppEngineDirectory());
+    assertEquals(
+        new File(p.getBuildDir(), "staged-app/WEB-INF/appengine-generated"),
+        ext.getDeploy().getAppEngineDirectory());
+  }
+
   @Test
   public void testAppEngineTaskGroupAssignment() throws IOException {
     Project p =
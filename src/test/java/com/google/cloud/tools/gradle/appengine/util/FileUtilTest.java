@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 Google LLC. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.google.cloud.tools.gradle.appengine.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FileUtilTest {
+
+  @Rule public TemporaryFolder tmpDir = new TemporaryFolder();
+
+  @Test
+  public void testDeleteRecursively() throws IOException {
+    File root = tmpDir.newFolder("root");
+    Files.createDirectories(root.toPath().resolve("a/b"));
+    Files.createFile(root.toPath().resolve("a/b/file.txt"));
+    Files.createFile(root.toPath().resolve("other.txt"));
+
+    FileUtil.deleteRecursively(root);
+
+    Assert.assertFalse(root.exists());
+  }
+
+  @Test
+  public void testDeleteRecursively_missing() throws IOException {
+    File missing = new File(tmpDir.getRoot(), "missing");
+
+    FileUtil.deleteRecursively(missing);
+
+    Assert.assertFalse(missing.exists());
+  }
+
+  @Test
+  public void testRecreateDirectory() throws IOException {
+    File root = tmpDir.newFolder("root");
+    Files.createFile(root.toPath().resolve("stale.txt"));
+
+    FileUtil.recreateDirectory(root);
+
+    Assert.assertTrue(root.isDirectory());
+    Assert.assertEquals(0, root.list().length);
+  }
+}